@@ -34,4 +34,10 @@ db.createCollection('articles', {
 db.assessments.createIndex({ 'testType': 1 });
 db.articles.createIndex({ 'category': 1, 'publishedAt': -1 });
 
+// Mirrors the indexes declared on AssessmentTemplate (the backend also ensures them at startup)
+db.assessment_templates.createIndex({ 'isActive': 1, 'createdAt': -1 }, { name: 'active_created' });
+db.assessment_templates.createIndex({ 'testType': 1, 'isActive': 1, 'version': 1 }, { name: 'type_active_version' });
+db.assessment_templates.createIndex({ 'category': 1, 'isActive': 1, 'createdAt': -1 }, { name: 'category_active_created' });
+db.assessment_templates.createIndex({ 'createdAt': -1 }, { name: 'created' });
+
 print('MongoDB initialization completed');
@@ -0,0 +1,84 @@
+package com.zplus.counselling.benchmark;
+
+import com.zplus.counselling.security.JwtClaims;
+import com.zplus.counselling.security.JwtTokenProvider;
+import com.zplus.counselling.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import javax.crypto.SecretKey;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling cost of one authenticated request in JwtAuthenticationFilter: the old
+ * path (key derived and the token verified three times) against a single verified parse,
+ * with and without the verified-token cache.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="JwtAuthBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class JwtAuthBenchmark {
+
+    private static final String SECRET =
+            "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHlUaGlzSXNBVmVyeUxvbmdTZWNyZXRLZXk=";
+
+    private JwtTokenProvider singleParse;
+    private JwtTokenProvider cached;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        singleParse = new JwtTokenProvider(SECRET, 3_600_000, 86_400_000, false, 0, new SimpleMeterRegistry());
+        cached = new JwtTokenProvider(SECRET, 3_600_000, 86_400_000, true, 10_000, new SimpleMeterRegistry());
+
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+        UserPrincipal principal = new UserPrincipal(UUID.randomUUID(), "bench@example.com", null, "Bench", authorities);
+        token = singleParse.generateToken(new UsernamePasswordAuthenticationToken(principal, null, authorities));
+    }
+
+    @Benchmark
+    public void legacyTripleParse(Blackhole blackhole) {
+        Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token);
+        Claims forUserId = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+        Claims forRole = Jwts.parser().verifyWith(legacyKey()).build().parseSignedClaims(token).getPayload();
+        blackhole.consume(forUserId.get("userId", String.class));
+        blackhole.consume(forRole.get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtClaims singleParse() {
+        return singleParse.parse(token).orElseThrow();
+    }
+
+    @Benchmark
+    public JwtClaims cachedParse() {
+        return cached.parse(token).orElseThrow();
+    }
+
+    private static SecretKey legacyKey() {
+        return Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    }
+}
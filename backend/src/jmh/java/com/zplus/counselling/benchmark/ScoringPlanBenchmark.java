@@ -0,0 +1,117 @@
+package com.zplus.counselling.benchmark;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.scoring.ScoringPlan;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Scores one completed MBTI session, comparing the stream/map scan that
+ * AssessmentService used to run per answer against the precompiled {@link ScoringPlan}.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="ScoringPlanBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ScoringPlanBenchmark {
+
+    private static final String[] DIMENSIONS = {"E", "I", "S", "N", "T", "F", "J", "P"};
+
+    @Param({"50", "500", "5000"})
+    public int questions;
+
+    private final ScoringStrategyRegistry strategies = ScoringStrategyRegistry.defaults();
+    private AssessmentTemplate template;
+    private CompiledTemplate compiled;
+    private List<UserAnswer> answers;
+
+    @Setup
+    public void setUp() {
+        template = SyntheticTemplates.template("MBTI", questions, 4);
+        compiled = CompiledTemplate.compile(template, strategies);
+        answers = SyntheticTemplates.answers(template);
+    }
+
+    @Benchmark
+    public Map<String, Integer> legacyStreamScan() {
+        Map<String, Integer> scores = new HashMap<>();
+        for (String dimension : DIMENSIONS) {
+            scores.put(dimension, 0);
+        }
+
+        Map<String, AssessmentTemplate.Question> questionMap = template.getQuestions().stream()
+                .collect(Collectors.toMap(AssessmentTemplate.Question::getId, q -> q));
+
+        for (UserAnswer answer : answers) {
+            if (answer.getSelectedOptionId() == null) continue;
+
+            AssessmentTemplate.Question question = questionMap.get(answer.getQuestionId());
+            if (question == null || question.getOptions() == null) continue;
+
+            AssessmentTemplate.Option selectedOption = question.getOptions().stream()
+                    .filter(opt -> answer.getSelectedOptionId().equals(opt.getId()))
+                    .findFirst()
+                    .orElse(null);
+
+            if (selectedOption != null) {
+                if (selectedOption.getWeights() != null && !selectedOption.getWeights().isEmpty()) {
+                    selectedOption.getWeights().forEach((dimension, weight) ->
+                            scores.put(dimension, scores.getOrDefault(dimension, 0) + weight));
+                } else if (question.getDimension() != null) {
+                    String dim = question.getDimension();
+                    Integer points = question.getPoints() != null ? question.getPoints() : 1;
+                    scores.put(dim, scores.getOrDefault(dim, 0) + points);
+                }
+            }
+        }
+        return scores;
+    }
+
+    @Benchmark
+    public Map<String, Integer> compiledPlan() {
+        ScoringPlan plan = compiled.getScoringPlan();
+        int[] totals = plan.newTotals();
+        for (UserAnswer answer : answers) {
+            plan.addSelection(answer.getQuestionId(), answer.getSelectedOptionId(), totals, true);
+        }
+
+        Map<String, Integer> scores = new HashMap<>();
+        for (String dimension : DIMENSIONS) {
+            scores.put(dimension, 0);
+        }
+        for (int d = 0; d < totals.length; d++) {
+            scores.merge(plan.dimension(d), totals[d], Integer::sum);
+        }
+        return scores;
+    }
+
+    /**
+     * One-off cost paid when a template enters the cache.
+     */
+    @Benchmark
+    public CompiledTemplate compile() {
+        return CompiledTemplate.compile(template, strategies);
+    }
+}
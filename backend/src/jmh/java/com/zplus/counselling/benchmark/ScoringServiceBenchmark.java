@@ -0,0 +1,81 @@
+package com.zplus.counselling.benchmark;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import com.zplus.counselling.service.assessment.scoring.ScoreVector;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each scoring strategy in isolation, over both answer shapes.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="ScoringServiceBenchmark -p testType=MBTI"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class ScoringServiceBenchmark {
+
+    @Param({"MBTI", "BIG_FIVE", "CAREER", "APTITUDE"})
+    public String testType;
+
+    @Param({"50", "500", "5000"})
+    public int questions;
+
+    @Param({"4"})
+    public int optionsPerQuestion;
+
+    private final ScoringService scoringService = new ScoringService();
+    private CompiledTemplate template;
+    private List<UserAnswer> answers;
+    private Map<String, Object> rawAnswers;
+    private ScoreVector scores;
+
+    @Setup
+    public void setUp() {
+        AssessmentTemplate source = SyntheticTemplates.template(testType, questions, optionsPerQuestion);
+        template = CompiledTemplate.compile(source, ScoringStrategyRegistry.defaults());
+        answers = SyntheticTemplates.answers(source);
+        rawAnswers = SyntheticTemplates.rawAnswers(source);
+        scores = scoringService.calculateScores(rawAnswers, template);
+    }
+
+    @Benchmark
+    public ScoreVector calculateScoresFromSession() {
+        return scoringService.calculateScores(answers, template);
+    }
+
+    @Benchmark
+    public ScoreVector calculateScoresFromRawAnswers() {
+        return scoringService.calculateScores(rawAnswers, template);
+    }
+
+    @Benchmark
+    public Map<String, Object> generateResults() {
+        return scoringService.generateResults(scores, template);
+    }
+
+    @Benchmark
+    public String determinePersonalityType() {
+        return scoringService.determinePersonalityType(scores, template);
+    }
+}
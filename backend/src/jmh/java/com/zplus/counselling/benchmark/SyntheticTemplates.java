@@ -0,0 +1,120 @@
+package com.zplus.counselling.benchmark;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic assessment templates and answer sets for benchmarks.
+ *
+ * Everything is derived from the seed, so runs on different machines score the
+ * same data and results stay comparable between commits.
+ */
+public final class SyntheticTemplates {
+
+    public static final long SEED = 42L;
+
+    private static final String[] MBTI = {"E", "I", "S", "N", "T", "F", "J", "P"};
+    private static final String[] BIG_FIVE = {"OPENNESS", "CONSCIENTIOUSNESS", "EXTRAVERSION", "AGREEABLENESS", "NEUROTICISM"};
+    private static final String[] CAREER = {"TECHNOLOGY", "HEALTHCARE", "BUSINESS", "CREATIVE", "SOCIAL", "ANALYTICAL"};
+
+    private SyntheticTemplates() {
+    }
+
+    /**
+     * A template of the given type. BIG_FIVE questions are option-less 1–5 scales,
+     * APTITUDE options carry a 0/1 {@code Aptitude_Score}, the others spread weights
+     * over their dimensions.
+     */
+    public static AssessmentTemplate template(String testType, int questions, int optionsPerQuestion) {
+        Random random = new Random(SEED);
+        AssessmentTemplate template = new AssessmentTemplate();
+        template.setId("bench-" + testType.toLowerCase() + "-" + questions);
+        template.setTestType(testType);
+        template.setTitle("Synthetic " + testType + " (" + questions + " questions)");
+        template.setVersion("1.0");
+        template.setIsActive(true);
+        template.setTotalQuestions(questions);
+        template.setCategory("APTITUDE".equals(testType) ? "Aptitude" : "Psychometric");
+        template.setResultTypes(new HashMap<>());
+
+        String[] dimensions = dimensions(testType);
+        List<AssessmentTemplate.Question> questionList = new ArrayList<>(questions);
+        for (int q = 0; q < questions; q++) {
+            AssessmentTemplate.Question question = new AssessmentTemplate.Question();
+            question.setId("q" + q);
+            question.setText("Synthetic question " + q + " for " + testType);
+            question.setDimension(dimensions[q % dimensions.length]);
+            question.setPoints(1);
+
+            if ("BIG_FIVE".equals(testType)) {
+                question.setType("SCALE");
+                question.setOptions(List.of());
+            } else {
+                question.setType("SINGLE_CHOICE");
+                int correct = random.nextInt(optionsPerQuestion);
+                List<AssessmentTemplate.Option> options = new ArrayList<>(optionsPerQuestion);
+                for (int o = 0; o < optionsPerQuestion; o++) {
+                    AssessmentTemplate.Option option = new AssessmentTemplate.Option();
+                    option.setId("q" + q + "o" + o);
+                    option.setText("Option " + o);
+                    option.setWeights("APTITUDE".equals(testType)
+                            ? Map.of("Aptitude_Score", o == correct ? 1 : 0)
+                            : Map.of(dimensions[(q + o) % dimensions.length], 1 + random.nextInt(3)));
+                    options.add(option);
+                }
+                question.setOptions(options);
+            }
+            questionList.add(question);
+        }
+        template.setQuestions(questionList);
+        return template;
+    }
+
+    /**
+     * One answer row per question, as AssessmentService stores them.
+     */
+    public static List<UserAnswer> answers(AssessmentTemplate template) {
+        Random random = new Random(SEED + 1);
+        List<UserAnswer> answers = new ArrayList<>(template.getQuestions().size());
+        int number = 1;
+        for (AssessmentTemplate.Question question : template.getQuestions()) {
+            UserAnswer answer = new UserAnswer();
+            answer.setQuestionId(question.getId());
+            answer.setQuestionNumber(number++);
+            if (!question.getOptions().isEmpty()) {
+                answer.setSelectedOptionId(question.getOptions().get(random.nextInt(question.getOptions().size())).getId());
+            }
+            answers.add(answer);
+        }
+        return answers;
+    }
+
+    /**
+     * The questionId→answer map kept in TestResult.rawAnswers: option ids, or 1–5 for scales.
+     */
+    public static Map<String, Object> rawAnswers(AssessmentTemplate template) {
+        Random random = new Random(SEED + 1);
+        Map<String, Object> answers = new HashMap<>(template.getQuestions().size() * 2);
+        for (AssessmentTemplate.Question question : template.getQuestions()) {
+            answers.put(question.getId(), question.getOptions().isEmpty()
+                    ? (Object) (1 + random.nextInt(5))
+                    : question.getOptions().get(random.nextInt(question.getOptions().size())).getId());
+        }
+        return answers;
+    }
+
+    private static String[] dimensions(String testType) {
+        return switch (testType) {
+            case "MBTI" -> MBTI;
+            case "BIG_FIVE" -> BIG_FIVE;
+            case "CAREER" -> CAREER;
+            default -> new String[]{"GENERAL"};
+        };
+    }
+}
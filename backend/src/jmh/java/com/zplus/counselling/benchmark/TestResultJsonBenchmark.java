@@ -0,0 +1,87 @@
+package com.zplus.counselling.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import com.zplus.counselling.service.assessment.scoring.ScoreVector;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON round trips of the TestResult columns stored as jsonb (rawAnswers, rawScores,
+ * calculatedResults), using a plain Jackson mapper as Hibernate's JSON format mapper does.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="TestResultJsonBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class TestResultJsonBenchmark {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"MBTI", "CAREER"})
+    public String testType;
+
+    @Param({"50", "500", "5000"})
+    public int questions;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Map<String, Object> rawAnswers;
+    private Map<String, Object> calculatedResults;
+    private byte[] rawAnswersJson;
+    private byte[] calculatedResultsJson;
+
+    @Setup
+    public void setUp() throws Exception {
+        ScoringService scoringService = new ScoringService();
+        AssessmentTemplate source = SyntheticTemplates.template(testType, questions, 4);
+        CompiledTemplate template = CompiledTemplate.compile(source, ScoringStrategyRegistry.defaults());
+
+        rawAnswers = SyntheticTemplates.rawAnswers(source);
+        ScoreVector scores = scoringService.calculateScores(rawAnswers, template);
+        calculatedResults = scoringService.generateResults(scores, template);
+
+        rawAnswersJson = objectMapper.writeValueAsBytes(rawAnswers);
+        calculatedResultsJson = objectMapper.writeValueAsBytes(calculatedResults);
+    }
+
+    @Benchmark
+    public byte[] serializeRawAnswers() throws Exception {
+        return objectMapper.writeValueAsBytes(rawAnswers);
+    }
+
+    @Benchmark
+    public Map<String, Object> deserializeRawAnswers() throws Exception {
+        return objectMapper.readValue(rawAnswersJson, MAP_TYPE);
+    }
+
+    @Benchmark
+    public byte[] serializeCalculatedResults() throws Exception {
+        return objectMapper.writeValueAsBytes(calculatedResults);
+    }
+
+    @Benchmark
+    public Map<String, Object> deserializeCalculatedResults() throws Exception {
+        return objectMapper.readValue(calculatedResultsJson, MAP_TYPE);
+    }
+}
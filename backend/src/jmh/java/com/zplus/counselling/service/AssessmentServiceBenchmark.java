@@ -0,0 +1,124 @@
+package com.zplus.counselling.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zplus.counselling.benchmark.SyntheticTemplates;
+import com.zplus.counselling.dto.QuestionDto;
+import com.zplus.counselling.dto.ResultSummaryDto;
+import com.zplus.counselling.dto.SubmitAnswerResponse;
+import com.zplus.counselling.dto.response.ApiResponse;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import com.zplus.counselling.service.assessment.scoring.ScoreVector;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The CPU-only parts of the answer and completion paths in {@link AssessmentService}:
+ * question payloads, and scoring through to the result summary. Lives in the
+ * service package to reach the package-private helpers; repositories are not involved.
+ *
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.args="AssessmentServiceBenchmark"
+ * Add {@code -prof gc} to the args for allocation per call (gc.alloc.rate.norm); the
+ * *FromDto benchmarks are the per-request mapping the answer path used before questions
+ * were pre-rendered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class AssessmentServiceBenchmark {
+
+    @Param({"MBTI", "APTITUDE"})
+    public String testType;
+
+    @Param({"50", "500", "5000"})
+    public int questions;
+
+    private final ScoringService scoringService = new ScoringService();
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private CompiledTemplate template;
+    private List<UserAnswer> answers;
+
+    @Setup
+    public void setUp() {
+        AssessmentTemplate source = SyntheticTemplates.template(testType, questions, 4);
+        template = CompiledTemplate.compile(source, ScoringStrategyRegistry.defaults());
+        answers = SyntheticTemplates.answers(source);
+    }
+
+    /**
+     * One question mapped to its DTO, as submitAnswer did on every call.
+     */
+    @Benchmark
+    public QuestionDto nextQuestionDto() {
+        return CompiledTemplate.toQuestionDto(template.getQuestion(questions / 2));
+    }
+
+    /**
+     * Every question, i.e. the mapping cost of a whole attempt.
+     */
+    @Benchmark
+    public void allQuestionDtos(Blackhole blackhole) {
+        for (AssessmentTemplate.Question question : template.getQuestions()) {
+            blackhole.consume(CompiledTemplate.toQuestionDto(question));
+        }
+    }
+
+    /**
+     * The submitAnswer body with the next question mapped and serialized per call.
+     */
+    @Benchmark
+    public byte[] submitAnswerJsonFromDto() throws Exception {
+        int index = questions / 2;
+        QuestionDto nextQuestion = CompiledTemplate.toQuestionDto(template.getQuestion(index));
+        return objectMapper.writeValueAsBytes(ApiResponse.success(Map.of(
+                "currentQuestion", index + 1,
+                "totalQuestions", template.getQuestionCount(),
+                "completionPercentage", (double) index / template.getQuestionCount() * 100,
+                "nextQuestion", nextQuestion)));
+    }
+
+    /**
+     * The submitAnswer body as served now, with the pre-rendered question copied in.
+     */
+    @Benchmark
+    public byte[] submitAnswerJson() throws Exception {
+        int index = questions / 2;
+        return objectMapper.writeValueAsBytes(ApiResponse.success(SubmitAnswerResponse.builder()
+                .currentQuestion(index + 1)
+                .totalQuestions(template.getQuestionCount())
+                .completionPercentage((double) index / template.getQuestionCount() * 100)
+                .nextQuestion(template.getRenderedQuestion(index))
+                .build()));
+    }
+
+    /**
+     * What completeAssessment computes between loading answers and saving the result.
+     */
+    @Benchmark
+    public ResultSummaryDto scoreAndSummarize() {
+        ScoreVector scoreVector = scoringService.calculateScores(answers, template);
+        Map<String, Integer> scores = scoreVector.toMap();
+        String personalityType = scoringService.determinePersonalityType(scoreVector, template);
+        return AssessmentService.generateResultSummary(personalityType, template.getTestType(), scores);
+    }
+}
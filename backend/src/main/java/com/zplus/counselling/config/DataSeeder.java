@@ -4,6 +4,7 @@ import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
 import com.zplus.counselling.entity.postgres.User;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
 import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.service.assessment.AssessmentTemplateVersions;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
@@ -20,6 +21,7 @@ import java.util.List;
 public class DataSeeder implements CommandLineRunner {
 
     private final AssessmentTemplateRepository assessmentTemplateRepository;
+    private final AssessmentTemplateVersions templateVersions;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
@@ -123,6 +125,7 @@ public class DataSeeder implements CommandLineRunner {
         questions.add(q2);
 
         template.setQuestions(questions);
+        templateVersions.publish(template);
         assessmentTemplateRepository.save(template);
     }
 
@@ -164,6 +167,7 @@ public class DataSeeder implements CommandLineRunner {
         questions.add(q1);
 
         template.setQuestions(questions);
+        templateVersions.publish(template);
         assessmentTemplateRepository.save(template);
     }
 
@@ -1,15 +1,57 @@
 package com.zplus.counselling.config;
 
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
 import org.springframework.data.mongodb.repository.config.EnableMongoRepositories;
 
 @Configuration
 @Profile("!test") // Exclude from test profile
 @EnableMongoRepositories(basePackages = "com.zplus.counselling.repository.mongodb")
+@RequiredArgsConstructor
+@Slf4j
 public class MongoConfig {
-    // Intentionally empty — Spring Boot auto-configures the MongoClient
+    // Spring Boot auto-configures the MongoClient
     // from the MONGODB_URI property in application.yml / application-docker.yml.
     // Do NOT extend AbstractMongoClientConfiguration here, as it overrides
     // the auto-config and ignores the MONGODB_URI environment variable.
-}
\ No newline at end of file
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Creates the indexes declared with {@code @CompoundIndex} / {@code @Indexed} on the documents.
+     * Runs while the context starts, before the web server accepts requests, so no query is served
+     * without its index; if they cannot be created (Mongo unreachable, a conflicting index) startup
+     * fails. Done here instead of through auto-index-creation so the query-plan test can build the
+     * exact same indexes.
+     */
+    @PostConstruct
+    public void createIndexes() {
+        try {
+            ensureIndexes(mongoTemplate, AssessmentTemplate.class, AssessmentTemplateVersion.class);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not create MongoDB indexes", e);
+        }
+    }
+
+    public static void ensureIndexes(MongoTemplate mongoTemplate, Class<?>... documents) {
+        IndexResolver resolver = IndexResolver.create(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> document : documents) {
+            IndexOperations indexOps = mongoTemplate.indexOps(document);
+            resolver.resolveIndexFor(document).forEach(index -> {
+                // Indexes of an embedded type resolve again under the embedding field
+                // (AssessmentTemplateVersion.content); only a collection's own are wanted
+                if (index.getIndexKeys().keySet().stream().noneMatch(key -> key.contains("."))) {
+                    log.info("Ensuring index {} on {}", indexOps.ensureIndex(index), document.getSimpleName());
+                }
+            });
+        }
+    }
+}
@@ -1,43 +1,134 @@
 package com.zplus.counselling.config;
 
+import com.zplus.counselling.service.messaging.LegacyQueueMigration;
+import com.zplus.counselling.service.messaging.MessagePublisher;
+import com.zplus.counselling.service.messaging.QueueConsumer;
+import com.zplus.counselling.service.messaging.RabbitMessagePublisher;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.annotation.RabbitListenerConfigurer;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
 
+import java.util.List;
+
+/**
+ * Messaging topology shared by both transports. The exchange, queue and binding beans are
+ * declared on the broker when {@code app.messaging.transport=rabbit} (the default) and
+ * routed in-process by {@link com.zplus.counselling.service.messaging.LocalMessageBroker}
+ * when it is {@code local}.
+ */
 @Configuration
-@Profile("!test") // Exclude from test profile
 public class RabbitMQConfig {
 
-    public static final String TEST_COMPLETION_QUEUE = "test.completion.queue";
-    public static final String EMAIL_NOTIFICATION_QUEUE = "email.notification.queue";
-    public static final String REPORT_GENERATION_QUEUE = "report.generation.queue";
+    // Renamed when they gained dead-lettering: the broker refuses to redeclare a queue with new arguments
+    public static final String TEST_COMPLETION_QUEUE = "test.completion.queue.v2";
+    public static final String EMAIL_NOTIFICATION_QUEUE = "email.notification.queue.v2";
+
+    // Declared by earlier releases and retired by LegacyQueueMigration
+    public static final String LEGACY_TEST_COMPLETION_QUEUE = "test.completion.queue";
+    public static final String LEGACY_EMAIL_NOTIFICATION_QUEUE = "email.notification.queue";
+    public static final String LEGACY_REPORT_GENERATION_QUEUE = "report.generation.queue";
+
+    // Messages rejected after the listener's retries are routed here instead of being dropped
+    public static final String TEST_COMPLETION_DLQ = "test.completion.dlq";
+    public static final String EMAIL_NOTIFICATION_DLQ = "email.notification.dlq";
     
     public static final String TEST_EXCHANGE = "test.exchange";
     public static final String NOTIFICATION_EXCHANGE = "notification.exchange";
+    public static final String DEAD_LETTER_EXCHANGE = "dead-letter.exchange";
+
+    public static final String TEST_COMPLETED_ROUTING_KEY = "test.completed";
+    public static final String EMAIL_SEND_ROUTING_KEY = "email.send";
+    public static final String LEGACY_REPORT_GENERATE_ROUTING_KEY = "report.generate";
 
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
     }
 
-    @Bean
-    public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
-        RabbitTemplate template = new RabbitTemplate(connectionFactory);
-        template.setMessageConverter(messageConverter());
-        return template;
-    }
+    @Configuration
+    @ConditionalOnProperty(prefix = "app.messaging", name = "transport", havingValue = "rabbit", matchIfMissing = true)
+    static class RabbitTransportConfig {
 
-    @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
-        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
-        factory.setMessageConverter(messageConverter());
-        return factory;
+        @Value("${spring.rabbitmq.listener.simple.prefetch:10}")
+        private int prefetch;
+
+        @Value("${spring.rabbitmq.listener.simple.concurrency:2}")
+        private int concurrency;
+
+        @Value("${spring.rabbitmq.listener.simple.max-concurrency:8}")
+        private int maxConcurrency;
+
+        @Value("${spring.rabbitmq.listener.simple.retry.max-attempts:3}")
+        private int maxAttempts;
+
+        @Bean
+        public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory, Jackson2JsonMessageConverter messageConverter) {
+            RabbitTemplate template = new RabbitTemplate(connectionFactory);
+            template.setMessageConverter(messageConverter);
+            return template;
+        }
+
+        @Bean
+        public MessagePublisher rabbitMessagePublisher(RabbitTemplate rabbitTemplate) {
+            return new RabbitMessagePublisher(rabbitTemplate);
+        }
+
+        @Bean
+        public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory,
+                                                                                   Jackson2JsonMessageConverter messageConverter) {
+            SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+            factory.setConnectionFactory(connectionFactory);
+            factory.setMessageConverter(messageConverter);
+            factory.setPrefetchCount(prefetch);
+            factory.setConcurrentConsumers(concurrency);
+            factory.setMaxConcurrentConsumers(maxConcurrency);
+            // Retry in-process, then reject without requeue so the broker dead-letters the message
+            factory.setDefaultRequeueRejected(false);
+            factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                    .maxAttempts(maxAttempts)
+                    .backOffOptions(500, 2.0, 5000)
+                    .recoverer(new RejectAndDontRequeueRecoverer())
+                    .build());
+            return factory;
+        }
+
+        /**
+         * Attaches every {@link QueueConsumer} bean to a listener container from the factory above.
+         */
+        @Bean
+        public RabbitListenerConfigurer queueConsumerRegistrar(ObjectProvider<QueueConsumer<?>> consumers,
+                                                               Jackson2JsonMessageConverter messageConverter) {
+            return registrar -> consumers.orderedStream().forEach(consumer -> {
+                SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+                endpoint.setId("consumer." + consumer.queue());
+                endpoint.setQueueNames(consumer.queue());
+                endpoint.setMessageListener(message -> consumer.deliver(message, messageConverter));
+                registrar.registerEndpoint(endpoint);
+            });
+        }
+
+        @Bean
+        public LegacyQueueMigration legacyQueueMigration(AmqpAdmin amqpAdmin, ConnectionFactory connectionFactory) {
+            return new LegacyQueueMigration(amqpAdmin, connectionFactory, List.of(
+                    new LegacyQueueMigration.LegacyQueue(LEGACY_TEST_COMPLETION_QUEUE,
+                            TEST_EXCHANGE, TEST_COMPLETED_ROUTING_KEY, TEST_COMPLETION_QUEUE),
+                    new LegacyQueueMigration.LegacyQueue(LEGACY_EMAIL_NOTIFICATION_QUEUE,
+                            NOTIFICATION_EXCHANGE, EMAIL_SEND_ROUTING_KEY, EMAIL_NOTIFICATION_QUEUE),
+                    // Never had a consumer; its messages are dropped with it
+                    new LegacyQueueMigration.LegacyQueue(LEGACY_REPORT_GENERATION_QUEUE,
+                            NOTIFICATION_EXCHANGE, LEGACY_REPORT_GENERATE_ROUTING_KEY, null)));
+        }
     }
 
     // Test-related queues and exchanges
@@ -48,14 +139,17 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue testCompletionQueue() {
-        return QueueBuilder.durable(TEST_COMPLETION_QUEUE).build();
+        return QueueBuilder.durable(TEST_COMPLETION_QUEUE)
+            .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+            .deadLetterRoutingKey(TEST_COMPLETION_DLQ)
+            .build();
     }
 
     @Bean
     public Binding testCompletionBinding() {
         return BindingBuilder.bind(testCompletionQueue())
             .to(testExchange())
-            .with("test.completed");
+            .with(TEST_COMPLETED_ROUTING_KEY);
     }
 
     // Notification-related queues and exchanges
@@ -66,25 +160,46 @@ public class RabbitMQConfig {
 
     @Bean
     public Queue emailNotificationQueue() {
-        return QueueBuilder.durable(EMAIL_NOTIFICATION_QUEUE).build();
-    }
-
-    @Bean
-    public Queue reportGenerationQueue() {
-        return QueueBuilder.durable(REPORT_GENERATION_QUEUE).build();
+        return QueueBuilder.durable(EMAIL_NOTIFICATION_QUEUE)
+            .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+            .deadLetterRoutingKey(EMAIL_NOTIFICATION_DLQ)
+            .build();
     }
 
     @Bean
     public Binding emailNotificationBinding() {
         return BindingBuilder.bind(emailNotificationQueue())
             .to(notificationExchange())
-            .with("email.send");
+            .with(EMAIL_SEND_ROUTING_KEY);
     }
 
+    // Dead-lettering
     @Bean
-    public Binding reportGenerationBinding() {
-        return BindingBuilder.bind(reportGenerationQueue())
-            .to(notificationExchange())
-            .with("report.generate");
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE);
+    }
+
+    @Bean
+    public Queue testCompletionDeadLetterQueue() {
+        return QueueBuilder.durable(TEST_COMPLETION_DLQ).build();
+    }
+
+    @Bean
+    public Queue emailNotificationDeadLetterQueue() {
+        return QueueBuilder.durable(EMAIL_NOTIFICATION_DLQ).build();
+    }
+
+    @Bean
+    public Binding testCompletionDeadLetterBinding() {
+        return BindingBuilder.bind(testCompletionDeadLetterQueue())
+            .to(deadLetterExchange())
+            .with(TEST_COMPLETION_DLQ);
+    }
+
+    @Bean
+    public Binding emailNotificationDeadLetterBinding() {
+        return BindingBuilder.bind(emailNotificationDeadLetterQueue())
+            .to(deadLetterExchange())
+            .with(EMAIL_NOTIFICATION_DLQ);
     }
-}
\ No newline at end of file
+}
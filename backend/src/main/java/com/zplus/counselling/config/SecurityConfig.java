@@ -11,7 +11,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -19,12 +18,16 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.zplus.counselling.security.BoundedPasswordEncoder;
 import com.zplus.counselling.security.FirebaseTokenFilter;
 import com.zplus.counselling.security.JwtAuthenticationEntryPoint;
+import com.zplus.counselling.security.ratelimit.RateLimitFilter;
 import com.zplus.counselling.service.auth.UserService;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 
@@ -41,6 +44,8 @@ public class SecurityConfig {
     private final com.zplus.counselling.security.JwtAuthenticationFilter jwtAuthenticationFilter;
     @Lazy
     private final UserService userService;
+    @Lazy
+    private final RateLimitFilter rateLimitFilter;
 
     @Value("${app.cors.allowed-origins}")
     private List<String> allowedOrigins;
@@ -55,16 +60,28 @@ public class SecurityConfig {
     private boolean allowCredentials;
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Rehash on successful login when the stored cost differs from the configured strength
+        authProvider.setUserDetailsPasswordService(userService);
         return authProvider;
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * BCrypt on a bounded pool so login bursts cannot starve request threads; see
+     * {@link BoundedPasswordEncoder}.
+     */
+    @Bean(destroyMethod = "close")
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.strength:10}") int strength,
+            @Value("${app.security.password-hashing.threads:2}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.queue-timeout:2s}") Duration queueTimeout,
+            @Value("${app.security.password-hashing.retry-after:5s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        return new BoundedPasswordEncoder(strength, threads, queueCapacity, queueTimeout, retryAfter, meterRegistry);
     }
 
     @Bean
@@ -73,7 +90,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         return http
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             // CSRF is intentionally disabled: this is a fully stateless API secured via
@@ -100,8 +117,9 @@ public class SecurityConfig {
                 .requestMatchers("/counselor/**").hasAnyRole("COUNSELOR", "ADMIN")
                 .anyRequest().authenticated()
             )
-            .authenticationProvider(authenticationProvider())
+            .authenticationProvider(authenticationProvider)
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            .addFilterBefore(rateLimitFilter, com.zplus.counselling.security.JwtAuthenticationFilter.class)
             .addFilterAfter(firebaseTokenFilter, com.zplus.counselling.security.JwtAuthenticationFilter.class)
             .build();
     }
@@ -1,7 +1,10 @@
 package com.zplus.counselling.config;
 
 import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateVersionRepository;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.mongo.MongoDataAutoConfiguration;
 import org.springframework.boot.autoconfigure.data.mongo.MongoRepositoriesAutoConfiguration;
@@ -39,6 +42,12 @@ public class TestConfig {
         return new MockAssessmentTemplateRepository();
     }
 
+    @Bean
+    @Primary
+    public AssessmentTemplateVersionRepository mockAssessmentTemplateVersionRepository() {
+        return new MockAssessmentTemplateVersionRepository();
+    }
+
     // Configure H2 to handle JSON columns
     @Bean
     @Profile("test")
@@ -230,6 +239,30 @@ public class TestConfig {
                     .toList();
         }
 
+        @Override
+        public List<AssessmentTemplateSummary> findSummariesByIsActiveTrueOrderByCreatedAtDesc() {
+            return findByIsActiveTrueOrderByCreatedAtDesc().stream()
+                    .map(AssessmentTemplateSummary::of)
+                    .toList();
+        }
+
+        @Override
+        public List<AssessmentTemplateSummary> findSummariesByIdIn(Collection<String> ids) {
+            return ids.stream()
+                    .map(templates::get)
+                    .filter(Objects::nonNull)
+                    .map(AssessmentTemplateSummary::of)
+                    .toList();
+        }
+
+        @Override
+        public List<AssessmentTemplateSummary> findSummariesByOrderByCreatedAtDesc() {
+            return templates.values().stream()
+                    .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
+                    .map(AssessmentTemplateSummary::of)
+                    .toList();
+        }
+
         @Override
         public Optional<AssessmentTemplate> findByTestTypeAndVersionAndIsActiveTrue(String testType, String version) {
             return templates.values().stream()
@@ -377,4 +410,137 @@ public class TestConfig {
             return null; // Simplified implementation
         }
     }
+
+    private static class MockAssessmentTemplateVersionRepository implements AssessmentTemplateVersionRepository {
+
+        private final Map<String, AssessmentTemplateVersion> versions = new HashMap<>();
+
+        public MockAssessmentTemplateVersionRepository() {
+            // Public so the @Bean method's result can be proxied like MockAssessmentTemplateRepository
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> S save(S entity) {
+            versions.put(entity.getId(), entity);
+            return entity;
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> List<S> saveAll(Iterable<S> entities) {
+            List<S> result = new ArrayList<>();
+            entities.forEach(entity -> result.add(save(entity)));
+            return result;
+        }
+
+        @Override
+        public Optional<AssessmentTemplateVersion> findById(String id) {
+            return Optional.ofNullable(versions.get(id));
+        }
+
+        @Override
+        public boolean existsById(String id) {
+            return versions.containsKey(id);
+        }
+
+        @Override
+        public List<AssessmentTemplateVersion> findAll() {
+            return new ArrayList<>(versions.values());
+        }
+
+        @Override
+        public List<AssessmentTemplateVersion> findAllById(Iterable<String> ids) {
+            List<AssessmentTemplateVersion> result = new ArrayList<>();
+            ids.forEach(id -> findById(id).ifPresent(result::add));
+            return result;
+        }
+
+        @Override
+        public long count() {
+            return versions.size();
+        }
+
+        @Override
+        public void deleteById(String id) {
+            versions.remove(id);
+        }
+
+        @Override
+        public void delete(AssessmentTemplateVersion entity) {
+            versions.remove(entity.getId());
+        }
+
+        @Override
+        public void deleteAllById(Iterable<? extends String> ids) {
+            ids.forEach(versions::remove);
+        }
+
+        @Override
+        public void deleteAll(Iterable<? extends AssessmentTemplateVersion> entities) {
+            entities.forEach(entity -> versions.remove(entity.getId()));
+        }
+
+        @Override
+        public void deleteAll() {
+            versions.clear();
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> S insert(S entity) {
+            return save(entity);
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> List<S> insert(Iterable<S> entities) {
+            return saveAll(entities);
+        }
+
+        @Override
+        public List<AssessmentTemplateVersion> findAll(Sort sort) {
+            return new ArrayList<>(versions.values());
+        }
+
+        @Override
+        public Page<AssessmentTemplateVersion> findAll(Pageable pageable) {
+            List<AssessmentTemplateVersion> all = new ArrayList<>(versions.values());
+            int start = (int) pageable.getOffset();
+            int end = Math.min(start + pageable.getPageSize(), all.size());
+            List<AssessmentTemplateVersion> content = start < all.size() ? all.subList(start, end) : new ArrayList<>();
+            return new PageImpl<>(content, pageable, all.size());
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> Optional<S> findOne(Example<S> example) {
+            return Optional.empty(); // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> List<S> findAll(Example<S> example) {
+            return new ArrayList<>(); // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> List<S> findAll(Example<S> example, Sort sort) {
+            return new ArrayList<>(); // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> Page<S> findAll(Example<S> example, Pageable pageable) {
+            return new PageImpl<>(new ArrayList<>(), pageable, 0); // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> long count(Example<S> example) {
+            return 0; // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion> boolean exists(Example<S> example) {
+            return false; // Simplified implementation
+        }
+
+        @Override
+        public <S extends AssessmentTemplateVersion, R> R findBy(Example<S> example, Function<FluentQuery.FetchableFluentQuery<S>, R> queryFunction) {
+            return null; // Simplified implementation
+        }
+    }
 }
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.zplus.counselling.config.database;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
 
 @Configuration
+@Profile("!test") // Exclude from test profile; needs the redisTemplate from RedisConfig
 @EnableRedisRepositories(basePackages = "com.zplus.counselling.repository.redis")
 public class RedisRepositoryConfig {
 }
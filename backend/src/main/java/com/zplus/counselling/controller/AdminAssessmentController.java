@@ -3,9 +3,13 @@ package com.zplus.counselling.controller;
 import com.zplus.counselling.dto.response.ApiResponse;
 import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
+import com.zplus.counselling.service.assessment.AssessmentTemplateChangedEvent;
+import com.zplus.counselling.service.assessment.AssessmentTemplateVersions;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -21,16 +25,25 @@ import java.util.List;
 public class AdminAssessmentController {
 
     private final AssessmentTemplateRepository assessmentTemplateRepository;
+    private final AssessmentTemplateVersions templateVersions;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PostMapping
     @Operation(summary = "Create a new assessment template")
     public ResponseEntity<ApiResponse<AssessmentTemplate>> createAssessment(@RequestBody AssessmentTemplate template) {
         template.setCreatedAt(LocalDateTime.now());
         template.setUpdatedAt(LocalDateTime.now());
+        syncQuestionCount(template);
+        templateVersions.publish(template);
         AssessmentTemplate savedTemplate = assessmentTemplateRepository.save(template);
+        eventPublisher.publishEvent(new AssessmentTemplateChangedEvent(savedTemplate.getId(), savedTemplate.getTestType()));
         return ResponseEntity.ok(ApiResponse.success(savedTemplate, "Assessment template created successfully"));
     }
 
+    /**
+     * Stores the new content as another version and points the template at it; sessions
+     * already in progress finish on the version they started with.
+     */
     @PutMapping("/{id}")
     @Operation(summary = "Update an existing assessment template")
     public ResponseEntity<ApiResponse<AssessmentTemplate>> updateAssessment(
@@ -42,7 +55,10 @@ public class AdminAssessmentController {
                     template.setId(id);
                     template.setCreatedAt(existingTemplate.getCreatedAt()); // Preserve original creation date
                     template.setUpdatedAt(LocalDateTime.now());
+                    syncQuestionCount(template);
+                    templateVersions.publish(template);
                     AssessmentTemplate updatedTemplate = assessmentTemplateRepository.save(template);
+                    eventPublisher.publishEvent(new AssessmentTemplateChangedEvent(id, updatedTemplate.getTestType()));
                     return ResponseEntity.ok(ApiResponse.success(updatedTemplate, "Assessment template updated successfully"));
                 })
                 .orElse(ResponseEntity.notFound().build());
@@ -53,15 +69,16 @@ public class AdminAssessmentController {
     public ResponseEntity<ApiResponse<Void>> deleteAssessment(@PathVariable String id) {
         if (assessmentTemplateRepository.existsById(id)) {
             assessmentTemplateRepository.deleteById(id);
+            eventPublisher.publishEvent(new AssessmentTemplateChangedEvent(id, null));
             return ResponseEntity.ok(ApiResponse.success(null, "Assessment template deleted successfully"));
         }
         return ResponseEntity.notFound().build();
     }
 
     @GetMapping
-    @Operation(summary = "List all assessment templates")
-    public ResponseEntity<ApiResponse<List<AssessmentTemplate>>> getAllAssessments() {
-        List<AssessmentTemplate> templates = assessmentTemplateRepository.findAll();
+    @Operation(summary = "List all assessment templates (summaries; fetch one by id for its questions)")
+    public ResponseEntity<ApiResponse<List<AssessmentTemplateSummary>>> getAllAssessments() {
+        List<AssessmentTemplateSummary> templates = assessmentTemplateRepository.findSummariesByOrderByCreatedAtDesc();
         return ResponseEntity.ok(ApiResponse.success(templates));
     }
 
@@ -72,4 +89,11 @@ public class AdminAssessmentController {
                 .map(template -> ResponseEntity.ok(ApiResponse.success(template)))
                 .orElse(ResponseEntity.notFound().build());
     }
+
+    // Listings read totalQuestions from the summary projection instead of counting questions
+    private static void syncQuestionCount(AssessmentTemplate template) {
+        if (template.getQuestions() != null) {
+            template.setTotalQuestions(template.getQuestions().size());
+        }
+    }
 }
@@ -1,10 +1,11 @@
 package com.zplus.counselling.controller;
 
 import com.zplus.counselling.dto.*;
+import com.zplus.counselling.dto.common.CursorPageResponse;
 import com.zplus.counselling.dto.response.ApiResponse;
-import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
 import com.zplus.counselling.security.UserPrincipal;
 import com.zplus.counselling.service.AssessmentService;
+import com.zplus.counselling.service.assessment.AssessmentResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -12,10 +13,14 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
 
 @RestController
@@ -27,17 +32,26 @@ import java.util.List;
 public class AssessmentController {
 
     private final AssessmentService assessmentService;
+    private final AssessmentResponseCache responseCache;
+
+    @Value("${app.http-cache.template.max-age:5m}")
+    private Duration templateMaxAge;
 
     @GetMapping("/{testType}")
     @Operation(summary = "Get assessment template by test type", 
                description = "Retrieve the full assessment template structure for the given test type")
-    public ResponseEntity<ApiResponse<AssessmentTemplate>> getAssessmentTemplate(
+    public ResponseEntity<byte[]> getAssessmentTemplate(
             @Parameter(description = "Assessment test type (e.g., iq-test, tat-test)") 
             @PathVariable String testType) {
-        log.info("Getting assessment template for type: {}", testType);
-        
-        AssessmentTemplate template = assessmentService.getAssessmentTemplateByType(testType);
-        return ResponseEntity.ok(ApiResponse.success(template));
+        log.debug("Getting assessment template for type: {}", testType);
+
+        // Behind authentication, so only the client may cache it; revalidation is a cheap 304
+        AssessmentResponseCache.CachedJson json = responseCache.template(testType);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .cacheControl(CacheControl.maxAge(templateMaxAge).cachePrivate())
+                .body(json.body());
     }
 
     @GetMapping("/available")
@@ -80,6 +94,20 @@ public class AssessmentController {
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    @PutMapping("/{testType}/answers")
+    @Operation(summary = "Submit answers in bulk", 
+               description = "Submit several answers for the current assessment session in one request; already answered questions are skipped")
+    public ResponseEntity<ApiResponse<SubmitAnswerResponse>> submitAnswers(
+            @Parameter(description = "Assessment test type") 
+            @PathVariable String testType,
+            @Valid @RequestBody SubmitAnswersRequest request,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        log.info("Submitting {} answers for assessment {} session: {}", request.getAnswers().size(), testType, request.getSessionId());
+        
+        SubmitAnswerResponse response = assessmentService.submitAnswers(request);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
     @PostMapping("/{testType}/submit")
     @Operation(summary = "Complete assessment", 
                description = "Complete the assessment and calculate final results")
@@ -132,6 +160,32 @@ public class AssessmentController {
         return ResponseEntity.ok(ApiResponse.success(history));
     }
 
+    @GetMapping("/history/page")
+    @Operation(summary = "Get assessment history page",
+               description = "Retrieve the user's assessment history newest first, one page at a time; "
+                       + "pass the returned nextCursor to get the following page")
+    public ResponseEntity<ApiResponse<CursorPageResponse<AssessmentSessionDto>>> getAssessmentHistoryPage(
+            @Parameter(description = "nextCursor from the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Sessions per page (at most 100)")
+            @RequestParam(defaultValue = "20") int size,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        CursorPageResponse<AssessmentSessionDto> page =
+                assessmentService.getUserAssessmentHistoryPage(userPrincipal.getId(), cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(page));
+    }
+
+    @GetMapping("/session/{sessionId}/status")
+    @Operation(summary = "Get completion status", 
+               description = "Poll whether a submitted session's result has been computed (PENDING, READY or FAILED)")
+    public ResponseEntity<ApiResponse<AssessmentCompletionStatusDto>> getCompletionStatus(
+            @Parameter(description = "Session ID") 
+            @PathVariable String sessionId,
+            @AuthenticationPrincipal UserPrincipal userPrincipal) {
+        AssessmentCompletionStatusDto status = assessmentService.getCompletionStatus(sessionId, userPrincipal.getId());
+        return ResponseEntity.ok(ApiResponse.success(status));
+    }
+
     @PostMapping("/session/{sessionId}/complete")
     @Operation(summary = "Complete session", 
                description = "Mark an assessment session as complete")
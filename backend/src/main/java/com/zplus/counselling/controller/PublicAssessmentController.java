@@ -1,17 +1,18 @@
 package com.zplus.counselling.controller;
 
-import com.zplus.counselling.dto.AvailableAssessmentDto;
-import com.zplus.counselling.dto.response.ApiResponse;
-import com.zplus.counselling.service.AssessmentService;
+import com.zplus.counselling.service.assessment.AssessmentResponseCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.List;
+import java.time.Duration;
 
 @RestController
 @RequestMapping("/public/assessments")
@@ -19,12 +20,32 @@ import java.util.List;
 @Tag(name = "Public Assessment APIs", description = "Endpoints for public assessment listing")
 public class PublicAssessmentController {
 
-    private final AssessmentService assessmentService;
+    private final AssessmentResponseCache responseCache;
 
+    @Value("${app.http-cache.catalog.max-age:60s}")
+    private Duration maxAge;
+
+    @Value("${app.http-cache.catalog.shared-max-age:300s}")
+    private Duration sharedMaxAge;
+
+    @Value("${app.http-cache.catalog.stale-while-revalidate:60s}")
+    private Duration staleWhileRevalidate;
+
+    /**
+     * Pre-serialized body with a strong ETag; a matching If-None-Match is answered 304 by Spring
+     * without writing the body. Cacheable by browsers and, for longer, by a CDN.
+     */
     @GetMapping
     @Operation(summary = "Get all active assessments", description = "Retrieve a list of all active assessments for the public portal")
-    public ResponseEntity<ApiResponse<List<AvailableAssessmentDto>>> getPublicAssessments() {
-        List<AvailableAssessmentDto> assessments = assessmentService.getPublicAssessments();
-        return ResponseEntity.ok(ApiResponse.success(assessments));
+    public ResponseEntity<byte[]> getPublicAssessments() {
+        AssessmentResponseCache.CachedJson json = responseCache.publicCatalog();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(json.etag())
+                .cacheControl(CacheControl.maxAge(maxAge)
+                        .sMaxAge(sharedMaxAge)
+                        .staleWhileRevalidate(staleWhileRevalidate)
+                        .cachePublic())
+                .body(json.body());
     }
 }
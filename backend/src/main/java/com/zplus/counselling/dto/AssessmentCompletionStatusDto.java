@@ -0,0 +1,21 @@
+package com.zplus.counselling.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Where a submitted session is in the completion pipeline; clients poll this
+ * after an asynchronous submit until resultStatus is READY or FAILED.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssessmentCompletionStatusDto {
+    private String sessionId;
+    private String status;
+    private String resultStatus;
+    private String resultId;
+}
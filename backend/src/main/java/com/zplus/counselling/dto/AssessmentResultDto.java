@@ -31,4 +31,7 @@ public class AssessmentResultDto {
     private Integer aptitudeScore;
     private Integer maxScore;
     private Boolean isAptitudeTest;
+
+    /** READY when scores are included; PENDING while they are computed asynchronously. */
+    private String resultStatus;
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package com.zplus.counselling.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * A {@link QuestionDto} serialized once and written verbatim into any response that embeds it.
+ *
+ * Questions cannot change within a template version, so each one is rendered when its
+ * template is compiled and the answer path only copies the UTF-8 bytes into the output.
+ */
+public final class RenderedQuestion implements JsonSerializable {
+
+    private static final ObjectWriter WRITER = new ObjectMapper().writerFor(QuestionDto.class);
+
+    private final String id;
+    private final SerializedString json;
+
+    private RenderedQuestion(String id, String json) {
+        this.id = id;
+        this.json = new SerializedString(json);
+        // Encode up front; the generator then copies the cached bytes on every write
+        this.json.asUnquotedUTF8();
+    }
+
+    public static RenderedQuestion of(QuestionDto question) {
+        try {
+            return new RenderedQuestion(question.getId(), WRITER.writeValueAsString(question));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not render question " + question.getId(), ex);
+        }
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String toJson() {
+        return json.getValue();
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeRawValue(json);
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+
+    @Override
+    public String toString() {
+        return json.getValue();
+    }
+}
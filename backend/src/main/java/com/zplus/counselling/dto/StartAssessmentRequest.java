@@ -1,5 +1,6 @@
 package com.zplus.counselling.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,4 +15,8 @@ public class StartAssessmentRequest {
     
     private String testVersion;
     private String language;
+
+    /** Questions to send after the next one; defaults to the template's prefetch setting. */
+    @Min(value = 0, message = "Lookahead cannot be negative")
+    private Integer lookahead;
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.zplus.counselling.dto;
 
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -20,5 +22,10 @@ public class StartAssessmentResponse {
     private Integer currentQuestion;
     private Integer timeLimit;
     private List<String> instructions;
-    private QuestionDto firstQuestion;
+    @Schema(implementation = QuestionDto.class)
+    private RenderedQuestion firstQuestion;
+
+    /** The questions after {@code firstQuestion}, when a lookahead was requested or configured. */
+    @ArraySchema(schema = @Schema(implementation = QuestionDto.class))
+    private List<RenderedQuestion> upcomingQuestions;
 }
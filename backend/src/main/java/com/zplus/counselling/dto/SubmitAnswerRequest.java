@@ -1,5 +1,6 @@
 package com.zplus.counselling.dto;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -20,4 +21,8 @@ public class SubmitAnswerRequest {
     private String answer;
     
     private Double responseTime;
+
+    /** Questions to send after the next one; defaults to the template's prefetch setting. */
+    @Min(value = 0, message = "Lookahead cannot be negative")
+    private Integer lookahead;
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.zplus.counselling.dto;
 
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 /**
  * SubmitAnswerResponse — Refactored to use Lombok.
  */
@@ -16,5 +20,12 @@ public class SubmitAnswerResponse {
     private Integer currentQuestion;
     private Integer totalQuestions;
     private Double completionPercentage;
-    private QuestionDto nextQuestion;
+    @Schema(implementation = QuestionDto.class)
+    private RenderedQuestion nextQuestion;
+
+    /** The questions after {@code nextQuestion}, when a lookahead was requested or configured. */
+    @ArraySchema(schema = @Schema(implementation = QuestionDto.class))
+    private List<RenderedQuestion> upcomingQuestions;
+    /** Answers stored by a batch submission; duplicates of already answered questions are skipped. */
+    private Integer acceptedAnswers;
 }
@@ -0,0 +1,43 @@
+package com.zplus.counselling.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Several answers for one session, in the order they were given.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SubmitAnswersRequest {
+    @NotNull(message = "Session ID is required")
+    private String sessionId;
+
+    @NotEmpty(message = "At least one answer is required")
+    private List<@Valid Answer> answers;
+
+    /** Questions to send after the next one; defaults to the template's prefetch setting. */
+    @Min(value = 0, message = "Lookahead cannot be negative")
+    private Integer lookahead;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Answer {
+        @NotBlank(message = "Question ID is required")
+        private String questionId;
+
+        @NotBlank(message = "Answer is required")
+        private String answer;
+
+        private Double responseTime;
+    }
+}
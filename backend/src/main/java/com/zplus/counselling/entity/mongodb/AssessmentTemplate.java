@@ -3,6 +3,8 @@ package com.zplus.counselling.entity.mongodb;
 import jakarta.validation.constraints.Min;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
@@ -10,6 +12,13 @@ import java.util.List;
 import java.util.Map;
 
 @Document(collection = "assessment_templates")
+// One index per AssessmentTemplateRepository query shape; created by MongoConfig at startup
+@CompoundIndexes({
+        @CompoundIndex(name = "active_created", def = "{'isActive': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "type_active_version", def = "{'testType': 1, 'isActive': 1, 'version': 1}"),
+        @CompoundIndex(name = "category_active_created", def = "{'category': 1, 'isActive': 1, 'createdAt': -1}"),
+        @CompoundIndex(name = "created", def = "{'createdAt': -1}")
+})
 @Data
 public class AssessmentTemplate {
 
@@ -29,6 +38,10 @@ public class AssessmentTemplate {
     private List<Question> questions;
     private ScoringAlgorithm scoringAlgorithm;
     private Map<String, ResultType> resultTypes;
+    // Questions sent ahead of the current one when the client does not ask for a lookahead
+    private Integer prefetchQuestions;
+    // Id of the AssessmentTemplateVersion holding this content; sessions pin to it when they start
+    private String contentHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -74,6 +87,12 @@ public class AssessmentTemplate {
     public Map<String, ResultType> getResultTypes() { return resultTypes; }
     public void setResultTypes(Map<String, ResultType> resultTypes) { this.resultTypes = resultTypes; }
 
+    public Integer getPrefetchQuestions() { return prefetchQuestions; }
+    public void setPrefetchQuestions(Integer prefetchQuestions) { this.prefetchQuestions = prefetchQuestions; }
+
+    public String getContentHash() { return contentHash; }
+    public void setContentHash(String contentHash) { this.contentHash = contentHash; }
+
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
 
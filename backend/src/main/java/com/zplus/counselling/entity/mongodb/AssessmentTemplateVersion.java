@@ -0,0 +1,32 @@
+package com.zplus.counselling.entity.mongodb;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of an {@link AssessmentTemplate}'s content, keyed by the SHA-256 of that
+ * content. Written once and never updated or deleted, so anything derived from a version
+ * (compiled scoring plans, rendered questions) can be cached by its id indefinitely.
+ */
+@Document(collection = "assessment_template_versions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssessmentTemplateVersion {
+
+    @Id
+    private String id; // Content hash
+
+    @Indexed
+    private String templateId;
+
+    private AssessmentTemplate content;
+
+    private LocalDateTime createdAt;
+}
@@ -9,9 +9,10 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @Entity
-@Table(name = "assessment_sessions")
+@Table(name = "assessment_sessions") // Indexes live in the Flyway migrations under db/migration
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +26,9 @@ public class AssessmentSession extends BaseEntity {
     @Column(name = "template_id", nullable = false)
     private String templateId; // References MongoDB AssessmentTemplate
 
+    @Column(name = "template_version", length = 64)
+    private String templateVersion; // Content hash of the template version the session started on
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     private SessionStatus status = SessionStatus.IN_PROGRESS;
@@ -41,6 +45,13 @@ public class AssessmentSession extends BaseEntity {
     @Column(name = "time_spent_seconds")
     private Long timeSpentSeconds = 0L;
 
+    @Enumerated(EnumType.STRING)
+    @Column(name = "result_status")
+    private ResultStatus resultStatus;
+
+    @Column(name = "result_id", columnDefinition = "UUID")
+    private UUID resultId; // TestResult written for this session once scored
+
     @OneToMany(mappedBy = "session", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<UserAnswer> answers = new ArrayList<>();
 
@@ -51,6 +62,12 @@ public class AssessmentSession extends BaseEntity {
         EXPIRED
     }
 
+    public enum ResultStatus {
+        PENDING,
+        READY,
+        FAILED
+    }
+
     // Helper methods
     public void completeSession() {
         this.status = SessionStatus.COMPLETED;
@@ -83,6 +100,9 @@ public class AssessmentSession extends BaseEntity {
     public String getTemplateId() { return templateId; }
     public void setTemplateId(String templateId) { this.templateId = templateId; }
 
+    public String getTemplateVersion() { return templateVersion; }
+    public void setTemplateVersion(String templateVersion) { this.templateVersion = templateVersion; }
+
     public SessionStatus getStatus() { return status; }
     public void setStatus(SessionStatus status) { this.status = status; }
 
@@ -98,6 +118,12 @@ public class AssessmentSession extends BaseEntity {
     public Long getTimeSpentSeconds() { return timeSpentSeconds; }
     public void setTimeSpentSeconds(Long timeSpentSeconds) { this.timeSpentSeconds = timeSpentSeconds; }
 
+    public ResultStatus getResultStatus() { return resultStatus; }
+    public void setResultStatus(ResultStatus resultStatus) { this.resultStatus = resultStatus; }
+
+    public UUID getResultId() { return resultId; }
+    public void setResultId(UUID resultId) { this.resultId = resultId; }
+
     public List<UserAnswer> getAnswers() { return answers; }
     public void setAnswers(List<UserAnswer> answers) { this.answers = answers; }
 
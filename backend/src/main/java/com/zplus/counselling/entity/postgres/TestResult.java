@@ -1,5 +1,6 @@
 package com.zplus.counselling.entity.postgres;
 
+import com.zplus.counselling.dto.AssessmentResultDto;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -11,6 +12,7 @@ import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 
 @Entity
 @Table(name = "test_results")
@@ -24,6 +26,10 @@ public class TestResult extends BaseEntity {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    // The assessment session scored into this result; at most one result per session
+    @Column(name = "session_id", columnDefinition = "UUID", unique = true)
+    private UUID sessionId;
+
     @Column(name = "test_type", nullable = false, length = 50)
     private String testType;
 
@@ -73,6 +79,15 @@ public class TestResult extends BaseEntity {
     @Column(name = "pdf_report_url", length = 500)
     private String pdfReportUrl;
 
+    // The result exactly as served, written once when the session is scored
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "result_snapshot", columnDefinition = "TEXT")
+    private AssessmentResultDto resultSnapshot;
+
+    // ScoringService.SCORING_VERSION that produced resultSnapshot
+    @Column(name = "scoring_version")
+    private Integer scoringVersion;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
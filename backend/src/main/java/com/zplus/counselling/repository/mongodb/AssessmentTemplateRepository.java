@@ -4,6 +4,7 @@ import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,4 +20,16 @@ public interface AssessmentTemplateRepository extends MongoRepository<Assessment
     Optional<AssessmentTemplate> findByTestTypeAndVersionAndIsActiveTrue(String testType, String version);
     
     boolean existsByTestTypeAndIsActiveTrue(String testType);
+
+    /**
+     * Active templates for listings, newest first; served by the isActive + createdAt index.
+     */
+    List<AssessmentTemplateSummary> findSummariesByIsActiveTrueOrderByCreatedAtDesc();
+
+    List<AssessmentTemplateSummary> findSummariesByOrderByCreatedAtDesc();
+
+    /**
+     * Summaries for a batch of ids, active or not; one query instead of a findById per id.
+     */
+    List<AssessmentTemplateSummary> findSummariesByIdIn(Collection<String> ids);
 }
\ No newline at end of file
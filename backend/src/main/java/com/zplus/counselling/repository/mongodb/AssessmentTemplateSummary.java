@@ -0,0 +1,29 @@
+package com.zplus.counselling.repository.mongodb;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Card-level view of an assessment template. Used as a DTO projection, so Mongo returns
+ * only these fields and questions, scoring and result types are never read.
+ */
+public record AssessmentTemplateSummary(String id,
+                                        String testType,
+                                        String version,
+                                        String title,
+                                        String description,
+                                        String category,
+                                        Integer estimatedTimeMinutes,
+                                        Integer totalQuestions,
+                                        Boolean isActive,
+                                        LocalDateTime createdAt,
+                                        LocalDateTime updatedAt) {
+
+    public static AssessmentTemplateSummary of(AssessmentTemplate template) {
+        return new AssessmentTemplateSummary(template.getId(), template.getTestType(), template.getVersion(),
+                template.getTitle(), template.getDescription(), template.getCategory(),
+                template.getEstimatedTimeMinutes(), template.getTotalQuestions(), template.getIsActive(),
+                template.getCreatedAt(), template.getUpdatedAt());
+    }
+}
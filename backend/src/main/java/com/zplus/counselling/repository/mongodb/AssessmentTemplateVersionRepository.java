@@ -0,0 +1,9 @@
+package com.zplus.counselling.repository.mongodb;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AssessmentTemplateVersionRepository extends MongoRepository<AssessmentTemplateVersion, String> {
+}
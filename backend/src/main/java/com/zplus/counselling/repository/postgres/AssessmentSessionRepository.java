@@ -2,7 +2,10 @@ package com.zplus.counselling.repository.postgres;
 
 import com.zplus.counselling.entity.postgres.AssessmentSession;
 import com.zplus.counselling.entity.postgres.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -19,6 +22,14 @@ public interface AssessmentSessionRepository extends JpaRepository<AssessmentSes
 
     List<AssessmentSession> findByUserAndStatus(User user, AssessmentSession.SessionStatus status);
 
+    /**
+     * The session with its row locked (SELECT ... FOR UPDATE) until the transaction ends, so
+     * concurrent scorers of one session run one after the other.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM AssessmentSession s WHERE s.id = :id")
+    Optional<AssessmentSession> findByIdForUpdate(@Param("id") UUID id);
+
     List<AssessmentSession> findByUserOrderByStartedAtDesc(User user);
 
     @Query("SELECT s FROM AssessmentSession s WHERE s.user.id = :userId AND s.status = :status")
@@ -27,7 +38,69 @@ public interface AssessmentSessionRepository extends JpaRepository<AssessmentSes
     @Query("SELECT s FROM AssessmentSession s WHERE s.status = 'IN_PROGRESS' AND s.startedAt < :expirationTime")
     List<AssessmentSession> findExpiredSessions(@Param("expirationTime") LocalDateTime expirationTime);
 
+    List<AssessmentSession> findTop100ByResultStatusAndCompletedAtBeforeOrderByCompletedAt(
+            AssessmentSession.ResultStatus resultStatus, LocalDateTime completedBefore);
+
     long countByUserAndStatus(User user, AssessmentSession.SessionStatus status);
 
     boolean existsByUserAndTemplateIdAndStatus(User user, String templateId, AssessmentSession.SessionStatus status);
-}
\ No newline at end of file
+
+    /**
+     * Advances an in-progress session by {@code answers} questions in one statement and returns
+     * the new index; empty when the session is missing or no longer in progress. The row is
+     * locked by the update, so concurrent calls are serialized and each sees its own index.
+     * Uses Postgres' UPDATE ... RETURNING.
+     */
+    @Query(value = "UPDATE assessment_sessions"
+            + " SET current_question_index = COALESCE(current_question_index, 0) + :answers, updated_at = now()"
+            + " WHERE id = :id AND status = 'IN_PROGRESS'"
+            + " RETURNING current_question_index AS \"currentQuestionIndex\", template_id AS \"templateId\","
+            + " template_version AS \"templateVersion\"",
+            nativeQuery = true)
+    Optional<SessionProgress> advance(@Param("id") UUID id, @Param("answers") int answers);
+
+    /**
+     * One row per template the user has started: whether any session was completed
+     * (1 or 0) and the latest start. Served by idx_assessment_sessions_user_template.
+     */
+    @Query("SELECT s.templateId AS templateId,"
+            + " MAX(CASE WHEN s.status = 'COMPLETED' THEN 1 ELSE 0 END) AS completed,"
+            + " MAX(s.startedAt) AS lastStartedAt"
+            + " FROM AssessmentSession s WHERE s.user.id = :userId GROUP BY s.templateId")
+    List<TemplateAttempts> findAttemptsByUserId(@Param("userId") UUID userId);
+
+    /**
+     * Newest sessions first, for the first page of a keyset-paginated history.
+     * Served by idx_assessment_sessions_user_started.
+     */
+    @Query("SELECT s FROM AssessmentSession s WHERE s.user.id = :userId ORDER BY s.startedAt DESC, s.id DESC")
+    List<AssessmentSession> findHistory(@Param("userId") UUID userId, Pageable page);
+
+    /**
+     * The sessions after ({@code startedAt}, {@code id}) in history order; a seek rather than an
+     * OFFSET, so every page costs the same however deep it is.
+     */
+    @Query("SELECT s FROM AssessmentSession s WHERE s.user.id = :userId"
+            + " AND (s.startedAt < :startedAt OR (s.startedAt = :startedAt AND s.id < :id))"
+            + " ORDER BY s.startedAt DESC, s.id DESC")
+    List<AssessmentSession> findHistoryAfter(@Param("userId") UUID userId,
+                                             @Param("startedAt") LocalDateTime startedAt,
+                                             @Param("id") UUID id,
+                                             Pageable page);
+
+    interface SessionProgress {
+        Integer getCurrentQuestionIndex();
+
+        String getTemplateId();
+
+        String getTemplateVersion();
+    }
+
+    interface TemplateAttempts {
+        String getTemplateId();
+
+        Integer getCompleted();
+
+        LocalDateTime getLastStartedAt();
+    }
+}
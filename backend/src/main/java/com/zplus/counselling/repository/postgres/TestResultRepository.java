@@ -31,4 +31,10 @@ public interface TestResultRepository extends JpaRepository<TestResult, UUID> {
     Long countCompletedTestsByType(@Param("testType") String testType);
     
     boolean existsByUserIdAndTestTypeAndIsCompletedTrue(UUID userId, String testType);
+
+    /**
+     * The result linked from an assessment session, by primary key in one statement.
+     */
+    @Query("SELECT tr FROM TestResult tr WHERE tr.id = (SELECT s.resultId FROM AssessmentSession s WHERE s.id = :sessionId)")
+    Optional<TestResult> findBySessionId(@Param("sessionId") UUID sessionId);
 }
\ No newline at end of file
@@ -9,9 +9,10 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 @Repository
-public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
+public interface UserAnswerRepository extends JpaRepository<UserAnswer, UUID> {
 
     List<UserAnswer> findBySessionOrderByQuestionNumber(AssessmentSession session);
 
@@ -20,7 +21,16 @@ public interface UserAnswerRepository extends JpaRepository<UserAnswer, Long> {
     Optional<UserAnswer> findBySessionAndQuestionNumber(AssessmentSession session, Integer questionNumber);
 
     @Query("SELECT ua FROM UserAnswer ua WHERE ua.session.id = :sessionId ORDER BY ua.questionNumber")
-    List<UserAnswer> findBySessionIdOrderByQuestionNumber(@Param("sessionId") Long sessionId);
+    List<UserAnswer> findBySessionIdOrderByQuestionNumber(@Param("sessionId") UUID sessionId);
+
+    @Query("SELECT ua.questionId FROM UserAnswer ua WHERE ua.session = :session")
+    List<String> findQuestionIdsBySession(@Param("session") AssessmentSession session);
+
+    @Query("SELECT ua.questionId FROM UserAnswer ua WHERE ua.session.id = :sessionId")
+    List<String> findQuestionIdsBySessionId(@Param("sessionId") UUID sessionId);
+
+    @Query("SELECT COUNT(ua) > 0 FROM UserAnswer ua WHERE ua.session.id = :sessionId AND ua.questionId = :questionId")
+    boolean existsBySessionIdAndQuestionId(@Param("sessionId") UUID sessionId, @Param("questionId") String questionId);
 
     @Query("SELECT COUNT(ua) FROM UserAnswer ua WHERE ua.session = :session")
     long countBySession(@Param("session") AssessmentSession session);
@@ -0,0 +1,170 @@
+package com.zplus.counselling.security;
+
+import com.zplus.counselling.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * BCrypt encoder that runs every hash on a small dedicated pool instead of the request thread.
+ *
+ * At most {@code threads} hashes run at once and at most {@code queueCapacity} wait, so a
+ * burst of logins cannot take the CPU (or more than threads + queueCapacity request threads)
+ * away from the rest of the API. A full queue, or a hash that has not started within
+ * {@code queueTimeout}, fails fast with {@link ServiceOverloadedException}.
+ *
+ * {@link #upgradeEncoding(String)} reports any hash whose cost differs from the configured
+ * strength, so {@code DaoAuthenticationProvider} rehashes it on the next successful login.
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, AutoCloseable {
+
+    private final BCryptPasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final Duration queueTimeout;
+    private final Duration retryAfter;
+
+    private final Timer queueWait;
+    private final Timer encodeTime;
+    private final Timer matchTime;
+    private final Counter rejected;
+
+    public BoundedPasswordEncoder(int strength, int threads, int queueCapacity,
+                                  Duration queueTimeout, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.queueTimeout = queueTimeout;
+        this.retryAfter = retryAfter;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queueWait = Timer.builder("security.password.hash.queue")
+                .description("Time a password hash waited for a hashing thread")
+                .register(meterRegistry);
+        this.encodeTime = Timer.builder("security.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchTime = Timer.builder("security.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("security.password.hash.rejected")
+                .description("Password hashes refused because the hashing pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder("security.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTime);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            // Nothing to hash; let BCrypt log and reject without taking a slot
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchTime);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        int cost = costOf(encodedPassword);
+        return cost > 0 && cost != strength;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private <T> T submit(Callable<T> hash, Timer hashTime) {
+        long queuedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long waited = System.nanoTime() - queuedAt;
+                queueWait.record(waited, TimeUnit.NANOSECONDS);
+                if (waited > queueTimeout.toNanos()) {
+                    // Don't spend CPU on a hash whose request is already being answered with 503
+                    rejected.increment();
+                    throw overloaded();
+                }
+                return hashTime.recordCallable(hash);
+            });
+        } catch (RejectedExecutionException ex) {
+            rejected.increment();
+            throw overloaded();
+        }
+
+        try {
+            // Safety net only: stale tasks are already refused when they reach a thread
+            return future.get(queueTimeout.toMillis() + maxHashMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            rejected.increment();
+            throw overloaded();
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hash", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    private long maxHashMillis() {
+        // A hash doubles with each cost step (~70 ms at 10); this is ~15x that, so only queueing trips the timeout
+        return Math.max(1000L, 1L << Math.min(strength, 20));
+    }
+
+    private ServiceOverloadedException overloaded() {
+        log.warn("Password hashing pool saturated (active={}, queued={})",
+                executor.getActiveCount(), executor.getQueue().size());
+        return new ServiceOverloadedException("Too many sign-in requests right now. Please try again shortly.", retryAfter);
+    }
+
+    /**
+     * Cost factor of a {@code $2a$10$...} style hash, or -1 when the value is not BCrypt.
+     */
+    static int costOf(String encodedPassword) {
+        if (encodedPassword == null || encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$'
+                || encodedPassword.charAt(6) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException ex) {
+            return -1;
+        }
+    }
+}
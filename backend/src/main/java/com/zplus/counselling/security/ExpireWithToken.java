@@ -0,0 +1,39 @@
+package com.zplus.counselling.security;
+
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.Function;
+
+/**
+ * Caffeine expiry for verified-token caches: an entry lives until its token's {@code exp}.
+ * Entries without an expiry are not retained.
+ */
+public final class ExpireWithToken<V> implements Expiry<String, V> {
+
+    private final Function<V, Instant> expiresAt;
+
+    public ExpireWithToken(Function<V, Instant> expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public long expireAfterCreate(String key, V value, long currentTime) {
+        Instant expiry = expiresAt.apply(value);
+        if (expiry == null) {
+            return 0;
+        }
+        return Math.max(Duration.between(Instant.now(), expiry).toNanos(), 0);
+    }
+
+    @Override
+    public long expireAfterUpdate(String key, V value, long currentTime, long currentDuration) {
+        return expireAfterCreate(key, value, currentTime);
+    }
+
+    @Override
+    public long expireAfterRead(String key, V value, long currentTime, long currentDuration) {
+        return currentDuration;
+    }
+}
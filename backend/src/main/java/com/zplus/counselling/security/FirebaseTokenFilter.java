@@ -1,10 +1,9 @@
 package com.zplus.counselling.security;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
-import com.google.firebase.auth.FirebaseToken;
-import com.zplus.counselling.entity.postgres.User;
 import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.security.firebase.FirebaseIdentity;
+import com.zplus.counselling.security.firebase.FirebaseUserResolver;
+import com.zplus.counselling.security.firebase.InvalidFirebaseTokenException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,10 +23,8 @@ import java.io.IOException;
 @RequiredArgsConstructor
 public class FirebaseTokenFilter extends OncePerRequestFilter {
 
-    @org.springframework.beans.factory.annotation.Value("${ADMIN_EMAIL:}")
-    private String adminEmail;
-
     private final UserRepository userRepository;
+    private final FirebaseUserResolver firebaseUserResolver;
 
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, 
@@ -66,68 +63,13 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
                     return;
                 }
 
-                // Verify Token with Firebase
-                FirebaseToken decodedToken = FirebaseAuth.getInstance().verifyIdToken(token);
-                String uid = decodedToken.getUid();
-                String email = decodedToken.getEmail();
-                String name = decodedToken.getName();
-                String picture = decodedToken.getPicture();
-
-                // Check if user exists in DB
-                User user = userRepository.findByFirebaseUid(uid)
-                        .orElseGet(() -> userRepository.findByEmail(email)
-                                .map(existingUser -> {
-                                    // Link existing user to Firebase
-                                    existingUser.setFirebaseUid(uid);
-                                    existingUser.setProvider("GOOGLE"); // Assuming Google on first link or generic
-                                    if (picture != null) existingUser.setProfilePictureUrl(picture);
-                                    return userRepository.save(existingUser);
-                                })
-                                .orElseGet(() -> {
-                                    // Create new user
-                                    User newUser = new User();
-                                    newUser.setFirebaseUid(uid);
-                                    newUser.setEmail(email);
-                                    newUser.setFullName(name != null ? name : "User");
-                                    newUser.setProfilePictureUrl(picture);
-                                    newUser.setProvider("GOOGLE");
-                                    newUser.setIsEmailVerified(decodedToken.isEmailVerified());
-                                    // Set default values
-                                    newUser.setCreatedAt(java.time.LocalDateTime.now());
-                                    newUser.setUpdatedAt(java.time.LocalDateTime.now());
-                                    return userRepository.save(newUser);
-                                }));
-
-                // Sync ADMIN role strictly based on environment variable
-                boolean rolesChanged = false;
-                if (adminEmail != null && !adminEmail.trim().isEmpty() && email != null) {
-                    String safeAdminEmail = adminEmail.trim().toLowerCase();
-                    String safeUserEmail = email.trim().toLowerCase();
-
-                    if (safeUserEmail.equalsIgnoreCase(safeAdminEmail)) {
-                        if (!"ADMIN".equals(user.getRole())) {
-                            user.setRole("ADMIN");
-                            rolesChanged = true;
-                        }
-                    } else {
-                        if ("ADMIN".equals(user.getRole())) {
-                            user.setRole("USER");
-                            rolesChanged = true;
-                        }
-                    }
-                } else {
-                    // If no admin email is set or incoming email is null, ensure they are demoted if they hold ADMIN
-                    if ("ADMIN".equals(user.getRole())) {
-                        user.setRole("USER");
-                        rolesChanged = true;
-                    }
-                }
-
-                if (rolesChanged) {
-                    user = userRepository.save(user);
-                }
+                // Verify Token with Firebase (cached until the token expires)
+                FirebaseIdentity identity = firebaseUserResolver.verify(token);
+                String uid = identity.uid();
+                String email = identity.email();
 
-                UserDetails userDetails = UserPrincipal.create(user);
+                // Find, link or provision the user, once per uid
+                UserPrincipal userDetails = firebaseUserResolver.resolve(identity);
 
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
@@ -138,11 +80,11 @@ public class FirebaseTokenFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authentication);
                 
                 // Add useful attributes to request
-                request.setAttribute("userId", user.getId());
+                request.setAttribute("userId", userDetails.getId());
                 request.setAttribute("X-Firebase-Uid", uid);
                 request.setAttribute("X-Firebase-Email", email);
 
-            } catch (FirebaseAuthException e) {
+            } catch (InvalidFirebaseTokenException e) {
                 System.err.println("Firebase token verification failed: " + e.getMessage());
                 response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
                 return; // Stop processing the request chain
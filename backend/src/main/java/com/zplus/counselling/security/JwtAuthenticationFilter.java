@@ -1,5 +1,6 @@
 package com.zplus.counselling.security;
 
+import com.zplus.counselling.security.revocation.TokenRevocationService;
 import com.zplus.counselling.service.auth.UserService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -7,6 +8,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -16,6 +18,7 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.UUID;
 
 @Component
@@ -23,20 +26,42 @@ import java.util.UUID;
 @Slf4j
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    /**
+     * {@code Optional<JwtClaims>} already parsed earlier in the chain (by the rate limiter).
+     */
+    public static final String CLAIMS_ATTRIBUTE = JwtAuthenticationFilter.class.getName() + ".claims";
+
     private final JwtTokenProvider tokenProvider;
     private final UserService userService;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService revocationService;
+
+    // Trust the signed claims instead of loading the user; role changes then apply only to new tokens
+    @Value("${app.security.principal-from-claims:false}")
+    private boolean claimsOnlyPrincipal;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
                                   FilterChain filterChain) throws ServletException, IOException {
         try {
-            String jwt = getJwtFromRequest(request);
+            @SuppressWarnings("unchecked")
+            Optional<JwtClaims> claims = (Optional<JwtClaims>) request.getAttribute(CLAIMS_ATTRIBUTE);
+            if (claims == null) {
+                String jwt = bearerToken(request);
+                claims = StringUtils.hasText(jwt) ? tokenProvider.parse(jwt) : Optional.empty();
+            }
+            if (claims.isPresent() && revocationService.isRevoked(claims.get())) {
+                log.debug("Rejected revoked token for user {}", claims.get().userId());
+                claims = Optional.empty();
+            }
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String userId = tokenProvider.getUserIdFromJWT(jwt);
-                String userRole = tokenProvider.getRoleFromJWT(jwt);
+            if (claims.isPresent()) {
+                UUID userId = UUID.fromString(claims.get().userId());
+                String userRole = claims.get().role();
 
-                UserDetails userDetails = userService.loadUserById(UUID.fromString(userId));
+                UserDetails userDetails = claimsOnlyPrincipal
+                        ? principalFromClaims(claims.get(), userId)
+                        : principalCache.get(userId, id -> (UserPrincipal) userService.loadUserById(id));
                 
                 // Prioritize role from JWT claims
                 java.util.Collection<? extends org.springframework.security.core.GrantedAuthority> authorities = userDetails.getAuthorities();
@@ -58,7 +83,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    private String getJwtFromRequest(HttpServletRequest request) {
+    private UserPrincipal principalFromClaims(JwtClaims claims, UUID userId) {
+        String role = claims.role();
+        String authority = !StringUtils.hasText(role) ? "ROLE_USER" : role.startsWith("ROLE_") ? role : "ROLE_" + role;
+        return new UserPrincipal(userId, claims.subject(), null, null,
+                java.util.Collections.singletonList(new org.springframework.security.core.authority.SimpleGrantedAuthority(authority)));
+    }
+
+    public static String bearerToken(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
             return bearerToken.substring(7);
@@ -0,0 +1,12 @@
+package com.zplus.counselling.security;
+
+import java.time.Instant;
+
+/**
+ * The claims the API relies on, read from a token whose signature and expiry have
+ * already been verified by {@link JwtTokenProvider#parse(String)}. {@code tokenId} is the
+ * {@code jti} used for revocation; tokens issued before it was added have none.
+ * {@code issuedAt} has millisecond precision, or whole seconds for tokens without {@code iatMs}.
+ */
+public record JwtClaims(String subject, String userId, String role, String tokenId, Instant issuedAt, Instant expiresAt) {
+}
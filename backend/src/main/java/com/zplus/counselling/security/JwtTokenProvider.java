@@ -1,37 +1,128 @@
 package com.zplus.counselling.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.time.Instant;
 import java.util.Date;
-
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and verifies the API's HS* tokens.
+ *
+ * The signing key and {@link JwtParser} are built once; {@link #parse(String)} verifies a
+ * token in a single pass and returns its claims. With {@code app.jwt.verified-cache.enabled}
+ * the claims of recently verified tokens are kept, keyed by a SHA-256 of the token and
+ * expiring with it, so repeat requests with the same token skip signature verification.
+ */
 @Component
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${app.jwt.secret}")
-    private String jwtSecret;
+    // iat only has whole seconds; revocation cut-offs need to order tokens within a second
+    private static final String ISSUED_AT_MS = "iatMs";
+
+    private final long jwtExpirationInMs;
+    private final long jwtRefreshExpirationInMs;
+    private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, JwtClaims> verifiedTokens;
+
+    public JwtTokenProvider(@Value("${app.jwt.secret}") String jwtSecret,
+                            @Value("${app.jwt.expiration}") long jwtExpirationInMs,
+                            @Value("${app.jwt.refresh-expiration}") long jwtRefreshExpirationInMs,
+                            @Value("${app.jwt.verified-cache.enabled:false}") boolean verifiedCacheEnabled,
+                            @Value("${app.jwt.verified-cache.max-size:10000}") long verifiedCacheMaxSize,
+                            MeterRegistry meterRegistry) {
+        this.jwtExpirationInMs = jwtExpirationInMs;
+        this.jwtRefreshExpirationInMs = jwtRefreshExpirationInMs;
+        this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSecret));
+        this.parser = Jwts.parser().verifyWith(signingKey).build();
+        this.verifiedTokens = verifiedCacheEnabled ? Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new ExpireWithToken<>(JwtClaims::expiresAt))
+                .recordStats()
+                .build() : null;
+
+        if (verifiedTokens != null) {
+            CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "security.jwt.verified");
+        }
+    }
+
+    /**
+     * Verifies the token's signature and expiry once and returns its claims.
+     *
+     * @return empty when the token is malformed, expired, unsigned or signed with another key
+     */
+    public Optional<JwtClaims> parse(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        if (verifiedTokens == null) {
+            return verify(token);
+        }
 
-    @Value("${app.jwt.expiration}")
-    private long jwtExpirationInMs;
+        String key = TokenHashes.sha256(token);
+        JwtClaims cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            // The cache entry outlives expiry by at most the eviction granularity
+            return cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now())
+                    ? Optional.of(cached)
+                    : Optional.empty();
+        }
+        Optional<JwtClaims> verified = verify(token);
+        verified.ifPresent(claims -> verifiedTokens.put(key, claims));
+        return verified;
+    }
 
-    @Value("${app.jwt.refresh-expiration}")
-    private long jwtRefreshExpirationInMs;
+    private Optional<JwtClaims> verify(String token) {
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            return Optional.of(new JwtClaims(
+                    claims.getSubject(),
+                    claims.get("userId", String.class),
+                    claims.get("role", String.class),
+                    claims.getId(),
+                    issuedAt(claims),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null));
+        } catch (MalformedJwtException ex) {
+            log.error("Invalid JWT token");
+        } catch (ExpiredJwtException ex) {
+            log.error("Expired JWT token");
+        } catch (UnsupportedJwtException ex) {
+            log.error("Unsupported JWT token");
+        } catch (IllegalArgumentException ex) {
+            log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("JWT signature verification failed");
+        }
+        return Optional.empty();
+    }
 
-    private SecretKey getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSecret);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static Instant issuedAt(Claims claims) {
+        Long issuedAtMs = claims.get(ISSUED_AT_MS, Long.class);
+        if (issuedAtMs != null) {
+            return Instant.ofEpochMilli(issuedAtMs);
+        }
+        // Tokens issued before iatMs was added
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
     }
 
     public String generateToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtExpirationInMs);
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
         String role = authentication.getAuthorities().stream()
                 .findFirst()
@@ -42,15 +133,18 @@ public class JwtTokenProvider {
                 .subject(userPrincipal.getEmail())
                 .claim("userId", userPrincipal.getId().toString())
                 .claim("role", role)
-                .issuedAt(new Date())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .claim(ISSUED_AT_MS, now.getTime())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String generateRefreshToken(Authentication authentication) {
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
-        Date expiryDate = new Date(System.currentTimeMillis() + jwtRefreshExpirationInMs);
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtRefreshExpirationInMs);
 
         String role = authentication.getAuthorities().stream()
                 .findFirst()
@@ -61,38 +155,28 @@ public class JwtTokenProvider {
                 .subject(userPrincipal.getEmail())
                 .claim("userId", userPrincipal.getId().toString())
                 .claim("role", role)
-                .issuedAt(new Date())
+                .id(UUID.randomUUID().toString())
+                .issuedAt(now)
+                .claim(ISSUED_AT_MS, now.getTime())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public String getUserIdFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.get("userId", String.class);
     }
 
     public String getRoleFromJWT(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.get("role", String.class);
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.getSubject();
     }
@@ -105,17 +189,13 @@ public class JwtTokenProvider {
                 .claim("type", "password-reset")
                 .issuedAt(new Date())
                 .expiration(expiryDate)
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     public boolean validatePasswordResetToken(String token) {
         try {
-            Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
 
             String type = claims.get("type", String.class);
             return "password-reset".equals(type);
@@ -126,31 +206,12 @@ public class JwtTokenProvider {
     }
 
     public String getEmailFromPasswordResetToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        Claims claims = parser.parseSignedClaims(token).getPayload();
 
         return claims.getSubject();
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(authToken);
-            return true;
-        } catch (MalformedJwtException ex) {
-            log.error("Invalid JWT token");
-        } catch (ExpiredJwtException ex) {
-            log.error("Expired JWT token");
-        } catch (UnsupportedJwtException ex) {
-            log.error("Unsupported JWT token");
-        } catch (IllegalArgumentException ex) {
-            log.error("JWT claims string is empty");
-        }
-        return false;
+        return parse(authToken).isPresent();
     }
 }
\ No newline at end of file
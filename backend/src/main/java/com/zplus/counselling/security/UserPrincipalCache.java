@@ -0,0 +1,72 @@
+package com.zplus.counselling.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Short-lived cache of authenticated principals keyed by user id, so
+ * {@link JwtAuthenticationFilter} does not read the users table on every request.
+ *
+ * Entries are bounded by size and a write TTL, and are evicted whenever the user row
+ * is saved (role, profile, password or logout changes). Cached principals never carry
+ * the password hash.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<UUID, UserPrincipal> principals;
+
+    public UserPrincipalCache(MeterRegistry meterRegistry,
+                              @Value("${app.security.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${app.security.principal-cache.ttl:60s}") Duration ttl) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "security.principals");
+    }
+
+    public UserPrincipal get(UUID userId, Function<UUID, UserPrincipal> loader) {
+        return principals.get(userId, id -> withoutCredentials(loader.apply(id)));
+    }
+
+    /**
+     * Evicts now and again once the surrounding transaction commits, so a request racing
+     * the update cannot re-cache the row as it was before the commit.
+     */
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        principals.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        principals.invalidateAll();
+    }
+
+    private static UserPrincipal withoutCredentials(UserPrincipal principal) {
+        return new UserPrincipal(principal.getId(), principal.getEmail(), null,
+                principal.getFullName(), principal.getAuthorities());
+    }
+}
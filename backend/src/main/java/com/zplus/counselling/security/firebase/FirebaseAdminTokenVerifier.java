@@ -0,0 +1,28 @@
+package com.zplus.counselling.security.firebase;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+import com.google.firebase.auth.FirebaseToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+@Component
+@ConditionalOnProperty(name = "firebase.verifier", havingValue = "admin", matchIfMissing = true)
+public class FirebaseAdminTokenVerifier implements FirebaseTokenVerifier {
+
+    @Override
+    public FirebaseIdentity verify(String idToken) {
+        FirebaseToken token;
+        try {
+            token = FirebaseAuth.getInstance().verifyIdToken(idToken);
+        } catch (FirebaseAuthException e) {
+            throw new InvalidFirebaseTokenException("Firebase token verification failed: " + e.getMessage(), e);
+        }
+
+        Object exp = token.getClaims().get("exp");
+        return new FirebaseIdentity(token.getUid(), token.getEmail(), token.getName(), token.getPicture(),
+                token.isEmailVerified(), exp instanceof Number seconds ? Instant.ofEpochSecond(seconds.longValue()) : null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.zplus.counselling.security.firebase;
+
+import java.time.Instant;
+
+/**
+ * The parts of a verified Firebase ID token the API uses.
+ */
+public record FirebaseIdentity(String uid,
+                               String email,
+                               String name,
+                               String picture,
+                               boolean emailVerified,
+                               Instant expiresAt) {
+}
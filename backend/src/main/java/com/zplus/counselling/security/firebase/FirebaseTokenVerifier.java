@@ -0,0 +1,11 @@
+package com.zplus.counselling.security.firebase;
+
+/**
+ * Verifies Firebase ID tokens. {@code firebase.verifier=admin} (the default) uses the
+ * Firebase Admin SDK against Google's published keys; {@code local} verifies offline
+ * against a key set on disk, for load tests that must not depend on Google.
+ */
+public interface FirebaseTokenVerifier {
+
+    FirebaseIdentity verify(String idToken) throws InvalidFirebaseTokenException;
+}
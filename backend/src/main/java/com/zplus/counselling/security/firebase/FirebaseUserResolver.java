@@ -0,0 +1,156 @@
+package com.zplus.counselling.security.firebase;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.security.ExpireWithToken;
+import com.zplus.counselling.security.TokenHashes;
+import com.zplus.counselling.security.UserPrincipal;
+import com.zplus.counselling.security.UserPrincipalCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Turns a Firebase ID token into the application's principal.
+ *
+ * Verified identities are cached by SHA-256 of the token until the token's {@code exp},
+ * and uids map to user ids through a bounded cache. On a uid miss the user is looked up,
+ * linked or created, and its ADMIN role synced; Caffeine runs that mapping once per uid
+ * while concurrent callers wait, so a burst of first requests provisions a single row.
+ * A unique-constraint failure (another node won the race) falls back to re-reading.
+ * Principals themselves come from {@link UserPrincipalCache}, which user saves evict.
+ */
+@Component
+@Slf4j
+public class FirebaseUserResolver {
+
+    private final FirebaseTokenVerifier verifier;
+    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+    private final Cache<String, FirebaseIdentity> verifiedTokens;
+    private final Cache<String, UUID> userIdsByUid;
+
+    @Value("${ADMIN_EMAIL:}")
+    private String adminEmail;
+
+    public FirebaseUserResolver(FirebaseTokenVerifier verifier,
+                                UserRepository userRepository,
+                                UserPrincipalCache principalCache,
+                                MeterRegistry meterRegistry,
+                                @Value("${firebase.token-cache.max-size:10000}") long tokenCacheSize,
+                                @Value("${firebase.user-cache.max-size:10000}") long userCacheSize,
+                                @Value("${firebase.user-cache.ttl:10m}") Duration userCacheTtl) {
+        this.verifier = verifier;
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheSize)
+                .expireAfter(new ExpireWithToken<>(FirebaseIdentity::expiresAt))
+                .recordStats()
+                .build();
+        this.userIdsByUid = Caffeine.newBuilder()
+                .maximumSize(userCacheSize)
+                .expireAfterWrite(userCacheTtl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "security.firebase.tokens");
+        CaffeineCacheMetrics.monitor(meterRegistry, userIdsByUid, "security.firebase.users");
+    }
+
+    public FirebaseIdentity verify(String idToken) {
+        String key = TokenHashes.sha256(idToken);
+        FirebaseIdentity cached = verifiedTokens.getIfPresent(key);
+        if (cached != null && (cached.expiresAt() == null || cached.expiresAt().isAfter(Instant.now()))) {
+            return cached;
+        }
+        FirebaseIdentity identity = verifier.verify(idToken);
+        verifiedTokens.put(key, identity);
+        return identity;
+    }
+
+    public UserPrincipal resolve(FirebaseIdentity identity) {
+        UUID userId = userIdsByUid.get(identity.uid(), uid -> provision(identity));
+        try {
+            return principalCache.get(userId, id -> userRepository.findById(id)
+                    .map(UserPrincipal::create)
+                    .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id)));
+        } catch (UsernameNotFoundException e) {
+            // Row deleted since it was cached; provision again on the next request
+            userIdsByUid.invalidate(identity.uid());
+            throw e;
+        }
+    }
+
+    private UUID provision(FirebaseIdentity identity) {
+        User user;
+        try {
+            user = findOrCreate(identity);
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Concurrent provisioning for Firebase uid {}, re-reading", identity.uid());
+            user = userRepository.findByFirebaseUid(identity.uid())
+                    .orElseThrow(() -> e);
+        }
+
+        if (syncAdminRole(user, identity.email())) {
+            user = userRepository.save(user);
+            principalCache.evict(user.getId());
+        }
+        return user.getId();
+    }
+
+    private User findOrCreate(FirebaseIdentity identity) {
+        return userRepository.findByFirebaseUid(identity.uid())
+                .orElseGet(() -> userRepository.findByEmail(identity.email())
+                        .map(existingUser -> {
+                            // Link existing user to Firebase
+                            existingUser.setFirebaseUid(identity.uid());
+                            existingUser.setProvider("GOOGLE"); // Assuming Google on first link or generic
+                            if (identity.picture() != null) existingUser.setProfilePictureUrl(identity.picture());
+                            return userRepository.save(existingUser);
+                        })
+                        .orElseGet(() -> {
+                            // Create new user
+                            User newUser = new User();
+                            newUser.setFirebaseUid(identity.uid());
+                            newUser.setEmail(identity.email());
+                            newUser.setFullName(identity.name() != null ? identity.name() : "User");
+                            newUser.setProfilePictureUrl(identity.picture());
+                            newUser.setProvider("GOOGLE");
+                            newUser.setIsEmailVerified(identity.emailVerified());
+                            newUser.setCreatedAt(LocalDateTime.now());
+                            newUser.setUpdatedAt(LocalDateTime.now());
+                            return userRepository.save(newUser);
+                        }));
+    }
+
+    /**
+     * Sync ADMIN role strictly based on environment variable.
+     *
+     * @return true when the role changed
+     */
+    private boolean syncAdminRole(User user, String email) {
+        boolean isAdmin = adminEmail != null && !adminEmail.trim().isEmpty() && email != null
+                && email.trim().equalsIgnoreCase(adminEmail.trim());
+        if (isAdmin && !"ADMIN".equals(user.getRole())) {
+            user.setRole("ADMIN");
+            return true;
+        }
+        if (!isAdmin && "ADMIN".equals(user.getRole())) {
+            user.setRole("USER");
+            return true;
+        }
+        return false;
+    }
+}
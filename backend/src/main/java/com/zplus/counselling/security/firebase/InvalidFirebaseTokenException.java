@@ -0,0 +1,11 @@
+package com.zplus.counselling.security.firebase;
+
+/**
+ * The Firebase ID token is malformed, expired, or not signed by a trusted key.
+ */
+public class InvalidFirebaseTokenException extends RuntimeException {
+
+    public InvalidFirebaseTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
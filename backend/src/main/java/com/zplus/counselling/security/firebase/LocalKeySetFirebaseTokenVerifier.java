@@ -0,0 +1,114 @@
+package com.zplus.counselling.security.firebase;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.cert.CertificateFactory;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Verifies Firebase ID tokens offline against {@code firebase.local.key-set}: a JSON object
+ * of key id to PEM, in the same shape as Google's securetoken x509 endpoint (certificates)
+ * or with plain {@code PUBLIC KEY} blocks. Checks the RS256 signature, expiry, and the
+ * issuer and audience for {@code firebase.local.project-id}, as the Admin SDK does.
+ */
+@Component
+@ConditionalOnProperty(name = "firebase.verifier", havingValue = "local")
+@Slf4j
+public class LocalKeySetFirebaseTokenVerifier implements FirebaseTokenVerifier {
+
+    private static final String ISSUER_PREFIX = "https://securetoken.google.com/";
+
+    private final JwtParser parser;
+
+    public LocalKeySetFirebaseTokenVerifier(ResourceLoader resourceLoader,
+                                            ObjectMapper objectMapper,
+                                            @Value("${firebase.local.key-set}") String keySetLocation,
+                                            @Value("${firebase.local.project-id}") String projectId) throws IOException {
+        Map<String, PublicKey> keys = loadKeySet(resourceLoader.getResource(keySetLocation), objectMapper);
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(ProtectedHeader header) {
+                        Key key = header.getKeyId() != null ? keys.get(header.getKeyId()) : null;
+                        if (key == null) {
+                            throw new JwtException("Unknown Firebase key id " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .requireIssuer(ISSUER_PREFIX + projectId)
+                .requireAudience(projectId)
+                .build();
+        log.warn("Verifying Firebase tokens offline against {} ({} keys); not for production", keySetLocation, keys.size());
+    }
+
+    @Override
+    public FirebaseIdentity verify(String idToken) {
+        Claims claims;
+        try {
+            claims = parser.parseSignedClaims(idToken).getPayload();
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidFirebaseTokenException("Firebase token verification failed: " + e.getMessage(), e);
+        }
+
+        return new FirebaseIdentity(
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("name", String.class),
+                claims.get("picture", String.class),
+                Boolean.TRUE.equals(claims.get("email_verified", Boolean.class)),
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+    }
+
+    static Map<String, PublicKey> loadKeySet(Resource resource, ObjectMapper objectMapper) throws IOException {
+        Map<String, String> pems;
+        try (InputStream in = resource.getInputStream()) {
+            pems = objectMapper.readValue(in, new TypeReference<Map<String, String>>() {
+            });
+        }
+
+        Map<String, PublicKey> keys = new HashMap<>();
+        for (Map.Entry<String, String> pem : pems.entrySet()) {
+            try {
+                keys.put(pem.getKey(), toPublicKey(pem.getValue()));
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                throw new IllegalStateException("Invalid Firebase key " + pem.getKey() + " in " + resource, e);
+            }
+        }
+        return keys;
+    }
+
+    private static PublicKey toPublicKey(String pem) throws GeneralSecurityException {
+        if (pem.contains("BEGIN CERTIFICATE")) {
+            return CertificateFactory.getInstance("X.509")
+                    .generateCertificate(new ByteArrayInputStream(pem.getBytes(StandardCharsets.US_ASCII)))
+                    .getPublicKey();
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+        return KeyFactory.getInstance("RSA").generatePublic(new X509EncodedKeySpec(Base64.getDecoder().decode(base64)));
+    }
+}
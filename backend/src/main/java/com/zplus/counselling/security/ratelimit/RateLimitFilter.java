@@ -0,0 +1,72 @@
+package com.zplus.counselling.security.ratelimit;
+
+import com.zplus.counselling.security.JwtAuthenticationFilter;
+import com.zplus.counselling.security.JwtClaims;
+import com.zplus.counselling.security.JwtTokenProvider;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies {@link RateLimiter} ahead of authentication, answering 429 with Retry-After.
+ *
+ * Routes keyed by user verify the bearer token here and hand the claims to
+ * {@link JwtAuthenticationFilter} through a request attribute, so the token is still only
+ * verified once per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String BODY =
+            "{\"status\":429,\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded. Please retry later.\"}";
+
+    private final RateLimiter rateLimiter;
+    private final JwtTokenProvider tokenProvider;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        RateLimiter.Route route = rateLimiter.route(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String key = route.keyType() == RateLimitProperties.KeyType.USER ? userId(request) : null;
+        long waitNanos = rateLimiter.tryAcquire(route, key != null ? key : request.getRemoteAddr());
+        if (waitNanos > 0) {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L));
+            response.setStatus(429);
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            response.setContentType("application/json");
+            response.getWriter().write(BODY);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private String userId(HttpServletRequest request) {
+        String token = JwtAuthenticationFilter.bearerToken(request);
+        if (token == null) {
+            return null;
+        }
+        Optional<JwtClaims> claims = tokenProvider.parse(token);
+        request.setAttribute(JwtAuthenticationFilter.CLAIMS_ATTRIBUTE, claims);
+        return claims.isPresent() ? claims.get().userId() : null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.zplus.counselling.security.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on live buckets per route; past it, new keys share one bucket with the route's limit.
+     */
+    private int maxKeys = 100_000;
+
+    /**
+     * Checked in order; the first match applies and unmatched requests are not limited.
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String name;
+        private String pattern;
+        /**
+         * HTTP method to match, or any method when empty.
+         */
+        private String method;
+        private KeyType key = KeyType.USER;
+        private int limit;
+        private Duration period = Duration.ofMinutes(1);
+        /**
+         * Requests allowed back to back from a full bucket; defaults to {@code limit}.
+         */
+        private Integer burst;
+    }
+
+    public enum KeyType {
+        /**
+         * Client address.
+         */
+        IP,
+        /**
+         * User id from a valid bearer token, falling back to the client address.
+         */
+        USER
+    }
+}
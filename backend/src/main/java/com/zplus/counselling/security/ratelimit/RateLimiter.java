@@ -0,0 +1,143 @@
+package com.zplus.counselling.security.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-route token buckets keyed by user id or client address, as configured under
+ * {@code app.rate-limit.routes}. Buckets live in one {@link ConcurrentHashMap} per route and
+ * are dropped by {@link #sweep()} once they have refilled. The client address is the one
+ * resolved from the trusted proxy's forwarded headers ({@code server.forward-headers-strategy}).
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+@Slf4j
+public class RateLimiter {
+
+    private final List<Route> routes;
+    private final int maxKeys;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.maxKeys = properties.getMaxKeys();
+        this.routes = properties.isEnabled()
+                ? properties.getRoutes().stream().map(route -> new Route(route, meterRegistry)).toList()
+                : List.of();
+        routes.forEach(route -> log.info("Rate limit {}: {} per {} (burst {}) by {}",
+                route.name, route.config.getLimit(), route.config.getPeriod(), route.burst, route.keyType));
+    }
+
+    /**
+     * @return the first configured route matching the request, or null when it is not limited
+     */
+    public Route route(HttpServletRequest request) {
+        for (Route route : routes) {
+            if (route.matcher.matches(request)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return 0 when admitted, otherwise the nanoseconds until the key has capacity again
+     */
+    public long tryAcquire(Route route, String key) {
+        long now = System.nanoTime();
+        TokenBucket bucket = route.buckets.get(key);
+        if (bucket == null) {
+            if (route.buckets.size() >= maxKeys) {
+                // Keys past the bound share one bucket until sweep() frees space: a flood of
+                // distinct keys is throttled as a whole instead of growing the map or getting through
+                route.overflow.increment();
+                bucket = route.overflowBucket;
+            } else {
+                bucket = route.buckets.computeIfAbsent(key, k -> new TokenBucket(route.intervalNanos, route.burst, now));
+            }
+        }
+        long wait = bucket.tryAcquire(now);
+        if (wait > 0) {
+            route.rejected.increment();
+        }
+        return wait;
+    }
+
+    List<Route> routes() {
+        return routes;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            route.buckets.values().removeIf(bucket -> bucket.isIdle(now));
+        }
+    }
+
+    public static final class Route {
+
+        private final RateLimitProperties.Route config;
+        private final String name;
+        private final RateLimitProperties.KeyType keyType;
+        private final RequestMatcher matcher;
+        private final long intervalNanos;
+        private final int burst;
+        final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+        private final TokenBucket overflowBucket;
+        private final Counter rejected;
+        private final Counter overflow;
+
+        private Route(RateLimitProperties.Route config, MeterRegistry meterRegistry) {
+            if (config.getLimit() <= 0) {
+                throw new IllegalArgumentException("app.rate-limit route " + config.getName() + " needs a positive limit");
+            }
+            this.config = config;
+            this.name = config.getName();
+            this.keyType = config.getKey();
+            this.matcher = StringUtils.hasText(config.getMethod())
+                    ? new AntPathRequestMatcher(config.getPattern(), config.getMethod())
+                    : new AntPathRequestMatcher(config.getPattern());
+            Duration period = config.getPeriod();
+            this.intervalNanos = Math.max(1, period.toNanos() / config.getLimit());
+            this.burst = config.getBurst() != null ? config.getBurst() : config.getLimit();
+            this.overflowBucket = new TokenBucket(intervalNanos, burst, System.nanoTime());
+
+            this.rejected = Counter.builder("security.ratelimit.rejected")
+                    .description("Requests refused with 429")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            this.overflow = Counter.builder("security.ratelimit.overflow")
+                    .description("Requests limited by the shared bucket because the route had max-keys buckets")
+                    .tag("route", name)
+                    .register(meterRegistry);
+            Gauge.builder("security.ratelimit.buckets", buckets, Map::size)
+                    .tag("route", name)
+                    .register(meterRegistry);
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public RateLimitProperties.KeyType keyType() {
+            return keyType;
+        }
+
+        Duration period() {
+            return config.getPeriod();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.zplus.counselling.security.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Approximate cross-node limits: every {@code interval-ms} each node adds what it admitted
+ * per key to a shared Redis counter and charges its local bucket with whatever the other
+ * nodes admitted since the last exchange. Limits can overshoot by roughly one interval of
+ * traffic per node, and a bucket new on a node is not charged for admissions made before its
+ * first exchange; Redis is never touched on the request path.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "app.rate-limit.redis-sync", name = "enabled", havingValue = "true")
+@Slf4j
+public class RedisRateLimitSync {
+
+    private final StringRedisTemplate redis;
+    private final RateLimiter rateLimiter;
+    private final String keyPrefix;
+
+    public RedisRateLimitSync(StringRedisTemplate redis, RateLimiter rateLimiter,
+                              @Value("${app.rate-limit.redis-sync.key-prefix:ratelimit}") String keyPrefix) {
+        this.redis = redis;
+        this.rateLimiter = rateLimiter;
+        this.keyPrefix = keyPrefix;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.redis-sync.interval-ms:1000}")
+    public void sync() {
+        for (RateLimiter.Route route : rateLimiter.routes()) {
+            try {
+                sync(route);
+            } catch (RuntimeException ex) {
+                log.warn("Rate limit sync for route {} failed; limits stay node-local until it recovers", route.name(), ex);
+            }
+        }
+    }
+
+    private void sync(RateLimiter.Route route) {
+        List<TokenBucket> buckets = new ArrayList<>();
+        List<byte[]> keys = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        for (Map.Entry<String, TokenBucket> entry : route.buckets.entrySet()) {
+            long delta = entry.getValue().drainUnsynced();
+            if (delta > 0) {
+                buckets.add(entry.getValue());
+                keys.add((keyPrefix + ":" + route.name() + ":" + entry.getKey()).getBytes(StandardCharsets.UTF_8));
+                deltas.add(delta);
+            }
+        }
+        if (buckets.isEmpty()) {
+            return;
+        }
+
+        // Counters live two periods: long enough to be shared, short enough to reset after a quiet spell
+        long ttlSeconds = Math.max(1, route.period().multipliedBy(2).toSeconds());
+        List<Object> results = redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                incrementWithTtl(connection, keys.get(i), deltas.get(i), ttlSeconds);
+            }
+            return null;
+        });
+
+        long now = System.nanoTime();
+        for (int i = 0; i < buckets.size(); i++) {
+            TokenBucket bucket = buckets.get(i);
+            long total = (Long) results.get(i * 2);
+            // A bucket's first exchange only takes the baseline: one swept while idle and recreated
+            // would otherwise be charged the whole shared count, its own earlier admissions included
+            long others = bucket.syncedTotal == TokenBucket.NOT_SYNCED ? 0 : total - bucket.syncedTotal - deltas.get(i);
+            // A counter that expired and restarted reads lower than last time; just re-baseline
+            bucket.consume(Math.max(0, others), now);
+            bucket.syncedTotal = total;
+        }
+    }
+
+    private static void incrementWithTtl(RedisConnection connection, byte[] key, long delta, long ttlSeconds) {
+        connection.stringCommands().incrBy(key, delta);
+        connection.keyCommands().expire(key, ttlSeconds);
+    }
+}
@@ -0,0 +1,67 @@
+package com.zplus.counselling.security.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival
+ * time", advanced by one emission interval per admitted request with a single CAS. A bucket
+ * that has refilled completely is indistinguishable from a new one, so idle buckets can be
+ * dropped at any time. Nothing on the acquire path allocates.
+ */
+final class TokenBucket {
+
+    static final long NOT_SYNCED = -1;
+
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    // Admissions not yet pushed to Redis by RedisRateLimitSync
+    private final AtomicLong unsynced = new AtomicLong();
+    // Last cluster-wide count seen for this key; only touched by the sync thread
+    long syncedTotal = NOT_SYNCED;
+
+    TokenBucket(long intervalNanos, int burst, long nowNanos) {
+        this.intervalNanos = intervalNanos;
+        this.toleranceNanos = intervalNanos * (Math.max(1, burst) - 1);
+        this.theoreticalArrival = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when the request is admitted, otherwise the nanoseconds until it would be
+     */
+    long tryAcquire(long nowNanos) {
+        while (true) {
+            long arrival = theoreticalArrival.get();
+            long start = Math.max(arrival, nowNanos);
+            long wait = start - nowNanos - toleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, start + intervalNanos)) {
+                unsynced.incrementAndGet();
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Charges requests admitted by other nodes, never pushing the bucket further than one
+     * full burst into the future.
+     */
+    void consume(long permits, long nowNanos) {
+        if (permits <= 0) {
+            return;
+        }
+        long ceiling = nowNanos + toleranceNanos + intervalNanos;
+        theoreticalArrival.accumulateAndGet(nowNanos, (arrival, now) ->
+                Math.min(ceiling, Math.max(arrival, now) + permits * intervalNanos));
+    }
+
+    long drainUnsynced() {
+        return unsynced.getAndSet(0);
+    }
+
+    boolean isIdle(long nowNanos) {
+        return theoreticalArrival.get() <= nowNanos && unsynced.get() == 0;
+    }
+}
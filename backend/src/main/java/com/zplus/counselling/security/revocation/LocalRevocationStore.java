@@ -0,0 +1,59 @@
+package com.zplus.counselling.security.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process {@link RevocationStore} for tests and single-node runs. Revocations do not
+ * survive a restart.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.security.revocation", name = "store", havingValue = "local")
+public class LocalRevocationStore implements RevocationStore {
+
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+    private final Map<UUID, Instant> users = new ConcurrentHashMap<>();
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public boolean revokeToken(String tokenId, Instant expiresAt) {
+        if (tokens.putIfAbsent(tokenId, expiresAt) != null) {
+            return false;
+        }
+        listeners.forEach(listener -> listener.onTokenRevoked(tokenId));
+        return true;
+    }
+
+    @Override
+    public void revokeUserBefore(UUID userId, Instant before) {
+        users.merge(userId, before, (current, next) -> next.isAfter(current) ? next : current);
+        listeners.forEach(listener -> listener.onUserRevoked(userId, before));
+    }
+
+    @Override
+    public boolean isTokenRevoked(String tokenId) {
+        Instant expiresAt = tokens.get(tokenId);
+        return expiresAt != null && expiresAt.isAfter(Instant.now());
+    }
+
+    @Override
+    public void load(Listener listener, Instant userCutoff) {
+        Instant now = Instant.now();
+        tokens.values().removeIf(expiresAt -> !expiresAt.isAfter(now));
+        users.values().removeIf(before -> before.isBefore(userCutoff));
+        tokens.keySet().forEach(listener::onTokenRevoked);
+        users.forEach(listener::onUserRevoked);
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listeners.add(listener);
+    }
+}
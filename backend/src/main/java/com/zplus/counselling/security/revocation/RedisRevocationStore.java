@@ -0,0 +1,123 @@
+package com.zplus.counselling.security.revocation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Redis-backed {@link RevocationStore}.
+ *
+ * Revoked token ids live in one sorted set scored by the token's expiry, so expired entries
+ * are trimmed with a range delete rather than a keyspace scan. Per-user cut-offs live in one
+ * hash (user id → epoch millis). Every revocation is also published on a channel that each
+ * node's {@link TokenRevocationService} subscribes to.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "app.security.revocation", name = "store", havingValue = "redis", matchIfMissing = true)
+@Slf4j
+public class RedisRevocationStore implements RevocationStore, DisposableBean {
+
+    private static final String TOKEN_MESSAGE = "token:";
+    private static final String USER_MESSAGE = "user:";
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final String tokensKey;
+    private final String usersKey;
+    private final String channel;
+
+    public RedisRevocationStore(StringRedisTemplate redis,
+                                RedisConnectionFactory connectionFactory,
+                                @Value("${app.security.revocation.key-prefix:auth:revoked}") String keyPrefix,
+                                @Value("${app.security.revocation.channel:auth:revocations}") String channel) {
+        this.redis = redis;
+        this.tokensKey = keyPrefix + ":tokens";
+        this.usersKey = keyPrefix + ":users";
+        this.channel = channel;
+        this.listenerContainer = new RedisMessageListenerContainer();
+        this.listenerContainer.setConnectionFactory(connectionFactory);
+        this.listenerContainer.afterPropertiesSet();
+    }
+
+    @Override
+    public boolean revokeToken(String tokenId, Instant expiresAt) {
+        Boolean added = redis.opsForZSet().addIfAbsent(tokensKey, tokenId, expiresAt.toEpochMilli());
+        if (!Boolean.TRUE.equals(added)) {
+            return false;
+        }
+        redis.convertAndSend(channel, TOKEN_MESSAGE + tokenId);
+        return true;
+    }
+
+    @Override
+    public void revokeUserBefore(UUID userId, Instant before) {
+        // Cut-offs only move forward, so a plain overwrite is enough
+        redis.opsForHash().put(usersKey, userId.toString(), String.valueOf(before.toEpochMilli()));
+        redis.convertAndSend(channel, USER_MESSAGE + userId + ":" + before.toEpochMilli());
+    }
+
+    @Override
+    public boolean isTokenRevoked(String tokenId) {
+        Double expiresAt = redis.opsForZSet().score(tokensKey, tokenId);
+        return expiresAt != null && expiresAt > System.currentTimeMillis();
+    }
+
+    @Override
+    public void load(Listener listener, Instant userCutoff) {
+        long now = System.currentTimeMillis();
+        redis.opsForZSet().removeRangeByScore(tokensKey, Double.NEGATIVE_INFINITY, now);
+        Set<ZSetOperations.TypedTuple<String>> tokens =
+                redis.opsForZSet().rangeByScoreWithScores(tokensKey, now, Double.POSITIVE_INFINITY);
+        if (tokens != null) {
+            tokens.forEach(token -> listener.onTokenRevoked(token.getValue()));
+        }
+
+        Map<Object, Object> users = redis.opsForHash().entries(usersKey);
+        users.forEach((userId, millis) -> {
+            Instant before = Instant.ofEpochMilli(Long.parseLong((String) millis));
+            if (before.isBefore(userCutoff)) {
+                redis.opsForHash().delete(usersKey, userId);
+            } else {
+                listener.onUserRevoked(UUID.fromString((String) userId), before);
+            }
+        });
+    }
+
+    @Override
+    public void subscribe(Listener listener) {
+        listenerContainer.addMessageListener((message, pattern) -> {
+            String body = new String(message.getBody(), StandardCharsets.UTF_8);
+            try {
+                if (body.startsWith(TOKEN_MESSAGE)) {
+                    listener.onTokenRevoked(body.substring(TOKEN_MESSAGE.length()));
+                } else if (body.startsWith(USER_MESSAGE)) {
+                    String[] parts = body.substring(USER_MESSAGE.length()).split(":");
+                    listener.onUserRevoked(UUID.fromString(parts[0]), Instant.ofEpochMilli(Long.parseLong(parts[1])));
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Ignoring malformed revocation message: {}", body);
+            }
+        }, new ChannelTopic(channel));
+        listenerContainer.start();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        listenerContainer.destroy();
+    }
+}
@@ -0,0 +1,47 @@
+package com.zplus.counselling.security.revocation;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Shared record of revoked tokens that every node mirrors in memory through
+ * {@link TokenRevocationService}. {@code app.security.revocation.store} selects Redis
+ * ({@link RedisRevocationStore}) or a single-node in-process store ({@link LocalRevocationStore}).
+ */
+public interface RevocationStore {
+
+    /**
+     * Records a revoked token id until its expiry and notifies every node.
+     *
+     * @return false when the token id was already revoked
+     */
+    boolean revokeToken(String tokenId, Instant expiresAt);
+
+    /**
+     * Revokes every token of the user issued at or before {@code before} and notifies every node.
+     */
+    void revokeUserBefore(UUID userId, Instant before);
+
+    /**
+     * Authoritative check, only consulted when the local Bloom filter reports a possible hit.
+     */
+    boolean isTokenRevoked(String tokenId);
+
+    /**
+     * Replays every live revocation into the listener, dropping per-user entries older than
+     * {@code userCutoff} (no token issued before then is still valid).
+     */
+    void load(Listener listener, Instant userCutoff);
+
+    /**
+     * Delivers revocations made on any node as they happen.
+     */
+    void subscribe(Listener listener);
+
+    interface Listener {
+
+        void onTokenRevoked(String tokenId);
+
+        void onUserRevoked(UUID userId, Instant before);
+    }
+}
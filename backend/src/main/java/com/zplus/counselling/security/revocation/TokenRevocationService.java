@@ -0,0 +1,189 @@
+package com.zplus.counselling.security.revocation;
+
+import com.zplus.counselling.security.JwtClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides whether a verified token has been revoked without a remote call on the common path.
+ *
+ * Two kinds of revocation are kept:
+ * <ul>
+ *   <li>per token id ({@code jti}), used for refresh-token rotation, mirrored into a Bloom
+ *       filter; only a filter hit goes to the {@link RevocationStore} to rule out a false positive;</li>
+ *   <li>per user "revoked before" cut-offs, used for logout and password changes, held exactly
+ *       in memory since a user has at most one.</li>
+ * </ul>
+ * Each node applies revocations from other nodes as they are published and rebuilds its
+ * filter from the store every {@code rebuild-interval-ms}, which also drops expired ids and
+ * repairs anything missed while disconnected.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService implements RevocationStore.Listener {
+
+    private final RevocationStore store;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+    private final Duration maxTokenLifetime;
+
+    private final Map<UUID, Instant> revokedBefore = new ConcurrentHashMap<>();
+    private volatile BloomFilter revokedTokens;
+    // Receives live revocations while rebuild() is filling its replacement
+    private volatile BloomFilter rebuilding;
+
+    private final Counter userRevoked;
+    private final Counter tokenRevoked;
+    private final Counter falsePositives;
+
+    public TokenRevocationService(RevocationStore store,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.security.revocation.expected-tokens:1000000}") long expectedTokens,
+                                  @Value("${app.security.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${app.jwt.refresh-expiration}") long maxTokenLifetimeMs) {
+        this.store = store;
+        this.expectedTokens = expectedTokens;
+        this.falsePositiveRate = falsePositiveRate;
+        this.maxTokenLifetime = Duration.ofMillis(maxTokenLifetimeMs);
+        this.revokedTokens = new BloomFilter(expectedTokens, falsePositiveRate);
+
+        this.userRevoked = checks(meterRegistry, "user-revoked");
+        this.tokenRevoked = checks(meterRegistry, "token-revoked");
+        this.falsePositives = checks(meterRegistry, "false-positive");
+        Gauge.builder("security.revocation.tokens", this, service -> service.revokedTokens.insertions())
+                .description("Revoked token ids in this node's Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder("security.revocation.users", revokedBefore, Map::size)
+                .register(meterRegistry);
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("security.revocation.checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        // Subscribe before loading so nothing revoked in between is missed
+        store.subscribe(this);
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Could not load token revocations; retrying on the next rebuild", ex);
+        }
+    }
+
+    public boolean isRevoked(JwtClaims claims) {
+        if (claims.userId() != null) {
+            Instant before = revokedBefore.get(UUID.fromString(claims.userId()));
+            // A token issued in the cut-off's millisecond is revoked too; tokens without iatMs
+            // only carry whole seconds, so those issued in the cut-off's second are
+            if (before != null && (claims.issuedAt() == null || !claims.issuedAt().isAfter(before))) {
+                userRevoked.increment();
+                return true;
+            }
+        }
+
+        String tokenId = claims.tokenId();
+        if (tokenId == null || !revokedTokens.mightContain(tokenId)) {
+            return false;
+        }
+        try {
+            if (store.isTokenRevoked(tokenId)) {
+                tokenRevoked.increment();
+                return true;
+            }
+            falsePositives.increment();
+            return false;
+        } catch (RuntimeException ex) {
+            // Fail closed: a filter hit is almost always a real revocation
+            log.warn("Could not confirm revocation of token {}; rejecting it", tokenId, ex);
+            return true;
+        }
+    }
+
+    /**
+     * Revokes a single token until it expires.
+     *
+     * @return false when the token was already revoked, e.g. a refresh token being replayed
+     */
+    public boolean revoke(JwtClaims claims) {
+        if (claims.tokenId() == null || claims.expiresAt() == null || !claims.expiresAt().isAfter(Instant.now())) {
+            return true;
+        }
+        boolean revoked = store.revokeToken(claims.tokenId(), claims.expiresAt());
+        if (revoked) {
+            onTokenRevoked(claims.tokenId());
+        }
+        return revoked;
+    }
+
+    /**
+     * Revokes every token issued to the user up to now.
+     */
+    public void revokeAll(UUID userId) {
+        // Same precision as the tokens' issue time, so a login right after is not caught by it
+        Instant now = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        store.revokeUserBefore(userId, now);
+        onUserRevoked(userId, now);
+    }
+
+    @Override
+    public void onTokenRevoked(String tokenId) {
+        // Read the replacement first: rebuild() swaps it in before clearing it, so the id always lands in the live filter
+        BloomFilter next = rebuilding;
+        if (next != null) {
+            next.put(tokenId);
+        }
+        revokedTokens.put(tokenId);
+    }
+
+    @Override
+    public void onUserRevoked(UUID userId, Instant before) {
+        revokedBefore.merge(userId, before, (current, next) -> next.isAfter(current) ? next : current);
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.revocation.rebuild-interval-ms:600000}",
+            initialDelayString = "${app.security.revocation.rebuild-interval-ms:600000}")
+    public synchronized void rebuild() {
+        BloomFilter next = new BloomFilter(expectedTokens, falsePositiveRate);
+        Instant userCutoff = Instant.now().minus(maxTokenLifetime);
+        rebuilding = next;
+        try {
+            store.load(new RevocationStore.Listener() {
+                @Override
+                public void onTokenRevoked(String tokenId) {
+                    next.put(tokenId);
+                }
+
+                @Override
+                public void onUserRevoked(UUID userId, Instant before) {
+                    TokenRevocationService.this.onUserRevoked(userId, before);
+                }
+            }, userCutoff);
+            revokedTokens = next;
+        } finally {
+            rebuilding = null;
+        }
+        revokedBefore.values().removeIf(before -> before.isBefore(userCutoff));
+
+        if (next.insertions() > expectedTokens) {
+            log.warn("{} revoked token ids exceed app.security.revocation.expected-tokens={}; false positives will rise",
+                    next.insertions(), expectedTokens);
+        }
+    }
+}
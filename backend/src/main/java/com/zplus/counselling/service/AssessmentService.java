@@ -1,6 +1,7 @@
 package com.zplus.counselling.service;
 
 import com.zplus.counselling.dto.*;
+import com.zplus.counselling.dto.common.CursorPageResponse;
 import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
 import com.zplus.counselling.entity.postgres.AssessmentSession;
 import com.zplus.counselling.entity.postgres.TestResult;
@@ -9,16 +10,35 @@ import com.zplus.counselling.entity.postgres.UserAnswer;
 import com.zplus.counselling.exception.ResourceNotFoundException;
 import com.zplus.counselling.exception.BadRequestException;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
 import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
 import com.zplus.counselling.repository.postgres.TestResultRepository;
 import com.zplus.counselling.repository.postgres.UserAnswerRepository;
 import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.service.assessment.AssessmentCatalog;
+import com.zplus.counselling.service.assessment.AssessmentResultCache;
+import com.zplus.counselling.service.assessment.AssessmentTemplateCache;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import com.zplus.counselling.service.assessment.UserAttemptsCache;
+import com.zplus.counselling.service.assessment.buffer.AnswerWriteBehindBuffer;
+import com.zplus.counselling.service.assessment.completion.AssessmentCompletedEvent;
+import com.zplus.counselling.service.assessment.completion.FinalizedResult;
+import com.zplus.counselling.service.assessment.scoring.ScoreVector;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -38,6 +58,26 @@ public class AssessmentService {
     private final AssessmentTemplateRepository templateRepository;
     private final UserRepository userRepository;
     private final TestResultRepository testResultRepository;
+    private final AssessmentTemplateCache templateCache;
+    private final AssessmentCatalog assessmentCatalog;
+    private final UserAttemptsCache userAttemptsCache;
+    private final AssessmentResultCache resultCache;
+    private final ScoringService scoringService;
+    private final Optional<AnswerWriteBehindBuffer> answerBuffer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.assessment.max-answers-per-batch:100}")
+    private int maxAnswersPerBatch = 100;
+
+    // Caps the upcoming-question window, whether requested by the client or set on the template
+    @Value("${app.assessment.max-lookahead:10}")
+    private int maxLookahead = 10;
+
+    @Value("${app.assessment.max-history-page-size:100}")
+    private int maxHistoryPageSize = 100;
+
+    @Value("${app.assessment.async-completion.enabled:false}")
+    private boolean asyncCompletion;
 
     /**
      * Get assessment template by test type
@@ -57,42 +97,27 @@ public class AssessmentService {
     public List<AvailableAssessmentDto> getAvailableAssessments(UUID userId) {
         log.info("Getting available assessments for user: {}", userId);
 
-        List<AssessmentTemplate> templates = templateRepository.findAll()
-                .stream()
-                .filter(template -> template.getIsActive() != null && template.getIsActive())
-                .collect(Collectors.toList());
-
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-
-        // PERF FIX: Fetch all COMPLETED sessions for the user in ONE query, then build a Set for O(1) lookup.
-        List<AssessmentSession> completedSessions = sessionRepository
-                .findByUserAndStatus(user, AssessmentSession.SessionStatus.COMPLETED);
-        Set<String> completedTemplateIds = completedSessions.stream()
-                .map(AssessmentSession::getTemplateId)
-                .collect(Collectors.toSet());
-
-        // Also fetch all sessions once for lastAttempt date lookup
-        List<AssessmentSession> allUserSessions = sessionRepository.findByUserOrderByStartedAtDesc(user);
-        Map<String, LocalDateTime> lastAttemptByTemplate = new HashMap<>();
-        for (AssessmentSession session : allUserSessions) {
-            lastAttemptByTemplate.putIfAbsent(session.getTemplateId(), session.getStartedAt());
-        }
+        List<AssessmentTemplateSummary> templates = assessmentCatalog.activeTemplates();
+        // One grouped row per started template, cached until the user starts or completes a session
+        Map<String, UserAttemptsCache.Attempts> attempts = userAttemptsCache.forUser(userId);
 
         return templates.stream()
-                .map(template -> AvailableAssessmentDto.builder()
-                        .id(template.getId())
-                        .testType(template.getTestType())
-                        .title(template.getTitle())
-                        .description(template.getDescription())
-                        .category(template.getCategory())
-                        .estimatedTimeMinutes(template.getEstimatedTimeMinutes())
-                        .totalQuestions(template.getTotalQuestions())
-                        .isCompleted(completedTemplateIds.contains(template.getId()))
-                        .lastAttemptDate(lastAttemptByTemplate.get(template.getId()))
-                        .price(0.0)
-                        .difficulty("BEGINNER")
-                        .build())
+                .map(template -> {
+                    UserAttemptsCache.Attempts attempt = attempts.get(template.id());
+                    return AvailableAssessmentDto.builder()
+                            .id(template.id())
+                            .testType(template.testType())
+                            .title(template.title())
+                            .description(template.description())
+                            .category(template.category())
+                            .estimatedTimeMinutes(template.estimatedTimeMinutes())
+                            .totalQuestions(template.totalQuestions())
+                            .isCompleted(attempt != null && attempt.completed())
+                            .lastAttemptDate(attempt != null ? attempt.lastStartedAt() : null)
+                            .price(0.0)
+                            .difficulty("BEGINNER")
+                            .build();
+                })
                 .collect(Collectors.toList());
     }
 
@@ -102,17 +127,23 @@ public class AssessmentService {
     @Transactional(readOnly = true)
     public List<AvailableAssessmentDto> getPublicAssessments() {
         log.info("Getting public assessment list");
-        
-        return templateRepository.findAll().stream()
-                .filter(template -> template.getIsActive() != null && template.getIsActive())
+
+        return toPublicAssessments(assessmentCatalog.activeTemplates());
+    }
+
+    /**
+     * Maps catalogue summaries to public listing cards.
+     */
+    public static List<AvailableAssessmentDto> toPublicAssessments(List<AssessmentTemplateSummary> templates) {
+        return templates.stream()
                 .map(template -> AvailableAssessmentDto.builder()
-                        .id(template.getId())
-                        .testType(template.getTestType())
-                        .title(template.getTitle())
-                        .description(template.getDescription())
-                        .category(template.getCategory())
-                        .estimatedTimeMinutes(template.getEstimatedTimeMinutes())
-                        .totalQuestions(template.getTotalQuestions())
+                        .id(template.id())
+                        .testType(template.testType())
+                        .title(template.title())
+                        .description(template.description())
+                        .category(template.category())
+                        .estimatedTimeMinutes(template.estimatedTimeMinutes())
+                        .totalQuestions(template.totalQuestions())
                         .isCompleted(false)
                         .lastAttemptDate(null)
                         .price(0.0)
@@ -130,7 +161,7 @@ public class AssessmentService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-        AssessmentTemplate template = templateRepository.findByTestTypeAndIsActiveTrue(testType)
+        CompiledTemplate template = templateCache.findActiveByTestType(testType)
                 .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found for type: " + testType));
 
         boolean hasActiveSession = sessionRepository.existsByUserAndTemplateIdAndStatus(
@@ -143,28 +174,13 @@ public class AssessmentService {
         AssessmentSession session = new AssessmentSession();
         session.setUser(user);
         session.setTemplateId(template.getId());
+        session.setTemplateVersion(template.getContentHash());
         session.setStatus(AssessmentSession.SessionStatus.IN_PROGRESS);
         session.setStartedAt(LocalDateTime.now());
         session.setCurrentQuestionIndex(0);
 
         session = sessionRepository.save(session);
-
-        QuestionDto firstQuestion = null;
-        if (template.getQuestions() != null && !template.getQuestions().isEmpty()) {
-            var question = template.getQuestions().get(0);
-            firstQuestion = QuestionDto.builder()
-                    .id(question.getId())
-                    .text(question.getText())
-                    .type(question.getType())
-                    .options(question.getOptions() != null ? question.getOptions().stream()
-                            .map(opt -> OptionDto.builder()
-                                    .id(opt.getId())
-                                    .text(opt.getText())
-                                    .build())
-                            .collect(Collectors.toList()) : List.of())
-                    .required(true)
-                    .build();
-        }
+        userAttemptsCache.evict(userId);
 
         return StartAssessmentResponse.builder()
                 .sessionId(session.getId().toString())
@@ -173,57 +189,170 @@ public class AssessmentService {
                 .currentQuestion(1)
                 .timeLimit(null)
                 .instructions(template.getInstructions())
-                .firstQuestion(firstQuestion)
+                .firstQuestion(template.getRenderedQuestion(0))
+                .upcomingQuestions(upcomingQuestions(template, 0, request != null ? request.getLookahead() : null))
                 .build();
     }
 
     /**
-     * Submit an answer for a question in an assessment session
+     * Submit an answer for a question in an assessment session.
+     *
+     * The session is advanced by one conditional UPDATE ... RETURNING rather than read, bumped
+     * and saved, so concurrent submissions each get their own question number and neither
+     * overwrites the other's index. The session row is never loaded. The row lock that UPDATE
+     * takes is held until commit, so the duplicate check after it also sees an answer a concurrent
+     * submission just stored; a repeated answer (a double tap, a retry) keeps the first one and
+     * gives the number back.
      */
     public SubmitAnswerResponse submitAnswer(SubmitAnswerRequest request) {
         log.info("Submitting answer for session {} question {}", request.getSessionId(), request.getQuestionId());
 
         UUID sessionId = parseSessionId(request.getSessionId());
-        AssessmentSession session = sessionRepository.findById(sessionId)
-                .orElseThrow(() -> new ResourceNotFoundException("Assessment session not found with id: " + sessionId));
-
-        if (session.getStatus() != AssessmentSession.SessionStatus.IN_PROGRESS) {
-            throw new BadRequestException("Cannot submit answer to a session that is not in progress");
+        long timeSpentSeconds = request.getResponseTime() != null ? request.getResponseTime().longValue() : 0L;
+        if (answerBuffer.isPresent()) {
+            AssessmentSession session = findInProgressSession(sessionId);
+            CompiledTemplate template = findTemplate(session);
+            requireQuestion(template, request.getQuestionId());
+            AnswerWriteBehindBuffer.Appended appended = answerBuffer.get()
+                    .append(session, request.getQuestionId(), request.getAnswer(), timeSpentSeconds);
+            return buildSubmitAnswerResponse(template, appended.currentQuestionIndex(), request.getLookahead()).build();
         }
 
-        AssessmentTemplate template = templateRepository.findById(session.getTemplateId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found"));
+        AssessmentSessionRepository.SessionProgress progress = advanceSession(sessionId, 1);
+        CompiledTemplate template = findTemplate(progress.getTemplateId(), progress.getTemplateVersion());
+        // A failure here rolls the advance back
+        requireQuestion(template, request.getQuestionId());
+        if (answerRepository.existsBySessionIdAndQuestionId(sessionId, request.getQuestionId())) {
+            progress = advanceSession(sessionId, -1);
+            return buildSubmitAnswerResponse(template, progress.getCurrentQuestionIndex(), request.getLookahead()).build();
+        }
 
         UserAnswer answer = new UserAnswer();
-        answer.setSession(session);
+        answer.setSession(sessionRepository.getReferenceById(sessionId));
         answer.setQuestionId(request.getQuestionId());
         answer.setSelectedOptionId(request.getAnswer());
-        answer.setQuestionNumber(session.getCurrentQuestionIndex() + 1);
-        answer.setTimeSpentSeconds(request.getResponseTime() != null ? request.getResponseTime().longValue() : 0L);
+        answer.setQuestionNumber(progress.getCurrentQuestionIndex());
+        answer.setTimeSpentSeconds(timeSpentSeconds);
 
         answerRepository.save(answer);
 
-        int currentQuestionIndex = session.getCurrentQuestionIndex() + 1;
-        session.setCurrentQuestionIndex(currentQuestionIndex);
-        sessionRepository.save(session);
+        return buildSubmitAnswerResponse(template, progress.getCurrentQuestionIndex(), request.getLookahead()).build();
+    }
 
-        QuestionDto nextQuestion = null;
-        if (template.getQuestions() != null && currentQuestionIndex < template.getQuestions().size()) {
-            var question = template.getQuestions().get(currentQuestionIndex);
-            nextQuestion = QuestionDto.builder()
-                    .id(question.getId())
-                    .text(question.getText())
-                    .type(question.getType())
-                    .options(question.getOptions() != null ? question.getOptions().stream()
-                            .map(opt -> OptionDto.builder()
-                                    .id(opt.getId())
-                                    .text(opt.getText())
-                                    .build())
-                            .collect(Collectors.toList()) : List.of())
-                    .required(true)
-                    .build();
+    /**
+     * Submit several answers for a session in one call.
+     *
+     * Answers are stored with one saveAll (UUID ids are generated in the application, not by
+     * the database, so Hibernate can group the inserts into JDBC batches) and the session
+     * index is advanced once, atomically, by the number of new answers. Questions that already
+     * have an answer, or repeat within the batch, are skipped so a client can safely resend a
+     * batch after a timeout.
+     */
+    public SubmitAnswerResponse submitAnswers(SubmitAnswersRequest request) {
+        log.info("Submitting {} answers for session {}", request.getAnswers().size(), request.getSessionId());
+
+        if (request.getAnswers().size() > maxAnswersPerBatch) {
+            throw new BadRequestException("At most " + maxAnswersPerBatch + " answers can be submitted at once");
         }
 
+        UUID sessionId = parseSessionId(request.getSessionId());
+        if (answerBuffer.isPresent()) {
+            AssessmentSession session = findInProgressSession(sessionId);
+            CompiledTemplate template = findTemplate(session);
+            return appendToBuffer(answerBuffer.get(), session, template, request.getAnswers(), request.getLookahead());
+        }
+
+        Set<String> answeredQuestionIds = new HashSet<>(answerRepository.findQuestionIdsBySessionId(sessionId));
+        List<SubmitAnswersRequest.Answer> accepted = new ArrayList<>(request.getAnswers().size());
+        for (SubmitAnswersRequest.Answer submitted : request.getAnswers()) {
+            if (answeredQuestionIds.add(submitted.getQuestionId())) {
+                accepted.add(submitted);
+            }
+        }
+
+        // Reserves question numbers for the new answers; a failure below rolls the advance back
+        AssessmentSessionRepository.SessionProgress progress = advanceSession(sessionId, accepted.size());
+        CompiledTemplate template = findTemplate(progress.getTemplateId(), progress.getTemplateVersion());
+        for (SubmitAnswersRequest.Answer submitted : request.getAnswers()) {
+            requireQuestion(template, submitted.getQuestionId());
+        }
+
+        int questionNumber = progress.getCurrentQuestionIndex() - accepted.size();
+        AssessmentSession session = sessionRepository.getReferenceById(sessionId);
+        List<UserAnswer> answers = new ArrayList<>(accepted.size());
+        for (SubmitAnswersRequest.Answer submitted : accepted) {
+            UserAnswer answer = new UserAnswer();
+            answer.setSession(session);
+            answer.setQuestionId(submitted.getQuestionId());
+            answer.setSelectedOptionId(submitted.getAnswer());
+            answer.setQuestionNumber(++questionNumber);
+            answer.setTimeSpentSeconds(submitted.getResponseTime() != null ? submitted.getResponseTime().longValue() : 0L);
+            answers.add(answer);
+        }
+
+        if (!answers.isEmpty()) {
+            answerRepository.saveAll(answers);
+        }
+
+        return buildSubmitAnswerResponse(template, progress.getCurrentQuestionIndex(), request.getLookahead())
+                .acceptedAnswers(answers.size())
+                .build();
+    }
+
+    private AssessmentSessionRepository.SessionProgress advanceSession(UUID sessionId, int answers) {
+        return sessionRepository.advance(sessionId, answers).orElseThrow(() -> sessionRepository.existsById(sessionId)
+                ? new BadRequestException("Cannot submit answer to a session that is not in progress")
+                : new ResourceNotFoundException("Assessment session not found with id: " + sessionId));
+    }
+
+    private static void requireQuestion(CompiledTemplate template, String questionId) {
+        if (template.indexOf(questionId) < 0) {
+            throw new BadRequestException("Question " + questionId + " is not part of this assessment");
+        }
+    }
+
+    private AssessmentSession findInProgressSession(UUID sessionId) {
+        AssessmentSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment session not found with id: " + sessionId));
+
+        if (session.getStatus() != AssessmentSession.SessionStatus.IN_PROGRESS) {
+            throw new BadRequestException("Cannot submit answer to a session that is not in progress");
+        }
+        return session;
+    }
+
+    private CompiledTemplate findTemplate(AssessmentSession session) {
+        return findTemplate(session.getTemplateId(), session.getTemplateVersion());
+    }
+
+    // The version the session started on, not whatever the template holds now
+    private CompiledTemplate findTemplate(String templateId, String templateVersion) {
+        return templateCache.findForSession(templateId, templateVersion)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found"));
+    }
+
+    private SubmitAnswerResponse appendToBuffer(AnswerWriteBehindBuffer buffer, AssessmentSession session,
+                                                CompiledTemplate template, List<SubmitAnswersRequest.Answer> submitted,
+                                                Integer lookahead) {
+        int accepted = 0;
+        int currentQuestionIndex = session.getCurrentQuestionIndex();
+        for (SubmitAnswersRequest.Answer answer : submitted) {
+            requireQuestion(template, answer.getQuestionId());
+        }
+        for (SubmitAnswersRequest.Answer answer : submitted) {
+            AnswerWriteBehindBuffer.Appended appended = buffer.append(session, answer.getQuestionId(), answer.getAnswer(),
+                    answer.getResponseTime() != null ? answer.getResponseTime().longValue() : 0L);
+            accepted += appended.accepted() ? 1 : 0;
+            currentQuestionIndex = appended.currentQuestionIndex();
+        }
+        return buildSubmitAnswerResponse(template, currentQuestionIndex, lookahead)
+                .acceptedAnswers(accepted)
+                .build();
+    }
+
+    private SubmitAnswerResponse.SubmitAnswerResponseBuilder buildSubmitAnswerResponse(CompiledTemplate template,
+                                                                                       int currentQuestionIndex,
+                                                                                       Integer lookahead) {
         double completionPercentage = template.getTotalQuestions() > 0
                 ? ((double) currentQuestionIndex / template.getTotalQuestions()) * 100
                 : 0.0;
@@ -232,8 +361,20 @@ public class AssessmentService {
                 .currentQuestion(currentQuestionIndex + 1)
                 .totalQuestions(template.getTotalQuestions())
                 .completionPercentage(completionPercentage)
-                .nextQuestion(nextQuestion)
-                .build();
+                .nextQuestion(template.getRenderedQuestion(currentQuestionIndex))
+                .upcomingQuestions(upcomingQuestions(template, currentQuestionIndex, lookahead));
+    }
+
+    /**
+     * The questions after the one at {@code currentQuestionIndex}, so the client can show them
+     * without a round trip and submit answers in the background. The window is the requested
+     * lookahead, else the template's prefetch setting, capped at max-lookahead;
+     * null when it is zero.
+     */
+    private List<RenderedQuestion> upcomingQuestions(CompiledTemplate template, int currentQuestionIndex,
+                                                     Integer requested) {
+        int lookahead = Math.min(requested != null ? requested : template.getPrefetchQuestions(), maxLookahead);
+        return lookahead > 0 ? template.getRenderedQuestions(currentQuestionIndex + 1, lookahead) : null;
     }
 
     /**
@@ -250,22 +391,115 @@ public class AssessmentService {
             throw new BadRequestException("Cannot complete a session that is not in progress");
         }
 
+        // Buffered answers must be in Postgres before they can be scored
+        answerBuffer.ifPresent(buffer -> buffer.drain(session));
+
+        session.setStatus(AssessmentSession.SessionStatus.COMPLETED);
+        session.setCompletedAt(LocalDateTime.now());
+        userAttemptsCache.evict(session.getUser().getId());
+
+        if (asyncCompletion) {
+            // Scoring happens in the test.completion consumer; the event is relayed after commit
+            session.setResultStatus(AssessmentSession.ResultStatus.PENDING);
+            sessionRepository.save(session);
+            eventPublisher.publishEvent(new AssessmentCompletedEvent(session.getId(), session.getTemplateId()));
+
+            return resultStatusOnly(session);
+        }
+
+        CompiledTemplate compiled = findTemplate(session);
         List<UserAnswer> answers = answerRepository.findBySessionOrderByQuestionNumber(session);
 
-        AssessmentTemplate template = templateRepository.findById(session.getTemplateId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found"));
+        ScoreVector scoreVector = scoringService.calculateScores(answers, compiled);
+        Map<String, Integer> scores = scoreVector.toMap();
+        String personalityType = scoringService.determinePersonalityType(scoreVector, compiled);
 
-        Map<String, Integer> scores = calculateScores(answers, template);
-        String personalityType = determinePersonalityType(scores, template.getTestType());
+        TestResult testResult = saveTestResult(session, compiled, scores, personalityType);
+        sessionRepository.save(session);
 
-        session.setStatus(AssessmentSession.SessionStatus.COMPLETED);
-        session.setCompletedAt(LocalDateTime.now());
+        return testResult.getResultSnapshot();
+    }
+
+    /**
+     * Scores a session completed asynchronously and stores its TestResult. Called by the
+     * test.completion consumer; redeliveries of an already scored session are no-ops.
+     *
+     * The session row stays locked until commit, so a redelivery racing this one waits and
+     * then sees READY. The unique test_results.session_id backs this up.
+     *
+     * @return the stored result, or empty when the session had already been scored
+     */
+    public Optional<FinalizedResult> finalizeResult(UUID sessionId) {
+        AssessmentSession session = sessionRepository.findByIdForUpdate(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment session not found with id: " + sessionId));
+
+        if (session.getResultStatus() == AssessmentSession.ResultStatus.READY) {
+            log.debug("Result for session {} already computed, skipping", sessionId);
+            return Optional.empty();
+        }
+        if (session.getStatus() != AssessmentSession.SessionStatus.COMPLETED) {
+            throw new BadRequestException("Cannot score a session that is not completed");
+        }
+
+        CompiledTemplate compiled = findTemplate(session);
+        List<UserAnswer> answers = answerRepository.findBySessionOrderByQuestionNumber(session);
+
+        ScoreVector scoreVector = scoringService.calculateScores(answers, compiled);
+        String personalityType = scoringService.determinePersonalityType(scoreVector, compiled);
+
+        TestResult testResult = saveTestResult(session, compiled, scoreVector.toMap(), personalityType);
         sessionRepository.save(session);
-        
+
+        User user = session.getUser();
+        return Optional.of(new FinalizedResult(session.getId(), testResult.getId(), user.getId(),
+                user.getEmail(), user.getFullName(), compiled.getTestType(), personalityType));
+    }
+
+    /**
+     * Marks a session whose completion message was dead-lettered, so clients polling
+     * the status endpoint stop waiting.
+     */
+    public void markResultFailed(UUID sessionId) {
+        sessionRepository.findByIdForUpdate(sessionId).ifPresent(session -> {
+            if (session.getResultStatus() != AssessmentSession.ResultStatus.READY) {
+                session.setResultStatus(AssessmentSession.ResultStatus.FAILED);
+                sessionRepository.save(session);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public AssessmentCompletionStatusDto getCompletionStatus(String sessionIdStr, UUID userId) {
+        UUID sessionId = parseSessionId(sessionIdStr);
+        AssessmentSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Assessment session not found with id: " + sessionIdStr));
+
+        if (!session.getUser().getId().equals(userId)) {
+            throw new BadRequestException("User does not have access to this session");
+        }
+
+        return AssessmentCompletionStatusDto.builder()
+                .sessionId(session.getId().toString())
+                .status(session.getStatus().name())
+                .resultStatus(resultStatusOf(session))
+                .resultId(session.getResultId() != null ? session.getResultId().toString() : null)
+                .build();
+    }
+
+    /**
+     * Stores the scored result together with a snapshot of the response, so reads never re-score.
+     */
+    private TestResult saveTestResult(AssessmentSession session, CompiledTemplate compiled,
+                                      Map<String, Integer> scores, String personalityType) {
+        // Marked READY first so the snapshot records the final status
+        session.setResultStatus(AssessmentSession.ResultStatus.READY);
+        AssessmentResultDto snapshot = toResultDto(session, compiled, scores, personalityType);
+
         TestResult testResult = new TestResult();
         testResult.setUser(session.getUser());
-        testResult.setTestType(template.getTestType());
-        testResult.setTestVersion(template.getVersion() != null ? template.getVersion() : "1.0");
+        testResult.setSessionId(session.getId());
+        testResult.setTestType(compiled.getTestType());
+        testResult.setTestVersion(compiled.getVersion() != null ? compiled.getVersion() : "1.0");
         testResult.setPersonalityType(personalityType);
         testResult.setRawScores(new HashMap<>(scores));
         testResult.setIsCompleted(true);
@@ -273,13 +507,22 @@ public class AssessmentService {
         testResult.setUpdatedAt(LocalDateTime.now());
         testResult.setCompletionPercentage(100);
         testResult.setDurationMinutes(session.getTimeSpentSeconds() != null ? (int) (session.getTimeSpentSeconds() / 60) : 0);
+        testResult.setResultSnapshot(snapshot);
+        testResult.setScoringVersion(ScoringService.SCORING_VERSION);
         testResultRepository.save(testResult);
 
-        ResultSummaryDto summary = generateResultSummary(personalityType, template.getTestType(), scores);
+        session.setResultId(testResult.getId());
+        resultCache.putAfterCommit(session.getId(), session.getUser().getId(), snapshot);
+        return testResult;
+    }
+
+    private AssessmentResultDto toResultDto(AssessmentSession session, CompiledTemplate compiled,
+                                            Map<String, Integer> scores, String personalityType) {
+        ResultSummaryDto summary = generateResultSummary(personalityType, compiled.getTestType(), scores);
 
-        boolean isAptitude = scores.containsKey("Aptitude_Score");
-        Integer aptitudeScore = isAptitude ? scores.get("Aptitude_Score") : null;
-        Integer maxScoreValue = isAptitude ? calculateMaxScore(template) : null;
+        boolean isAptitude = scores.containsKey(CompiledTemplate.APTITUDE_SCORE);
+        Integer aptitudeScore = isAptitude ? scores.get(CompiledTemplate.APTITUDE_SCORE) : null;
+        Integer maxScoreValue = isAptitude ? compiled.getScoringPlan().maxScore() : null;
 
         return AssessmentResultDto.builder()
                 .resultId(session.getId().toString())
@@ -291,15 +534,48 @@ public class AssessmentService {
                 .isAptitudeTest(isAptitude)
                 .aptitudeScore(aptitudeScore)
                 .maxScore(maxScoreValue)
+                .resultStatus(resultStatusOf(session))
                 .build();
     }
 
+    /** The response for a session whose result is not available (yet): only its status. */
+    private static AssessmentResultDto resultStatusOnly(AssessmentSession session) {
+        return AssessmentResultDto.builder()
+                .resultId(session.getId().toString())
+                .completedAt(session.getCompletedAt())
+                .resultStatus(session.getResultStatus().name())
+                .build();
+    }
+
+    /** Sessions completed before results were tracked have no status; they were scored inline. */
+    private static String resultStatusOf(AssessmentSession session) {
+        if (session.getStatus() != AssessmentSession.SessionStatus.COMPLETED) {
+            return null;
+        }
+        return session.getResultStatus() != null
+                ? session.getResultStatus().name()
+                : AssessmentSession.ResultStatus.READY.name();
+    }
+
     /**
-     * Get assessment result by ID
+     * Get assessment result by ID.
+     *
+     * Served from the snapshot stored when the session was scored. A session whose result is
+     * still PENDING or has FAILED gets its status back without being scored. Only a READY
+     * snapshot written by an older SCORING_VERSION is re-scored, and rewritten so it happens
+     * once; sessions completed before results were tracked have no snapshot and are scored
+     * into the cache instead.
      */
-    @Transactional(readOnly = true)
     public AssessmentResultDto getAssessmentResult(String resultIdStr, UUID userId) {
         UUID sessionId = parseSessionId(resultIdStr);
+        Optional<AssessmentResultCache.StoredResult> stored = resultCache.find(sessionId);
+        if (stored.isPresent()) {
+            if (!stored.get().userId().equals(userId)) {
+                throw new BadRequestException("User does not have access to this result");
+            }
+            return stored.get().result();
+        }
+
         AssessmentSession session = sessionRepository.findById(sessionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Assessment result not found with id: " + resultIdStr));
 
@@ -311,29 +587,40 @@ public class AssessmentService {
             throw new BadRequestException("Assessment is not completed yet");
         }
 
-        AssessmentTemplate template = templateRepository.findById(session.getTemplateId())
-                .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found"));
+        AssessmentSession.ResultStatus resultStatus = session.getResultStatus();
+        if (resultStatus == AssessmentSession.ResultStatus.PENDING || resultStatus == AssessmentSession.ResultStatus.FAILED) {
+            return resultStatusOnly(session);
+        }
 
-        List<UserAnswer> answers = answerRepository.findBySessionOrderByQuestionNumber(session);
-        Map<String, Integer> scores = calculateScores(answers, template);
-        String personalityType = determinePersonalityType(scores, template.getTestType());
-        ResultSummaryDto summary = generateResultSummary(personalityType, template.getTestType(), scores);
+        Optional<TestResult> testResult = session.getResultId() != null
+                ? testResultRepository.findById(session.getResultId())
+                : Optional.empty();
+        if (testResult.isPresent() && AssessmentResultCache.isCurrent(testResult.get())) {
+            // Written since the cache looked
+            resultCache.putAfterCommit(sessionId, userId, testResult.get().getResultSnapshot());
+            return testResult.get().getResultSnapshot();
+        }
 
-        boolean isAptitude = scores.containsKey("Aptitude_Score");
-        Integer aptitudeScore = isAptitude ? scores.get("Aptitude_Score") : null;
-        Integer maxScoreValue = isAptitude ? calculateMaxScore(template) : null;
+        CompiledTemplate compiled = findTemplate(session);
 
-        return AssessmentResultDto.builder()
-                .resultId(session.getId().toString())
-                .personalityType(personalityType)
-                .scores(scores)
-                .summary(summary)
-                .reportUrl("/api/v1/reports/download/" + session.getId())
-                .completedAt(session.getCompletedAt())
-                .isAptitudeTest(isAptitude)
-                .aptitudeScore(aptitudeScore)
-                .maxScore(maxScoreValue)
-                .build();
+        List<UserAnswer> answers = answerRepository.findBySessionOrderByQuestionNumber(session);
+        ScoreVector scoreVector = scoringService.calculateScores(answers, compiled);
+        Map<String, Integer> scores = scoreVector.toMap();
+        String personalityType = scoringService.determinePersonalityType(scoreVector, compiled);
+        AssessmentResultDto result = toResultDto(session, compiled, scores, personalityType);
+
+        testResult.ifPresent(outdated -> {
+            log.info("Rewriting result snapshot for session {} at scoring version {}",
+                    sessionId, ScoringService.SCORING_VERSION);
+            outdated.setRawScores(new HashMap<>(scores));
+            outdated.setPersonalityType(personalityType);
+            outdated.setResultSnapshot(result);
+            outdated.setScoringVersion(ScoringService.SCORING_VERSION);
+            outdated.setUpdatedAt(LocalDateTime.now());
+            testResultRepository.save(outdated);
+        });
+        resultCache.putAfterCommit(sessionId, userId, result);
+        return result;
     }
 
     @Transactional(readOnly = true)
@@ -348,10 +635,20 @@ public class AssessmentService {
             throw new ResourceNotFoundException("No active session found for this assessment");
         }
 
-        AssessmentTemplate template = templateRepository.findById(templateId)
-                .orElseThrow(() -> new ResourceNotFoundException("Assessment template not found"));
+        AssessmentTemplate template = findTemplate(sessionOpt.get()).getTemplate();
 
-        return convertToDto(sessionOpt.get(), template);
+        AssessmentSessionDto dto = convertToDto(sessionOpt.get(), AssessmentTemplateSummary.of(template));
+        answerBuffer.ifPresent(buffer -> {
+            // Until the next flush, progress in the write-behind buffer is ahead of Postgres
+            int bufferedIndex = buffer.currentQuestionIndex(sessionOpt.get().getId());
+            if (dto.getCurrentQuestionIndex() == null || bufferedIndex > dto.getCurrentQuestionIndex()) {
+                dto.setCurrentQuestionIndex(bufferedIndex);
+                if (dto.getTotalQuestions() != null && dto.getTotalQuestions() > 0) {
+                    dto.setProgressPercentage((double) bufferedIndex / dto.getTotalQuestions() * 100);
+                }
+            }
+        });
+        return dto;
     }
 
     @Transactional(readOnly = true)
@@ -360,132 +657,90 @@ public class AssessmentService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
         List<AssessmentSession> sessions = sessionRepository.findByUserOrderByStartedAtDesc(user);
-
-        return sessions.stream()
-                .map(session -> {
-                    AssessmentTemplate template = templateRepository.findById(session.getTemplateId())
-                            .orElse(null);
-                    return convertToDto(session, template);
-                })
-                .collect(Collectors.toList());
+        return toSessionDtos(sessions);
     }
 
-    // --- Private helpers ---
-
     /**
-     * Safely parse a session ID string to UUID, throwing a clean error on invalid input.
+     * One page of the user's history, newest first, using keyset pagination on
+     * (startedAt, id): latency stays flat however many attempts the user has.
      */
-    private UUID parseSessionId(String sessionIdStr) {
-        try {
-            return UUID.fromString(sessionIdStr);
-        } catch (IllegalArgumentException e) {
-            throw new BadRequestException("Invalid session ID format: " + sessionIdStr);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<AssessmentSessionDto> getUserAssessmentHistoryPage(UUID userId, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, maxHistoryPageSize));
+        // One extra row tells whether another page follows
+        Pageable page = PageRequest.ofSize(pageSize + 1);
+        List<AssessmentSession> sessions;
+        if (cursor == null || cursor.isBlank()) {
+            sessions = sessionRepository.findHistory(userId, page);
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            sessions = sessionRepository.findHistoryAfter(userId, after.startedAt(), after.id(), page);
         }
-    }
-
-    private Map<String, Integer> calculateScores(List<UserAnswer> answers, AssessmentTemplate template) {
-        Map<String, Integer> scores = new HashMap<>();
-
-        if ("MBTI".equals(template.getTestType())) {
-            scores.put("E", 0); scores.put("I", 0);
-            scores.put("S", 0); scores.put("N", 0);
-            scores.put("T", 0); scores.put("F", 0);
-            scores.put("J", 0); scores.put("P", 0);
-
-            if (template.getQuestions() == null) return scores;
-
-            Map<String, AssessmentTemplate.Question> questionMap = template.getQuestions().stream()
-                    .collect(Collectors.toMap(AssessmentTemplate.Question::getId, q -> q));
 
-            for (UserAnswer answer : answers) {
-                if (answer.getSelectedOptionId() == null) continue;
-                
-                AssessmentTemplate.Question question = questionMap.get(answer.getQuestionId());
-                if (question == null || question.getOptions() == null) continue;
+        boolean hasMore = sessions.size() > pageSize;
+        if (hasMore) {
+            sessions = sessions.subList(0, pageSize);
+        }
+        AssessmentSession last = sessions.isEmpty() ? null : sessions.get(sessions.size() - 1);
 
-                AssessmentTemplate.Option selectedOption = question.getOptions().stream()
-                        .filter(opt -> answer.getSelectedOptionId().equals(opt.getId()))
-                        .findFirst()
-                        .orElse(null);
+        return CursorPageResponse.<AssessmentSessionDto>builder()
+                .content(toSessionDtos(sessions))
+                .size(pageSize)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? new HistoryCursor(last.getStartedAt(), last.getId()).encode() : null)
+                .build();
+    }
 
-                if (selectedOption != null) {
-                    if (selectedOption.getWeights() != null && !selectedOption.getWeights().isEmpty()) {
-                        selectedOption.getWeights().forEach((dimension, weight) -> {
-                            scores.put(dimension, scores.getOrDefault(dimension, 0) + weight);
-                        });
-                    } else if (question.getDimension() != null) {
-                        // Fallback to simple points / dimension based mapping
-                        String dim = question.getDimension();
-                        Integer points = question.getPoints() != null ? question.getPoints() : 1;
-                        scores.put(dim, scores.getOrDefault(dim, 0) + points);
-                    }
-                }
-            }
-        } else {
-            // Check for Aptitude test (Right/Wrong)
-            boolean isAptitude = false;
-            if (template.getCategory() != null && template.getCategory().equalsIgnoreCase("Aptitude")) {
-                isAptitude = true;
-            } else if (template.getQuestions() != null && !template.getQuestions().isEmpty()) {
-                var firstQ = template.getQuestions().get(0);
-                if (firstQ.getOptions() != null && !firstQ.getOptions().isEmpty()) {
-                    var firstOpt = firstQ.getOptions().get(0);
-                    if (firstOpt.getWeights() != null && firstOpt.getWeights().containsKey("Aptitude_Score")) {
-                        isAptitude = true;
-                    }
-                }
-            }
+    /**
+     * Resolves the templates of all sessions with one catalog lookup rather than one per session.
+     */
+    private List<AssessmentSessionDto> toSessionDtos(List<AssessmentSession> sessions) {
+        Set<String> templateIds = sessions.stream()
+                .map(AssessmentSession::getTemplateId)
+                .collect(Collectors.toSet());
+        Map<String, AssessmentTemplateSummary> templates = assessmentCatalog.summaries(templateIds);
 
-            if (isAptitude) {
-                int totalAptitudeScore = 0;
-                Map<String, AssessmentTemplate.Question> questionMap = template.getQuestions().stream()
-                        .collect(Collectors.toMap(AssessmentTemplate.Question::getId, q -> q));
+        return sessions.stream()
+                .map(session -> convertToDto(session, templates.get(session.getTemplateId())))
+                .collect(Collectors.toList());
+    }
 
-                for (UserAnswer answer : answers) {
-                    if (answer.getSelectedOptionId() == null) continue;
-                    AssessmentTemplate.Question question = questionMap.get(answer.getQuestionId());
-                    if (question == null || question.getOptions() == null) continue;
+    /**
+     * Position of the last session on a history page, as an opaque URL-safe token.
+     */
+    private record HistoryCursor(LocalDateTime startedAt, UUID id) {
 
-                    AssessmentTemplate.Option selectedOption = question.getOptions().stream()
-                            .filter(opt -> answer.getSelectedOptionId().equals(opt.getId()))
-                            .findFirst()
-                            .orElse(null);
+        String encode() {
+            String value = startedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+        }
 
-                    if (selectedOption != null && selectedOption.getWeights() != null) {
-                        totalAptitudeScore += selectedOption.getWeights().getOrDefault("Aptitude_Score", 0);
-                    }
-                }
-                scores.put("Aptitude_Score", totalAptitudeScore);
+        static HistoryCursor decode(String cursor) {
+            try {
+                String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = value.indexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(value.substring(0, separator)),
+                        UUID.fromString(value.substring(separator + 1)));
+            } catch (RuntimeException ex) {
+                throw new BadRequestException("Invalid history cursor");
             }
         }
-
-        return scores;
     }
 
-    private Integer calculateMaxScore(AssessmentTemplate template) {
-        if (template.getQuestions() == null) return 0;
-        return template.getQuestions().stream()
-                .mapToInt(q -> q.getPoints() != null ? q.getPoints() : 1)
-                .sum();
-    }
+    // --- Private helpers ---
 
-    private String determinePersonalityType(Map<String, Integer> scores, String testType) {
-        if (scores.containsKey("Aptitude_Score")) {
-            return "N/A";
-        }
-        if ("MBTI".equals(testType)) {
-            StringBuilder type = new StringBuilder();
-            // Tie-breakers using INFP defaults (standard MBTI handling)
-            type.append(scores.getOrDefault("E", 0) > scores.getOrDefault("I", 0) ? "E" : "I");
-            type.append(scores.getOrDefault("S", 0) > scores.getOrDefault("N", 0) ? "S" : "N");
-            type.append(scores.getOrDefault("T", 0) > scores.getOrDefault("F", 0) ? "T" : "F");
-            type.append(scores.getOrDefault("J", 0) > scores.getOrDefault("P", 0) ? "J" : "P");
-            return type.toString();
+    /**
+     * Safely parse a session ID string to UUID, throwing a clean error on invalid input.
+     */
+    private UUID parseSessionId(String sessionIdStr) {
+        try {
+            return UUID.fromString(sessionIdStr);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid session ID format: " + sessionIdStr);
         }
-        return "UNKNOWN";
     }
 
-    private ResultSummaryDto generateResultSummary(String personalityType, String testType, Map<String, Integer> scores) {
+    static ResultSummaryDto generateResultSummary(String personalityType, String testType, Map<String, Integer> scores) {
         if (scores.containsKey("Aptitude_Score")) {
             int score = scores.get("Aptitude_Score");
             return ResultSummaryDto.builder()
@@ -511,16 +766,16 @@ public class AssessmentService {
                 .build();
     }
 
-    private AssessmentSessionDto convertToDto(AssessmentSession session, AssessmentTemplate template) {
+    private AssessmentSessionDto convertToDto(AssessmentSession session, AssessmentTemplateSummary template) {
         AssessmentSessionDto dto = new AssessmentSessionDto();
         // ID is now safely represented as a String UUID — no lossy casting.
         dto.setId(session.getId() != null ? session.getId().toString() : null);
         dto.setTemplateId(session.getTemplateId());
-        dto.setTemplateTitle(template != null ? template.getTitle() : "Unknown Template");
-        dto.setTemplateType(template != null ? template.getTestType() : "Unknown");
+        dto.setTemplateTitle(template != null ? template.title() : "Unknown Template");
+        dto.setTemplateType(template != null ? template.testType() : "Unknown");
         dto.setStatus(session.getStatus().name());
         dto.setCurrentQuestionIndex(session.getCurrentQuestionIndex());
-        dto.setTotalQuestions(template != null && template.getQuestions() != null ? template.getQuestions().size() : 0);
+        dto.setTotalQuestions(template != null && template.totalQuestions() != null ? template.totalQuestions() : 0);
         dto.setStartedAt(session.getStartedAt());
         dto.setCompletedAt(session.getCompletedAt());
         dto.setTimeSpentSeconds(session.getTimeSpentSeconds());
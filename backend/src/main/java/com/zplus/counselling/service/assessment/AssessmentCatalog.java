@@ -0,0 +1,119 @@
+package com.zplus.counselling.service.assessment;
+
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory snapshot of the active template summaries behind the listing endpoints.
+ *
+ * The snapshot is an immutable list swapped as a whole: reloaded lazily after an
+ * {@link AssessmentTemplateChangedEvent} on this node, and after {@code ttl} to pick up
+ * changes made through other nodes.
+ */
+@Component
+@Slf4j
+public class AssessmentCatalog {
+
+    private final AssessmentTemplateRepository templateRepository;
+    private final long ttlNanos;
+    private final Timer loadTime;
+
+    // Bumped on every change so a reload that raced an invalidation is not trusted
+    private final AtomicLong generation = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    public AssessmentCatalog(AssessmentTemplateRepository templateRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.assessment.catalog.ttl:1m}") Duration ttl) {
+        this.templateRepository = templateRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.loadTime = Timer.builder("assessment.catalog.load")
+                .description("Time to reload the active template summaries")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Active templates, newest first.
+     */
+    public List<AssessmentTemplateSummary> activeTemplates() {
+        return current().active();
+    }
+
+    /**
+     * Summaries for the given ids, keyed by id. Active templates come from the snapshot and the
+     * rest (retired versions still referenced by old sessions) from one batched query; ids with
+     * no template are absent.
+     */
+    public Map<String, AssessmentTemplateSummary> summaries(Collection<String> ids) {
+        Map<String, AssessmentTemplateSummary> activeById = current().byId();
+        Map<String, AssessmentTemplateSummary> found = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String id : ids) {
+            AssessmentTemplateSummary summary = id != null ? activeById.get(id) : null;
+            if (summary != null) {
+                found.put(id, summary);
+            } else if (id != null) {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            templateRepository.findSummariesByIdIn(missing).forEach(summary -> found.put(summary.id(), summary));
+        }
+        return found;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null || current.generation() != generation.get()
+                || System.nanoTime() - current.loadedAt() > ttlNanos) {
+            current = reload(current);
+        }
+        return current;
+    }
+
+    private synchronized Snapshot reload(Snapshot seen) {
+        // Another thread may have reloaded while this one waited
+        Snapshot current = snapshot;
+        if (current != null && current != seen && current.generation() == generation.get()) {
+            return current;
+        }
+        long loading = generation.get();
+        List<AssessmentTemplateSummary> active = loadTime.record(
+                () -> List.copyOf(templateRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc()));
+        Map<String, AssessmentTemplateSummary> byId = active.stream()
+                .collect(Collectors.toUnmodifiableMap(AssessmentTemplateSummary::id, summary -> summary, (a, b) -> a));
+        Snapshot loaded = new Snapshot(active, byId, System.nanoTime(), loading);
+        snapshot = loaded;
+        return loaded;
+    }
+
+    public void invalidate() {
+        generation.incrementAndGet();
+    }
+
+    @EventListener
+    public void onTemplateChanged(AssessmentTemplateChangedEvent event) {
+        log.debug("Template {} changed; reloading the catalog on next read", event.templateId());
+        invalidate();
+    }
+
+    private record Snapshot(List<AssessmentTemplateSummary> active, Map<String, AssessmentTemplateSummary> byId,
+                            long loadedAt, long generation) {
+    }
+}
@@ -5,6 +5,7 @@ import com.zplus.counselling.entity.postgres.TestResult;
 import com.zplus.counselling.entity.postgres.User;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
 import com.zplus.counselling.repository.postgres.TestResultRepository;
+import com.zplus.counselling.service.assessment.scoring.ScoreVector;
 import com.zplus.counselling.service.auth.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,13 +25,15 @@ public class AssessmentManagementService {
     private final TestResultRepository testResultRepository;
     private final UserService userService;
     private final ScoringService scoringService;
+    private final AssessmentTemplateCache templateCache;
 
     public List<AssessmentTemplate> getAvailableAssessments() {
         return assessmentTemplateRepository.findByIsActiveTrueOrderByCreatedAtDesc();
     }
 
     public AssessmentTemplate getAssessmentByType(String testType) {
-        return assessmentTemplateRepository.findByTestTypeAndIsActiveTrue(testType)
+        return templateCache.findActiveByTestType(testType)
+            .map(CompiledTemplate::getTemplate)
             .orElseThrow(() -> new RuntimeException("Assessment not found: " + testType));
     }
 
@@ -96,11 +99,12 @@ public class AssessmentManagementService {
         }
 
         // Calculate scores and results
-        AssessmentTemplate template = getAssessmentByType(testResult.getTestType());
-        Map<String, Object> scores = scoringService.calculateScores(testResult.getRawAnswers(), template);
+        CompiledTemplate template = templateCache.findActiveByTestType(testResult.getTestType())
+            .orElseThrow(() -> new RuntimeException("Assessment not found: " + testResult.getTestType()));
+        ScoreVector scores = scoringService.calculateScores(testResult.getRawAnswers(), template);
         Map<String, Object> results = scoringService.generateResults(scores, template);
 
-        testResult.setRawScores(scores);
+        testResult.setRawScores(scoringService.toRawScores(scores, template));
         testResult.setCalculatedResults(results);
         testResult.setIsCompleted(true);
         testResult.setCompletionPercentage(100);
@@ -0,0 +1,129 @@
+package com.zplus.counselling.service.assessment;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zplus.counselling.dto.AvailableAssessmentDto;
+import com.zplus.counselling.dto.response.ApiResponse;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
+import com.zplus.counselling.service.AssessmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Serialized JSON for the template catalogue and template content, with strong ETags.
+ *
+ * ETags are derived from template id + {@code updatedAt}, and the cached {@link ApiResponse}
+ * carries the content's last-modified time as its timestamp, so identical content yields
+ * identical bytes on every node and the ETag stays valid across rebuilds. Bodies are dropped
+ * on {@link AssessmentTemplateChangedEvent}; the catalogue is rebuilt whenever
+ * {@link AssessmentCatalog} hands out a new snapshot.
+ */
+@Component
+public class AssessmentResponseCache {
+
+    private final AssessmentService assessmentService;
+    private final AssessmentCatalog assessmentCatalog;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, CachedJson> templates;
+
+    private volatile CatalogJson catalog;
+
+    public AssessmentResponseCache(AssessmentService assessmentService,
+                                   AssessmentCatalog assessmentCatalog,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.assessment.template-cache.max-size:256}") long maxSize,
+                                   @Value("${app.assessment.template-cache.ttl:10m}") Duration ttl) {
+        this.assessmentService = assessmentService;
+        this.assessmentCatalog = assessmentCatalog;
+        this.objectMapper = objectMapper;
+        this.templates = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, templates, "assessment.templates.json");
+    }
+
+    /**
+     * {@code ApiResponse<List<AvailableAssessmentDto>>} for the public listing.
+     */
+    public CachedJson publicCatalog() {
+        List<AssessmentTemplateSummary> active = assessmentCatalog.activeTemplates();
+        CatalogJson current = catalog;
+        if (current != null && current.source() == active) {
+            return current.json();
+        }
+
+        List<AvailableAssessmentDto> assessments = AssessmentService.toPublicAssessments(active);
+        StringBuilder version = new StringBuilder();
+        LocalDateTime lastModified = null;
+        for (AssessmentTemplateSummary summary : active) {
+            LocalDateTime modified = lastModified(summary.updatedAt(), summary.createdAt());
+            version.append(summary.id()).append(':').append(modified).append(';');
+            if (modified != null && (lastModified == null || modified.isAfter(lastModified))) {
+                lastModified = modified;
+            }
+        }
+        CachedJson json = serialize(assessments, lastModified, version.toString());
+        catalog = new CatalogJson(active, json);
+        return json;
+    }
+
+    /**
+     * {@code ApiResponse<AssessmentTemplate>} for an active template, by test type or id.
+     */
+    public CachedJson template(String testTypeOrId) {
+        return templates.get(testTypeOrId, key -> {
+            AssessmentTemplate template = assessmentService.getAssessmentTemplateByType(key);
+            LocalDateTime modified = lastModified(template.getUpdatedAt(), template.getCreatedAt());
+            return serialize(template, modified, template.getId() + ":" + modified + ":" + template.getVersion());
+        });
+    }
+
+    private CachedJson serialize(Object data, LocalDateTime lastModified, String version) {
+        ApiResponse<Object> response = ApiResponse.<Object>builder()
+                .success(true)
+                .message("Request processed successfully")
+                .data(data)
+                .timestamp(lastModified)
+                .build();
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            String etag = "\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+            return new CachedJson(body, etag);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize assessment content", ex);
+        }
+    }
+
+    private static LocalDateTime lastModified(LocalDateTime updatedAt, LocalDateTime createdAt) {
+        return updatedAt != null ? updatedAt : createdAt;
+    }
+
+    @EventListener
+    public void onTemplateChanged(AssessmentTemplateChangedEvent event) {
+        // Keys may be a test type or an id, so drop everything; there are only a handful
+        templates.invalidateAll();
+        catalog = null;
+    }
+
+    public record CachedJson(byte[] body, String etag) {
+    }
+
+    private record CatalogJson(List<AssessmentTemplateSummary> source, CachedJson json) {
+    }
+}
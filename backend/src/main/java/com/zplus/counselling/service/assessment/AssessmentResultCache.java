@@ -0,0 +1,81 @@
+package com.zplus.counselling.service.assessment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zplus.counselling.dto.AssessmentResultDto;
+import com.zplus.counselling.entity.postgres.TestResult;
+import com.zplus.counselling.repository.postgres.TestResultRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Read-through cache of result snapshots, keyed by assessment session id.
+ *
+ * A miss is one primary-key read of the session's {@link TestResult}. Snapshots written by an
+ * older {@link ScoringService#SCORING_VERSION} are treated as missing so the caller recomputes
+ * them. Cached results are shared between requests and must not be modified.
+ */
+@Component
+public class AssessmentResultCache {
+
+    private final TestResultRepository testResultRepository;
+    private final Cache<UUID, StoredResult> bySession;
+
+    public AssessmentResultCache(TestResultRepository testResultRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.assessment.result-cache.max-size:10000}") long maxSize,
+                                 @Value("${app.assessment.result-cache.ttl:30m}") Duration ttl) {
+        this.testResultRepository = testResultRepository;
+        this.bySession = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, bySession, "assessment.results.by-session");
+    }
+
+    /**
+     * The current snapshot for the session, or empty when it has none yet or an outdated one.
+     */
+    public Optional<StoredResult> find(UUID sessionId) {
+        return Optional.ofNullable(bySession.get(sessionId, id -> testResultRepository.findBySessionId(id)
+                .filter(AssessmentResultCache::isCurrent)
+                .map(result -> new StoredResult(result.getUser().getId(), result.getResultSnapshot()))
+                .orElse(null)));
+    }
+
+    /**
+     * Caches a freshly written snapshot once its transaction commits.
+     */
+    public void putAfterCommit(UUID sessionId, UUID userId, AssessmentResultDto result) {
+        StoredResult stored = new StoredResult(userId, result);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bySession.put(sessionId, stored);
+                }
+            });
+        } else {
+            bySession.put(sessionId, stored);
+        }
+    }
+
+    public static boolean isCurrent(TestResult result) {
+        return result.getResultSnapshot() != null
+                && Objects.equals(result.getScoringVersion(), ScoringService.SCORING_VERSION);
+    }
+
+    public record StoredResult(UUID userId, AssessmentResultDto result) {
+    }
+}
@@ -0,0 +1,161 @@
+package com.zplus.counselling.service.assessment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateVersionRepository;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * In-process near cache of compiled assessment templates.
+ *
+ * Templates change only through the admin API, yet the answer path used to read the
+ * full Mongo document on every submission. Entries are bounded by size and a
+ * write TTL (which also caps staleness on other nodes), and are evicted locally as
+ * soon as an {@link AssessmentTemplateChangedEvent} is published.
+ *
+ * Sessions resolve their template through {@link #findForSession}, by the content hash of
+ * the version they started on. Versions never change, so that cache is bounded by size only
+ * and no event evicts it.
+ */
+@Component
+@Slf4j
+public class AssessmentTemplateCache {
+
+    private final AssessmentTemplateRepository templateRepository;
+    private final AssessmentTemplateVersionRepository versionRepository;
+    private final ScoringStrategyRegistry scoringStrategies;
+    private final Cache<String, CompiledTemplate> byId;
+    private final Cache<String, CompiledTemplate> byVersion;
+    private final Cache<TypeVersionKey, CompiledTemplate> byTestTypeAndVersion;
+
+    public AssessmentTemplateCache(AssessmentTemplateRepository templateRepository,
+                                   AssessmentTemplateVersionRepository versionRepository,
+                                   ScoringStrategyRegistry scoringStrategies,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.assessment.template-cache.max-size:256}") long maxSize,
+                                   @Value("${app.assessment.template-cache.ttl:10m}") Duration ttl) {
+        this.templateRepository = templateRepository;
+        this.versionRepository = versionRepository;
+        this.scoringStrategies = scoringStrategies;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byTestTypeAndVersion = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byVersion = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "assessment.templates.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byVersion, "assessment.templates.by-version");
+        CaffeineCacheMetrics.monitor(meterRegistry, byTestTypeAndVersion, "assessment.templates.by-type");
+    }
+
+    public Optional<CompiledTemplate> findById(String templateId) {
+        if (templateId == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byId.get(templateId, id -> templateRepository.findById(id)
+                .map(this::compile)
+                .orElse(null)));
+    }
+
+    /**
+     * The exact template content a session started on. Sessions created before templates were
+     * versioned have no hash and fall back to the template's current content.
+     */
+    public Optional<CompiledTemplate> findForSession(String templateId, String contentHash) {
+        return contentHash != null ? findByVersion(contentHash) : findById(templateId);
+    }
+
+    public Optional<CompiledTemplate> findByVersion(String contentHash) {
+        if (contentHash == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(byVersion.get(contentHash, hash -> versionRepository.findById(hash)
+                .map(version -> CompiledTemplate.compile(version.getContent(), scoringStrategies))
+                .orElse(null)));
+    }
+
+    /**
+     * The template currently marked active for the given test type.
+     */
+    public Optional<CompiledTemplate> findActiveByTestType(String testType) {
+        return findActiveByTestTypeAndVersion(testType, null);
+    }
+
+    /**
+     * The active template for the given test type and version; a null version
+     * resolves to whichever version is currently active.
+     */
+    public Optional<CompiledTemplate> findActiveByTestTypeAndVersion(String testType, String version) {
+        if (testType == null) {
+            return Optional.empty();
+        }
+        CompiledTemplate compiled = byTestTypeAndVersion.get(new TypeVersionKey(testType, version), key -> {
+            Optional<AssessmentTemplate> template = key.version() == null
+                    ? templateRepository.findByTestTypeAndIsActiveTrue(key.testType())
+                    : templateRepository.findByTestTypeAndVersionAndIsActiveTrue(key.testType(), key.version());
+            return template.map(this::compile).orElse(null);
+        });
+        if (compiled != null && compiled.getId() != null) {
+            byId.asMap().putIfAbsent(compiled.getId(), compiled);
+        }
+        return Optional.ofNullable(compiled);
+    }
+
+    private CompiledTemplate compile(AssessmentTemplate template) {
+        CompiledTemplate compiled = CompiledTemplate.compile(template, scoringStrategies);
+        if (template.getContentHash() != null) {
+            // The active content is also the version new sessions pin to, so share the compiled copy
+            byVersion.asMap().putIfAbsent(template.getContentHash(), compiled);
+        }
+        return compiled;
+    }
+
+    public void evict(String templateId, String testType) {
+        if (templateId != null) {
+            byId.invalidate(templateId);
+        }
+        byTestTypeAndVersion.asMap().entrySet().removeIf(entry ->
+                Objects.equals(entry.getValue().getId(), templateId)
+                        || (testType != null && testType.equals(entry.getKey().testType())));
+    }
+
+    /**
+     * Drops every compiled template, including pinned versions. Their content never changes,
+     * but the compiled plans depend on the scoring strategies, so a full eviction recompiles them too.
+     */
+    public void evictAll() {
+        byId.invalidateAll();
+        byTestTypeAndVersion.invalidateAll();
+        byVersion.invalidateAll();
+    }
+
+    @EventListener
+    public void onTemplateChanged(AssessmentTemplateChangedEvent event) {
+        log.debug("Evicting cached template {} ({})", event.templateId(), event.testType());
+        evict(event.templateId(), event.testType());
+    }
+
+    private record TypeVersionKey(String testType, String version) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.zplus.counselling.service.assessment;
+
+/**
+ * Published whenever an admin creates, updates or deletes an assessment template,
+ * so in-process caches holding template content can drop their copies.
+ */
+public record AssessmentTemplateChangedEvent(String templateId, String testType) {
+}
@@ -0,0 +1,85 @@
+package com.zplus.counselling.service.assessment;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateVersionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+
+/**
+ * Writes template content as content-addressed {@link AssessmentTemplateVersion}s.
+ *
+ * {@link #publish} stores the version first and stamps its hash on the template; saving the
+ * template document afterwards is then the single-document write that flips the active
+ * content. Sessions already running keep the version they started on.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AssessmentTemplateVersions {
+
+    // Sorted properties and map keys give one byte sequence per content, whatever the input order
+    private static final ObjectWriter CANONICAL = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .addMixIn(AssessmentTemplate.class, ContentOnly.class)
+            .build()
+            .writer();
+
+    private final AssessmentTemplateVersionRepository versionRepository;
+
+    /**
+     * Stores the template's content as a version (a no-op when identical content was stored
+     * before) and sets {@code contentHash} on the template. New templates are given an id here
+     * since it is part of the content. The caller saves the template afterwards.
+     */
+    public AssessmentTemplateVersion publish(AssessmentTemplate template) {
+        if (template.getId() == null) {
+            template.setId(new ObjectId().toHexString());
+        }
+        String hash = contentHash(template);
+        template.setContentHash(hash);
+
+        return versionRepository.findById(hash).orElseGet(() -> {
+            AssessmentTemplateVersion version = new AssessmentTemplateVersion(
+                    hash, template.getId(), template, LocalDateTime.now());
+            try {
+                return versionRepository.insert(version);
+            } catch (DuplicateKeyException ex) {
+                // Published concurrently with the same content; that copy is identical
+                log.debug("Template version {} already stored", hash);
+                return version;
+            }
+        });
+    }
+
+    /**
+     * SHA-256 over the canonical JSON of everything but the activation flag and timestamps.
+     */
+    public static String contentHash(AssessmentTemplate template) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(CANONICAL.writeValueAsBytes(template));
+            return HexFormat.of().formatHex(digest);
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Could not hash template " + template.getId(), ex);
+        }
+    }
+
+    @JsonIgnoreProperties({"isActive", "contentHash", "createdAt", "updatedAt"})
+    private abstract static class ContentOnly {
+    }
+}
@@ -0,0 +1,184 @@
+package com.zplus.counselling.service.assessment;
+
+import com.zplus.counselling.dto.OptionDto;
+import com.zplus.counselling.dto.QuestionDto;
+import com.zplus.counselling.dto.RenderedQuestion;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.service.assessment.scoring.ScoringPlan;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategy;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, pre-indexed view of an {@link AssessmentTemplate}.
+ *
+ * Built once when a template is loaded into {@link AssessmentTemplateCache} so the
+ * answer path can resolve questions by position or id without re-walking the list,
+ * and scoring can run against a precompiled {@link ScoringPlan} with the
+ * {@link ScoringStrategy} resolved for the template's type. The client view of every
+ * question is rendered to JSON here too, so responses never rebuild it.
+ * The wrapped document is owned by the cache and must be treated as read-only.
+ */
+public final class CompiledTemplate {
+
+    public static final String APTITUDE_SCORE = "Aptitude_Score";
+
+    private final AssessmentTemplate template;
+    private final List<AssessmentTemplate.Question> questions;
+    private final List<RenderedQuestion> renderedQuestions;
+    private final Map<String, Integer> questionIndexById;
+    private final ScoringPlan scoringPlan;
+    private final boolean aptitude;
+    private final ScoringStrategy scoringStrategy;
+
+    private CompiledTemplate(AssessmentTemplate template,
+                             List<AssessmentTemplate.Question> questions,
+                             List<RenderedQuestion> renderedQuestions,
+                             Map<String, Integer> questionIndexById,
+                             ScoringPlan scoringPlan,
+                             boolean aptitude,
+                             ScoringStrategy scoringStrategy) {
+        this.template = template;
+        this.questions = questions;
+        this.renderedQuestions = renderedQuestions;
+        this.questionIndexById = questionIndexById;
+        this.scoringPlan = scoringPlan;
+        this.aptitude = aptitude;
+        this.scoringStrategy = scoringStrategy;
+    }
+
+    public static CompiledTemplate compile(AssessmentTemplate template, ScoringStrategyRegistry strategies) {
+        List<AssessmentTemplate.Question> questions = template.getQuestions() != null
+                ? List.copyOf(template.getQuestions())
+                : List.of();
+
+        Map<String, Integer> questionIndexById = new HashMap<>(questions.size() * 2);
+        List<RenderedQuestion> renderedQuestions = new ArrayList<>(questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            String questionId = questions.get(i).getId();
+            if (questionId != null) {
+                questionIndexById.putIfAbsent(questionId, i);
+            }
+            renderedQuestions.add(RenderedQuestion.of(toQuestionDto(questions.get(i))));
+        }
+
+        boolean aptitude = detectAptitude(template, questions);
+        return new CompiledTemplate(template, questions, Collections.unmodifiableList(renderedQuestions),
+                Collections.unmodifiableMap(questionIndexById),
+                ScoringPlan.compile(template), aptitude, strategies.resolve(template.getTestType(), aptitude));
+    }
+
+    /**
+     * Client view of a question: option weights and the correct answer stay server-side.
+     */
+    public static QuestionDto toQuestionDto(AssessmentTemplate.Question question) {
+        return QuestionDto.builder()
+                .id(question.getId())
+                .text(question.getText())
+                .type(question.getType())
+                .options(question.getOptions() != null ? question.getOptions().stream()
+                        .map(opt -> OptionDto.builder()
+                                .id(opt.getId())
+                                .text(opt.getText())
+                                .build())
+                        .collect(Collectors.toList()) : List.of())
+                .required(true)
+                .build();
+    }
+
+    /**
+     * Right/wrong tests are flagged by category, or by an Aptitude_Score weight on the first option.
+     */
+    private static boolean detectAptitude(AssessmentTemplate template, List<AssessmentTemplate.Question> questions) {
+        if ("Aptitude".equalsIgnoreCase(template.getCategory())) {
+            return true;
+        }
+        if (questions.isEmpty() || questions.get(0).getOptions() == null || questions.get(0).getOptions().isEmpty()) {
+            return false;
+        }
+        Map<String, Integer> weights = questions.get(0).getOptions().get(0).getWeights();
+        return weights != null && weights.containsKey(APTITUDE_SCORE);
+    }
+
+    public String getId() { return template.getId(); }
+
+    public String getTestType() { return template.getTestType(); }
+
+    public String getVersion() { return template.getVersion(); }
+
+    public String getContentHash() { return template.getContentHash(); }
+
+    public String getTitle() { return template.getTitle(); }
+
+    public String getCategory() { return template.getCategory(); }
+
+    public Integer getTotalQuestions() { return template.getTotalQuestions(); }
+
+    public List<String> getInstructions() { return template.getInstructions(); }
+
+    public boolean isActive() { return Boolean.TRUE.equals(template.getIsActive()); }
+
+    public List<AssessmentTemplate.Question> getQuestions() { return questions; }
+
+    public int getQuestionCount() { return questions.size(); }
+
+    /**
+     * Question at the given zero-based position, or null when the index is past the end.
+     */
+    public AssessmentTemplate.Question getQuestion(int index) {
+        return index >= 0 && index < questions.size() ? questions.get(index) : null;
+    }
+
+    /**
+     * Pre-rendered client JSON of the question at the given position, or null past the end.
+     */
+    public RenderedQuestion getRenderedQuestion(int index) {
+        return index >= 0 && index < renderedQuestions.size() ? renderedQuestions.get(index) : null;
+    }
+
+    /**
+     * Up to {@code count} pre-rendered questions starting at {@code from}, as a view of the
+     * compiled list; empty past the end.
+     */
+    public List<RenderedQuestion> getRenderedQuestions(int from, int count) {
+        int start = Math.max(0, Math.min(from, renderedQuestions.size()));
+        int end = Math.min(renderedQuestions.size(), start + Math.max(0, count));
+        return renderedQuestions.subList(start, end);
+    }
+
+    /**
+     * Lookahead used when the client does not ask for one.
+     */
+    public int getPrefetchQuestions() {
+        return template.getPrefetchQuestions() != null ? Math.max(0, template.getPrefetchQuestions()) : 0;
+    }
+
+    /**
+     * Zero-based position of the question, or -1 when the template has no such question.
+     */
+    public int indexOf(String questionId) {
+        Integer index = questionIndexById.get(questionId);
+        return index != null ? index : -1;
+    }
+
+    public AssessmentTemplate.Question getQuestionById(String questionId) {
+        return getQuestion(indexOf(questionId));
+    }
+
+    public ScoringPlan getScoringPlan() { return scoringPlan; }
+
+    public boolean isAptitude() { return aptitude; }
+
+    public ScoringStrategy getScoringStrategy() { return scoringStrategy; }
+
+    /**
+     * The source document. Shared by every reader of the cache — never mutate it.
+     */
+    public AssessmentTemplate getTemplate() { return template; }
+}
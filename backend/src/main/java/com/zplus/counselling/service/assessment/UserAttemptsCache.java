@@ -0,0 +1,75 @@
+package com.zplus.counselling.service.assessment;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user attempt summary behind the personalised assessment listing: for each template
+ * the user has started, whether a session was completed and when the last one started.
+ *
+ * Loaded with one grouped query and evicted when the user starts or completes a session.
+ * Eviction waits for the transaction to finish so a concurrent read cannot cache the old
+ * rows again; other nodes catch up within {@code ttl}.
+ */
+@Component
+public class UserAttemptsCache {
+
+    private final AssessmentSessionRepository sessionRepository;
+    private final Cache<UUID, Map<String, Attempts>> byUser;
+
+    public UserAttemptsCache(AssessmentSessionRepository sessionRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.assessment.attempts-cache.max-size:10000}") long maxSize,
+                             @Value("${app.assessment.attempts-cache.ttl:1m}") Duration ttl) {
+        this.sessionRepository = sessionRepository;
+        this.byUser = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, byUser, "assessment.attempts.by-user");
+    }
+
+    /**
+     * Attempts keyed by template id; templates the user never started are absent.
+     */
+    public Map<String, Attempts> forUser(UUID userId) {
+        return byUser.get(userId, id -> sessionRepository.findAttemptsByUserId(id).stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        AssessmentSessionRepository.TemplateAttempts::getTemplateId,
+                        row -> new Attempts(row.getCompleted() != null && row.getCompleted() > 0, row.getLastStartedAt()))));
+    }
+
+    public void evict(UUID userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    byUser.invalidate(userId);
+                }
+            });
+        } else {
+            byUser.invalidate(userId);
+        }
+    }
+
+    public record Attempts(boolean completed, LocalDateTime lastStartedAt) {
+    }
+}
@@ -0,0 +1,81 @@
+package com.zplus.counselling.service.assessment.buffer;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives {@link AnswerWriteBehindBuffer}: recovers buffers left by a previous run on
+ * startup, flushes pending sessions on a fixed delay, and publishes buffer gauges.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "app.assessment.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class AnswerBufferFlushScheduler {
+
+    private final AnswerWriteBehindBuffer buffer;
+    private final int maxSessionsPerFlush;
+    private final Timer flushTimer;
+    private final AtomicLong bufferDepth = new AtomicLong();
+    private final AtomicLong pendingSessions = new AtomicLong();
+
+    public AnswerBufferFlushScheduler(AnswerWriteBehindBuffer buffer,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${app.assessment.write-behind.flush-max-sessions:200}") int maxSessionsPerFlush) {
+        this.buffer = buffer;
+        this.maxSessionsPerFlush = maxSessionsPerFlush;
+        this.flushTimer = Timer.builder("assessment.answers.buffer.flush")
+                .description("Duration of one write-behind flush cycle")
+                .register(meterRegistry);
+        Gauge.builder("assessment.answers.buffer.depth", bufferDepth, AtomicLong::get)
+                .description("Answers found in the buffer at the last flush cycle")
+                .register(meterRegistry);
+        Gauge.builder("assessment.answers.buffer.sessions", pendingSessions, AtomicLong::get)
+                .description("Sessions with unflushed answers")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        int recovered = buffer.recoverPendingSessions();
+        if (recovered > 0) {
+            log.info("Recovered {} sessions with unflushed buffered answers", recovered);
+        }
+        flush();
+    }
+
+    @Scheduled(fixedDelayString = "${app.assessment.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        try {
+            int depth = flushTimer.recordCallable(() -> buffer.flushPending(maxSessionsPerFlush));
+            bufferDepth.set(depth);
+            pendingSessions.set(buffer.pendingSessions());
+        } catch (Exception e) {
+            log.warn("Write-behind flush cycle failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Catches sessions whose pending-set entry was lost between append and flush.
+     */
+    @Scheduled(fixedDelayString = "${app.assessment.write-behind.reconcile-interval-ms:300000}",
+            initialDelayString = "${app.assessment.write-behind.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        try {
+            buffer.recoverPendingSessions();
+        } catch (Exception e) {
+            log.warn("Write-behind reconcile failed: {}", e.getMessage());
+        }
+    }
+}
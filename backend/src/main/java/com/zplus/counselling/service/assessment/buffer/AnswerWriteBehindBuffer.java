@@ -0,0 +1,418 @@
+package com.zplus.counselling.service.assessment.buffer;
+
+import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.exception.BadRequestException;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import com.zplus.counselling.repository.postgres.UserAnswerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind buffer for assessment answers.
+ *
+ * With {@code app.assessment.write-behind.enabled=true}, submitted answers go to Redis
+ * instead of Postgres: one hash per session (questionId → answer), a set of question ids
+ * already seen for the session, and a counter that replaces the per-answer
+ * {@code currentQuestionIndex} update. {@link AnswerBufferFlushScheduler} moves buffered
+ * answers to {@code user_answers} in batches; {@link #drain} does the same synchronously
+ * before a session is scored.
+ *
+ * Per-session keys share a {@code {sessionId}} hash tag so the append script stays
+ * single-slot on Redis Cluster. Inserts are idempotent on (session, questionId): the seen
+ * set rejects repeats at append time and persisting skips questions already stored, so
+ * re-flushing after a crash does not duplicate rows.
+ *
+ * Buffered answers never expire: only the counter, the seen set and the closed marker carry
+ * {@code buffer-ttl}. A session whose flush keeps failing stays in the buffer, is counted by
+ * the {@code assessment.answers.buffer.flush.failing} gauges and is logged as an error once
+ * it has been failing for {@code failure-alert-after}.
+ */
+@Component
+@Profile("!test")
+@ConditionalOnProperty(prefix = "app.assessment.write-behind", name = "enabled", havingValue = "true")
+@Slf4j
+public class AnswerWriteBehindBuffer {
+
+    /**
+     * KEYS: answers hash, sequence counter, seen set, closed marker.
+     * ARGV: questionId, payload, starting index from Postgres, counter and seen-set TTL in seconds.
+     * Returns {1 accepted / 0 repeat / -1 session closed, current sequence}.
+     */
+    private static final RedisScript<List> APPEND_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('EXISTS', KEYS[4]) == 1 then
+              return {-1, tonumber(redis.call('GET', KEYS[2]) or ARGV[3])}
+            end
+            if redis.call('EXISTS', KEYS[2]) == 0 then
+              redis.call('SET', KEYS[2], ARGV[3])
+            end
+            if redis.call('SADD', KEYS[3], ARGV[1]) == 0 then
+              return {0, tonumber(redis.call('GET', KEYS[2]))}
+            end
+            local seq = redis.call('INCR', KEYS[2])
+            redis.call('HSET', KEYS[1], ARGV[1], seq .. ':' .. ARGV[2])
+            redis.call('EXPIRE', KEYS[2], ARGV[4])
+            redis.call('EXPIRE', KEYS[3], ARGV[4])
+            return {1, seq}
+            """, List.class);
+
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+              return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate redis;
+    private final AssessmentSessionRepository sessionRepository;
+    private final UserAnswerRepository answerRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String keyPrefix;
+    private final Duration bufferTtl;
+    private final Duration lockTimeout;
+    private final Duration lockWait;
+    private final Duration failureAlertAfter;
+    private final Counter flushedAnswers;
+    private final Timer flushLag;
+    private final Map<String, Long> failingSince = new ConcurrentHashMap<>();
+    private final Set<String> alerted = ConcurrentHashMap.newKeySet();
+
+    public AnswerWriteBehindBuffer(StringRedisTemplate redis,
+                                   AssessmentSessionRepository sessionRepository,
+                                   UserAnswerRepository answerRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${app.assessment.write-behind.key-prefix:assessment:wb}") String keyPrefix,
+                                   @Value("${app.assessment.write-behind.buffer-ttl:24h}") Duration bufferTtl,
+                                   @Value("${app.assessment.write-behind.lock-timeout:30s}") Duration lockTimeout,
+                                   @Value("${app.assessment.write-behind.lock-wait:5s}") Duration lockWait,
+                                   @Value("${app.assessment.write-behind.failure-alert-after:15m}") Duration failureAlertAfter) {
+        this.redis = redis;
+        this.sessionRepository = sessionRepository;
+        this.answerRepository = answerRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.keyPrefix = keyPrefix;
+        this.bufferTtl = bufferTtl;
+        this.lockTimeout = lockTimeout;
+        this.lockWait = lockWait;
+        this.failureAlertAfter = failureAlertAfter;
+        this.flushedAnswers = Counter.builder("assessment.answers.buffer.flushed")
+                .description("Buffered answers written to Postgres")
+                .register(meterRegistry);
+        this.flushLag = Timer.builder("assessment.answers.buffer.flush.lag")
+                .description("Time from buffering an answer to its Postgres insert")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        Gauge.builder("assessment.answers.buffer.flush.failing", failingSince, Map::size)
+                .description("Sessions whose buffered answers failed to flush at their last attempt")
+                .register(meterRegistry);
+        Gauge.builder("assessment.answers.buffer.flush.failing.age", this, buffer -> buffer.oldestFailure().toSeconds())
+                .description("Seconds the longest-failing session has been unable to flush")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Result of an append: whether the answer was new, and the session's question
+     * index after it (the equivalent of {@code currentQuestionIndex}).
+     */
+    public record Appended(boolean accepted, int currentQuestionIndex) {
+    }
+
+    /**
+     * @throws BadRequestException when the session is being completed; its answers have already been read
+     */
+    public Appended append(AssessmentSession session, String questionId, String selectedOptionId, long timeSpentSeconds) {
+        String sessionId = session.getId().toString();
+        List<?> result = redis.execute(APPEND_SCRIPT,
+                List.of(answersKey(sessionId), sequenceKey(sessionId), seenKey(sessionId), closedKey(sessionId)),
+                questionId,
+                BufferedAnswer.payload(selectedOptionId, timeSpentSeconds, System.currentTimeMillis()),
+                String.valueOf(session.getCurrentQuestionIndex()),
+                String.valueOf(bufferTtl.toSeconds()));
+
+        int status = ((Number) result.get(0)).intValue();
+        if (status < 0) {
+            throw new BadRequestException("Cannot submit answers to a session that is being completed");
+        }
+        boolean accepted = status == 1;
+        if (accepted) {
+            // Separate command: the pending set lives in another hash slot. If this is lost
+            // in a crash, recoverPendingSessions() finds the hash again by scanning.
+            redis.opsForSet().add(pendingKey(), sessionId);
+        }
+        return new Appended(accepted, ((Number) result.get(1)).intValue());
+    }
+
+    /**
+     * Buffered question index for the session, or -1 when nothing has been buffered for it.
+     */
+    public int currentQuestionIndex(UUID sessionId) {
+        String value = redis.opsForValue().get(sequenceKey(sessionId.toString()));
+        return value != null ? Integer.parseInt(value) : -1;
+    }
+
+    /**
+     * Writes every buffered answer of the session inside the caller's transaction and
+     * clears the session's buffer once that transaction commits. Used before scoring.
+     *
+     * The session is closed to appends before its answers are read, so an answer racing the
+     * completion is either drained or rejected, never left behind. A rollback reopens it.
+     */
+    public void drain(AssessmentSession session) {
+        String sessionId = session.getId().toString();
+        String lockToken = acquireLock(sessionId, lockWait);
+
+        try {
+            redis.opsForValue().set(closedKey(sessionId), "1", bufferTtl);
+            List<BufferedAnswer> buffered = read(sessionId);
+            if (!buffered.isEmpty()) {
+                persist(session, buffered);
+                log.debug("Drained {} buffered answers for session {}", buffered.size(), sessionId);
+            }
+        } catch (RuntimeException e) {
+            redis.delete(closedKey(sessionId));
+            releaseLock(sessionId, lockToken);
+            throw e;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        clear(sessionId);
+                    } else {
+                        redis.delete(closedKey(sessionId));
+                    }
+                    releaseLock(sessionId, lockToken);
+                }
+            });
+        } else {
+            clear(sessionId);
+            releaseLock(sessionId, lockToken);
+        }
+    }
+
+    /**
+     * Flushes up to {@code maxSessions} sessions with pending answers.
+     *
+     * @return number of answers read from the buffer this cycle (the buffer depth)
+     */
+    int flushPending(int maxSessions) {
+        Set<String> sessionIds = redis.opsForSet().distinctRandomMembers(pendingKey(), maxSessions);
+        if (sessionIds == null || sessionIds.isEmpty()) {
+            return 0;
+        }
+
+        int depth = 0;
+        for (String sessionId : sessionIds) {
+            try {
+                depth += flushSession(sessionId);
+                failingSince.remove(sessionId);
+                alerted.remove(sessionId);
+            } catch (RuntimeException e) {
+                // Leave the session pending; the next cycle retries it
+                flushFailed(sessionId, e);
+            }
+        }
+        return depth;
+    }
+
+    private void flushFailed(String sessionId, RuntimeException e) {
+        long now = System.currentTimeMillis();
+        Duration failingFor = Duration.ofMillis(now - failingSince.computeIfAbsent(sessionId, id -> now));
+        if (failingFor.compareTo(failureAlertAfter) >= 0 && alerted.add(sessionId)) {
+            log.error("Buffered answers for session {} have failed to flush for {}; they stay in Redis until a flush succeeds",
+                    sessionId, failingFor, e);
+        } else {
+            log.warn("Failed to flush buffered answers for session {}: {}", sessionId, e.getMessage());
+        }
+    }
+
+    /**
+     * How long the longest-failing session has been unable to flush, zero when none is failing.
+     */
+    Duration oldestFailure() {
+        return failingSince.values().stream()
+                .min(Long::compare)
+                .map(since -> Duration.ofMillis(System.currentTimeMillis() - since))
+                .orElse(Duration.ZERO);
+    }
+
+    long pendingSessions() {
+        Long size = redis.opsForSet().size(pendingKey());
+        return size != null ? size : 0;
+    }
+
+    /**
+     * Re-registers every session that still has a buffer hash, e.g. after a crash lost
+     * the pending-set update.
+     *
+     * @return number of sessions found
+     */
+    int recoverPendingSessions() {
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + ":{*}:answers").count(500).build();
+        int recovered = 0;
+        try (Cursor<String> keys = redis.scan(options)) {
+            while (keys.hasNext()) {
+                String key = keys.next();
+                String sessionId = key.substring(key.indexOf('{') + 1, key.indexOf('}'));
+                redis.opsForSet().add(pendingKey(), sessionId);
+                recovered++;
+            }
+        }
+        return recovered;
+    }
+
+    private int flushSession(String sessionId) {
+        String lockToken = tryLock(sessionId);
+        if (lockToken == null) {
+            // Being drained or flushed elsewhere
+            return 0;
+        }
+
+        try {
+            List<BufferedAnswer> buffered = read(sessionId);
+            if (buffered.isEmpty()) {
+                redis.opsForSet().remove(pendingKey(), sessionId);
+                return 0;
+            }
+
+            boolean sessionExists = Boolean.TRUE.equals(transactionTemplate.execute(status ->
+                    sessionRepository.findById(UUID.fromString(sessionId))
+                            .map(session -> {
+                                persist(session, buffered);
+                                return true;
+                            })
+                            .orElse(false)));
+
+            if (!sessionExists) {
+                log.warn("Dropping {} buffered answers for missing session {}", buffered.size(), sessionId);
+                clear(sessionId);
+                return buffered.size();
+            }
+
+            redis.opsForHash().delete(answersKey(sessionId),
+                    buffered.stream().map(BufferedAnswer::questionId).toArray());
+            Long remaining = redis.opsForHash().size(answersKey(sessionId));
+            if (remaining == null || remaining == 0) {
+                redis.opsForSet().remove(pendingKey(), sessionId);
+            }
+            return buffered.size();
+        } finally {
+            releaseLock(sessionId, lockToken);
+        }
+    }
+
+    private void persist(AssessmentSession session, List<BufferedAnswer> buffered) {
+        Set<String> stored = new HashSet<>(answerRepository.findQuestionIdsBySession(session));
+        List<UserAnswer> answers = new ArrayList<>(buffered.size());
+        int currentQuestionIndex = session.getCurrentQuestionIndex() != null ? session.getCurrentQuestionIndex() : 0;
+        long now = System.currentTimeMillis();
+
+        buffered.sort(Comparator.comparingInt(BufferedAnswer::questionNumber));
+        for (BufferedAnswer bufferedAnswer : buffered) {
+            currentQuestionIndex = Math.max(currentQuestionIndex, bufferedAnswer.questionNumber());
+            if (!stored.add(bufferedAnswer.questionId())) {
+                continue;
+            }
+
+            UserAnswer answer = new UserAnswer();
+            answer.setSession(session);
+            answer.setQuestionId(bufferedAnswer.questionId());
+            answer.setSelectedOptionId(bufferedAnswer.selectedOptionId());
+            answer.setQuestionNumber(bufferedAnswer.questionNumber());
+            answer.setTimeSpentSeconds(bufferedAnswer.timeSpentSeconds());
+            answers.add(answer);
+            flushLag.record(Math.max(0, now - bufferedAnswer.bufferedAtMillis()), TimeUnit.MILLISECONDS);
+        }
+
+        answerRepository.saveAll(answers);
+        if (!Integer.valueOf(currentQuestionIndex).equals(session.getCurrentQuestionIndex())) {
+            session.setCurrentQuestionIndex(currentQuestionIndex);
+            sessionRepository.save(session);
+        }
+        flushedAnswers.increment(answers.size());
+    }
+
+    private List<BufferedAnswer> read(String sessionId) {
+        Map<Object, Object> entries = redis.opsForHash().entries(answersKey(sessionId));
+        List<BufferedAnswer> buffered = new ArrayList<>(entries.size());
+        entries.forEach((questionId, value) -> buffered.add(BufferedAnswer.decode((String) questionId, (String) value)));
+        return buffered;
+    }
+
+    private void clear(String sessionId) {
+        redis.delete(List.of(answersKey(sessionId), sequenceKey(sessionId), seenKey(sessionId)));
+        redis.opsForSet().remove(pendingKey(), sessionId);
+    }
+
+    private String tryLock(String sessionId) {
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redis.opsForValue().setIfAbsent(lockKey(sessionId), token, lockTimeout);
+        return Boolean.TRUE.equals(acquired) ? token : null;
+    }
+
+    private String acquireLock(String sessionId, Duration wait) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            String token = tryLock(sessionId);
+            if (token != null) {
+                return token;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new IllegalStateException("Buffered answers for session " + sessionId + " are still being flushed");
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting to drain session " + sessionId, e);
+            }
+        }
+    }
+
+    private void releaseLock(String sessionId, String token) {
+        redis.execute(RELEASE_SCRIPT, List.of(lockKey(sessionId)), token);
+    }
+
+    private String answersKey(String sessionId) { return keyPrefix + ":{" + sessionId + "}:answers"; }
+
+    private String sequenceKey(String sessionId) { return keyPrefix + ":{" + sessionId + "}:seq"; }
+
+    private String seenKey(String sessionId) { return keyPrefix + ":{" + sessionId + "}:seen"; }
+
+    private String lockKey(String sessionId) { return keyPrefix + ":{" + sessionId + "}:lock"; }
+
+    private String closedKey(String sessionId) { return keyPrefix + ":{" + sessionId + "}:closed"; }
+
+    private String pendingKey() { return keyPrefix + ":pending"; }
+}
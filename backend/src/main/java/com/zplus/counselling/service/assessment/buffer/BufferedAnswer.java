@@ -0,0 +1,27 @@
+package com.zplus.counselling.service.assessment.buffer;
+
+/**
+ * One answer held in the write-behind buffer.
+ *
+ * Stored as a Redis hash value {@code questionNumber:timeSpentSeconds:bufferedAtMillis:optionId};
+ * the option id goes last so it may itself contain ':'.
+ */
+record BufferedAnswer(String questionId, int questionNumber, String selectedOptionId,
+                      long timeSpentSeconds, long bufferedAtMillis) {
+
+    /**
+     * Everything but the question number, which the append script assigns and prepends.
+     */
+    static String payload(String selectedOptionId, long timeSpentSeconds, long bufferedAtMillis) {
+        return timeSpentSeconds + ":" + bufferedAtMillis + ":" + selectedOptionId;
+    }
+
+    static BufferedAnswer decode(String questionId, String value) {
+        String[] parts = value.split(":", 4);
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Malformed buffered answer for question " + questionId + ": " + value);
+        }
+        return new BufferedAnswer(questionId, Integer.parseInt(parts[0]), parts[3],
+                Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+    }
+}
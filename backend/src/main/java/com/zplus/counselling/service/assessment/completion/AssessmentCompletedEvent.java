@@ -0,0 +1,11 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import java.util.UUID;
+
+/**
+ * Raised when a session is submitted with asynchronous completion enabled. Published
+ * in-process first and relayed to {@code test.exchange} once the submit transaction commits;
+ * the same record is the JSON body of the test.completion message.
+ */
+public record AssessmentCompletedEvent(UUID sessionId, String templateId) {
+}
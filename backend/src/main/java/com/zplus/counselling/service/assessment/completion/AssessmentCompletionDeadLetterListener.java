@@ -0,0 +1,47 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import com.zplus.counselling.config.RabbitMQConfig;
+import com.zplus.counselling.service.AssessmentService;
+import com.zplus.counselling.service.messaging.QueueConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the result FAILED for completions that exhausted their retries, so clients
+ * polling the status endpoint stop waiting.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.assessment.async-completion", name = "enabled", havingValue = "true")
+@Slf4j
+public class AssessmentCompletionDeadLetterListener implements QueueConsumer<AssessmentCompletedEvent> {
+
+    private final AssessmentService assessmentService;
+    private final Counter deadLettered;
+
+    public AssessmentCompletionDeadLetterListener(AssessmentService assessmentService, MeterRegistry meterRegistry) {
+        this.assessmentService = assessmentService;
+        this.deadLettered = Counter.builder("assessment.completion.messages")
+                .tag("outcome", "dead_lettered")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String queue() {
+        return RabbitMQConfig.TEST_COMPLETION_DLQ;
+    }
+
+    @Override
+    public Class<AssessmentCompletedEvent> payloadType() {
+        return AssessmentCompletedEvent.class;
+    }
+
+    @Override
+    public void consume(AssessmentCompletedEvent event) {
+        log.error("Scoring failed for assessment session {}, marking result FAILED", event.sessionId());
+        deadLettered.increment();
+        assessmentService.markResultFailed(event.sessionId());
+    }
+}
@@ -0,0 +1,73 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import com.zplus.counselling.config.RabbitMQConfig;
+import com.zplus.counselling.service.AssessmentService;
+import com.zplus.counselling.service.messaging.MessagePublisher;
+import com.zplus.counselling.service.messaging.QueueConsumer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Consumes test.completion messages: scores the session, stores its TestResult and publishes
+ * the "results ready" email on {@code notification.exchange}.
+ *
+ * Failures are retried by the transport; messages that still fail are dead-lettered to
+ * {@link AssessmentCompletionDeadLetterListener}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.assessment.async-completion", name = "enabled", havingValue = "true")
+public class AssessmentCompletionListener implements QueueConsumer<AssessmentCompletedEvent> {
+
+    private final AssessmentService assessmentService;
+    private final MessagePublisher messagePublisher;
+    private final Timer finalizeTimer;
+    private final Counter finalized;
+    private final Counter duplicates;
+
+    public AssessmentCompletionListener(AssessmentService assessmentService,
+                                        MessagePublisher messagePublisher,
+                                        MeterRegistry meterRegistry) {
+        this.assessmentService = assessmentService;
+        this.messagePublisher = messagePublisher;
+        this.finalizeTimer = Timer.builder("assessment.completion.finalize")
+                .description("Time to score a completed session and store its result")
+                .register(meterRegistry);
+        this.finalized = Counter.builder("assessment.completion.messages")
+                .tag("outcome", "finalized")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("assessment.completion.messages")
+                .tag("outcome", "duplicate")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String queue() {
+        return RabbitMQConfig.TEST_COMPLETION_QUEUE;
+    }
+
+    @Override
+    public Class<AssessmentCompletedEvent> payloadType() {
+        return AssessmentCompletedEvent.class;
+    }
+
+    @Override
+    public void consume(AssessmentCompletedEvent event) {
+        Optional<FinalizedResult> result = finalizeTimer.record(() -> assessmentService.finalizeResult(event.sessionId()));
+        if (result.isEmpty()) {
+            duplicates.increment();
+            return;
+        }
+        finalized.increment();
+
+        FinalizedResult finalizedResult = result.get();
+        if (finalizedResult.email() != null) {
+            messagePublisher.publish(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.EMAIL_SEND_ROUTING_KEY,
+                    EmailNotificationMessage.resultReady(finalizedResult));
+        }
+    }
+}
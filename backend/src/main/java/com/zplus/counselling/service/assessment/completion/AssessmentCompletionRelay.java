@@ -0,0 +1,75 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import com.zplus.counselling.config.RabbitMQConfig;
+import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import com.zplus.counselling.service.messaging.MessagePublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Publishes {@link AssessmentCompletedEvent}s to {@code test.exchange} after the submit
+ * transaction commits, so consumers never see a session that is not yet COMPLETED.
+ *
+ * A publish that fails after commit leaves the session PENDING; the periodic sweep
+ * re-publishes sessions that have been pending longer than {@code republish-after}.
+ * Redelivered duplicates are harmless because finalizing is idempotent.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.assessment.async-completion", name = "enabled", havingValue = "true")
+@Slf4j
+public class AssessmentCompletionRelay {
+
+    private final MessagePublisher messagePublisher;
+    private final AssessmentSessionRepository sessionRepository;
+    private final Duration republishAfter;
+
+    public AssessmentCompletionRelay(MessagePublisher messagePublisher,
+                                     AssessmentSessionRepository sessionRepository,
+                                     @Value("${app.assessment.async-completion.republish-after:2m}") Duration republishAfter) {
+        this.messagePublisher = messagePublisher;
+        this.sessionRepository = sessionRepository;
+        this.republishAfter = republishAfter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onCompleted(AssessmentCompletedEvent event) {
+        try {
+            publish(event);
+        } catch (AmqpException e) {
+            log.warn("Failed to publish completion of session {}, will retry from sweep: {}",
+                    event.sessionId(), e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.assessment.async-completion.sweep-interval-ms:60000}")
+    public void republishStale() {
+        List<AssessmentSession> stale = sessionRepository.findTop100ByResultStatusAndCompletedAtBeforeOrderByCompletedAt(
+                AssessmentSession.ResultStatus.PENDING, LocalDateTime.now().minus(republishAfter));
+        for (AssessmentSession session : stale) {
+            try {
+                publish(new AssessmentCompletedEvent(session.getId(), session.getTemplateId()));
+            } catch (AmqpException e) {
+                log.warn("Sweep could not publish completion of session {}: {}", session.getId(), e.getMessage());
+                return;
+            }
+        }
+        if (!stale.isEmpty()) {
+            log.info("Re-published {} pending assessment completions", stale.size());
+        }
+    }
+
+    private void publish(AssessmentCompletedEvent event) {
+        messagePublisher.publish(RabbitMQConfig.TEST_EXCHANGE, RabbitMQConfig.TEST_COMPLETED_ROUTING_KEY, event);
+    }
+}
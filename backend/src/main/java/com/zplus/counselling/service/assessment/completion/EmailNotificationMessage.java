@@ -0,0 +1,17 @@
+package com.zplus.counselling.service.assessment.completion;
+
+/**
+ * Body of an email.send message.
+ */
+public record EmailNotificationMessage(String to, String subject, String body) {
+
+    static EmailNotificationMessage resultReady(FinalizedResult result) {
+        String name = result.fullName() != null && !result.fullName().isBlank() ? result.fullName() : "there";
+        return new EmailNotificationMessage(
+                result.email(),
+                "Your " + result.testType() + " results are ready",
+                "Hi " + name + ",\n\n"
+                        + "Your " + result.testType() + " assessment has been scored. "
+                        + "Sign in to ZPlus Counselling to view your results and report.\n");
+    }
+}
@@ -0,0 +1,16 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import java.util.UUID;
+
+/**
+ * What the completion consumer needs to fan out report and email work, captured
+ * while the session and user are still attached.
+ */
+public record FinalizedResult(UUID sessionId,
+                              UUID resultId,
+                              UUID userId,
+                              String email,
+                              String fullName,
+                              String testType,
+                              String personalityType) {
+}
@@ -0,0 +1,56 @@
+package com.zplus.counselling.service.assessment.completion;
+
+import com.zplus.counselling.config.RabbitMQConfig;
+import com.zplus.counselling.service.messaging.QueueConsumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends email.send messages through the configured SMTP server. Without one the
+ * message is logged and dropped rather than retried.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.assessment.async-completion", name = "enabled", havingValue = "true")
+@Slf4j
+public class ResultEmailListener implements QueueConsumer<EmailNotificationMessage> {
+
+    private final ObjectProvider<JavaMailSender> mailSender;
+    private final String from;
+
+    public ResultEmailListener(ObjectProvider<JavaMailSender> mailSender,
+                               @Value("${spring.mail.username:}") String from) {
+        this.mailSender = mailSender;
+        this.from = from;
+    }
+
+    @Override
+    public String queue() {
+        return RabbitMQConfig.EMAIL_NOTIFICATION_QUEUE;
+    }
+
+    @Override
+    public Class<EmailNotificationMessage> payloadType() {
+        return EmailNotificationMessage.class;
+    }
+
+    @Override
+    public void consume(EmailNotificationMessage message) {
+        JavaMailSender sender = mailSender.getIfAvailable();
+        if (sender == null || from.isBlank()) {
+            log.info("Mail is not configured, dropping email '{}' to {}", message.subject(), message.to());
+            return;
+        }
+
+        SimpleMailMessage mail = new SimpleMailMessage();
+        mail.setFrom(from);
+        mail.setTo(message.to());
+        mail.setSubject(message.subject());
+        mail.setText(message.body());
+        sender.send(mail);
+    }
+}
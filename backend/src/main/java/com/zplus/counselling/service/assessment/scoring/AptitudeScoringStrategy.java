@@ -0,0 +1,46 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Right/wrong tests: only the {@code Aptitude_Score} weight of the chosen option counts.
+ *
+ * Also used for templates of any type that {@link CompiledTemplate#isAptitude() look like}
+ * aptitude tests, see {@link ScoringStrategyRegistry#resolve}.
+ */
+@Component
+public class AptitudeScoringStrategy implements ScoringStrategy {
+
+    public static final String TEST_TYPE = "APTITUDE";
+
+    @Override
+    public String testType() { return TEST_TYPE; }
+
+    @Override
+    public String scoreGroup() { return "aptitudeScores"; }
+
+    @Override
+    public ScoreVector score(CompiledTemplate template, ResponseSheet responses) {
+        ScoringPlan plan = template.getScoringPlan();
+        int[] totals = plan.newTotals();
+        responses.forEach((questionId, optionId, value) -> plan.addSelection(questionId, optionId, totals, false));
+
+        int aptitude = plan.dimensionIndex(CompiledTemplate.APTITUDE_SCORE);
+        return ScoreVector.of(CompiledTemplate.APTITUDE_SCORE, aptitude >= 0 ? totals[aptitude] : 0);
+    }
+
+    @Override
+    public String personalityType(ScoreVector scores) {
+        return "N/A";
+    }
+
+    @Override
+    public Map<String, Object> describe(ScoreVector scores, CompiledTemplate template) {
+        return Map.of(
+                "aptitudeScore", scores.get(CompiledTemplate.APTITUDE_SCORE),
+                "maxScore", template.getScoringPlan().maxScore());
+    }
+}
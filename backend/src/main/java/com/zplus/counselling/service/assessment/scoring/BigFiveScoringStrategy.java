@@ -0,0 +1,45 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class BigFiveScoringStrategy extends WeightedScoringStrategy {
+
+    public static final String TEST_TYPE = "BIG_FIVE";
+
+    public BigFiveScoringStrategy() {
+        super(true, "OPENNESS", "CONSCIENTIOUSNESS", "EXTRAVERSION", "AGREEABLENESS", "NEUROTICISM");
+    }
+
+    @Override
+    public String testType() { return TEST_TYPE; }
+
+    @Override
+    public String scoreGroup() { return "traitScores"; }
+
+    @Override
+    public Map<String, Object> describe(ScoreVector scores, CompiledTemplate template) {
+        Map<String, Object> results = new HashMap<>();
+
+        // Convert raw scores to percentiles (simplified)
+        Map<String, Integer> percentiles = new HashMap<>();
+        List<String> primaryTraits = new ArrayList<>();
+        for (int i = 0; i < scores.size(); i++) {
+            int percentile = Math.min(100, Math.max(0, scores.value(i) * 10));
+            percentiles.put(scores.name(i), percentile);
+            if (percentile >= 70) {
+                primaryTraits.add(scores.name(i));
+            }
+        }
+
+        results.put("traitPercentiles", percentiles);
+        results.put("primaryTraits", primaryTraits);
+        return results;
+    }
+}
@@ -0,0 +1,57 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+@Component
+public class CareerScoringStrategy extends WeightedScoringStrategy {
+
+    public static final String TEST_TYPE = "CAREER";
+
+    // This would typically be more sophisticated, possibly using ML or a comprehensive database
+    private static final Map<String, List<String>> CAREER_MAPPING = Map.of(
+            "TECHNOLOGY", List.of("Software Engineer", "Data Scientist", "Cybersecurity Analyst", "AI Researcher"),
+            "HEALTHCARE", List.of("Doctor", "Nurse", "Physical Therapist", "Medical Researcher"),
+            "BUSINESS", List.of("Management Consultant", "Business Analyst", "Marketing Manager", "Entrepreneur"),
+            "CREATIVE", List.of("Graphic Designer", "Writer", "Artist", "Architect"),
+            "SOCIAL", List.of("Social Worker", "Teacher", "Counselor", "Human Resources"),
+            "ANALYTICAL", List.of("Research Analyst", "Financial Analyst", "Statistician", "Operations Research Analyst")
+    );
+
+    public CareerScoringStrategy() {
+        super(false, "TECHNOLOGY", "HEALTHCARE", "BUSINESS", "CREATIVE", "SOCIAL", "ANALYTICAL");
+    }
+
+    @Override
+    public String testType() { return TEST_TYPE; }
+
+    @Override
+    public String scoreGroup() { return "interestScores"; }
+
+    @Override
+    public Map<String, Object> describe(ScoreVector scores, CompiledTemplate template) {
+        Map<String, Object> results = new HashMap<>();
+
+        List<String> topInterests = IntStream.range(0, scores.size())
+                .boxed()
+                .sorted(Comparator.comparingInt(scores::value).reversed())
+                .limit(3)
+                .map(scores::name)
+                .toList();
+
+        results.put("topInterests", topInterests);
+        results.put("interestScores", scores.toMap());
+        results.put("careerSuggestions", topInterests.stream()
+                .flatMap(interest -> CAREER_MAPPING.getOrDefault(interest, List.of()).stream())
+                .distinct()
+                .limit(10)
+                .toList());
+        return results;
+    }
+}
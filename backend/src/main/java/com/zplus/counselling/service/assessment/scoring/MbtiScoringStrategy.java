@@ -0,0 +1,55 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class MbtiScoringStrategy extends WeightedScoringStrategy {
+
+    public static final String TEST_TYPE = "MBTI";
+
+    public MbtiScoringStrategy() {
+        super(true, "E", "I", "S", "N", "T", "F", "J", "P");
+    }
+
+    @Override
+    public String testType() { return TEST_TYPE; }
+
+    @Override
+    public String scoreGroup() { return "dimensionScores"; }
+
+    @Override
+    public String personalityType(ScoreVector scores) {
+        // Ties resolve to I/N/F/P
+        return new StringBuilder(4)
+                .append(scores.get("E") > scores.get("I") ? "E" : "I")
+                .append(scores.get("S") > scores.get("N") ? "S" : "N")
+                .append(scores.get("T") > scores.get("F") ? "T" : "F")
+                .append(scores.get("J") > scores.get("P") ? "J" : "P")
+                .toString();
+    }
+
+    @Override
+    public Map<String, Object> describe(ScoreVector scores, CompiledTemplate template) {
+        Map<String, Object> results = new HashMap<>();
+        String typeCode = personalityType(scores);
+        results.put("personalityType", typeCode);
+
+        Map<String, AssessmentTemplate.ResultType> resultTypes = template.getTemplate().getResultTypes();
+        AssessmentTemplate.ResultType resultType = resultTypes != null ? resultTypes.get(typeCode) : null;
+        if (resultType != null) {
+            results.put("title", resultType.getTitle());
+            results.put("description", resultType.getDescription());
+            results.put("strengths", resultType.getStrengths());
+            results.put("weaknesses", resultType.getWeaknesses());
+            results.put("careerSuggestions", resultType.getCareerSuggestions());
+            results.put("primaryTraits", List.of(typeCode.split("")));
+        }
+        return results;
+    }
+}
@@ -0,0 +1,56 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.entity.postgres.UserAnswer;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The answers of one attempt, as seen by a {@link ScoringStrategy}.
+ *
+ * Adapts both storage shapes — session {@link UserAnswer} rows and the raw
+ * questionId→answer map kept on TestResult — without copying them.
+ */
+@FunctionalInterface
+public interface ResponseSheet {
+
+    void forEach(ResponseConsumer consumer);
+
+    @FunctionalInterface
+    interface ResponseConsumer {
+
+        /**
+         * @param optionId the selected option, or null for a scale answer
+         * @param value    the scale value, or null for an option selection
+         */
+        void accept(String questionId, String optionId, Integer value);
+    }
+
+    static ResponseSheet of(List<UserAnswer> answers) {
+        return consumer -> {
+            for (UserAnswer answer : answers) {
+                if (answer.getSelectedOptionId() != null) {
+                    consumer.accept(answer.getQuestionId(), answer.getSelectedOptionId(), null);
+                }
+            }
+        };
+    }
+
+    /**
+     * String values are option ids, numbers are scale values; anything else is skipped.
+     */
+    static ResponseSheet of(Map<String, Object> rawAnswers) {
+        return consumer -> {
+            if (rawAnswers == null) {
+                return;
+            }
+            rawAnswers.forEach((questionId, answer) -> {
+                if (answer instanceof String optionId) {
+                    consumer.accept(questionId, optionId, null);
+                } else if (answer instanceof Number number) {
+                    consumer.accept(questionId, null, number.intValue());
+                }
+            });
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable, ordered dimension scores produced by a {@link ScoringStrategy}.
+ *
+ * Dimensions are few (a handful to a few dozen), so lookups scan the name array
+ * rather than hashing; {@link #toMap()} is only needed at the persistence/DTO edge.
+ */
+public final class ScoreVector {
+
+    private static final ScoreVector EMPTY = new ScoreVector(new String[0], new int[0]);
+
+    private final String[] names;
+    private final int[] values;
+
+    private ScoreVector(String[] names, int[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    public static ScoreVector empty() {
+        return EMPTY;
+    }
+
+    public static ScoreVector of(String name, int value) {
+        return new ScoreVector(new String[]{name}, new int[]{value});
+    }
+
+    /**
+     * Seeds first (always present, zero when unscored), then every other dimension
+     * the plan can score, in template order.
+     */
+    public static ScoreVector of(String[] seeds, ScoringPlan plan, int[] totals) {
+        String[] names = Arrays.copyOf(seeds, seeds.length + plan.dimensionCount());
+        int[] values = new int[names.length];
+        int size = seeds.length;
+        for (int d = 0; d < plan.dimensionCount(); d++) {
+            String dimension = plan.dimension(d);
+            int slot = indexOf(names, size, dimension);
+            if (slot < 0) {
+                slot = size++;
+                names[slot] = dimension;
+            }
+            values[slot] += totals[d];
+        }
+        return new ScoreVector(Arrays.copyOf(names, size), Arrays.copyOf(values, size));
+    }
+
+    private static int indexOf(String[] names, int size, String name) {
+        for (int i = 0; i < size; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() { return names.length; }
+
+    public String name(int index) { return names[index]; }
+
+    public int value(int index) { return values[index]; }
+
+    public boolean contains(String name) {
+        return indexOf(names, names.length, name) >= 0;
+    }
+
+    /**
+     * Score for the dimension, or 0 when it is not part of this vector.
+     */
+    public int get(String name) {
+        int index = indexOf(names, names.length, name);
+        return index >= 0 ? values[index] : 0;
+    }
+
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> map = new LinkedHashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            map.put(names[i], values[i]);
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return toMap().toString();
+    }
+}
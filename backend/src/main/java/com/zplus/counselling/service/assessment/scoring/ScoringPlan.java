@@ -0,0 +1,224 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A template compiled once into dense integer indexes for scoring.
+ *
+ * Questions, options and dimensions are numbered in template order. Option weights
+ * live in a flat row-major {@code int[]} matrix ({@code option * dimensionCount + dimension}),
+ * so scoring a session is a lookup per answer plus an int accumulation into a
+ * caller-supplied totals array — no maps, boxing or streams on the hot path.
+ *
+ * Dimensions are registered from option weight keys, and from a question's own
+ * dimension only where it can actually receive points: questions without options
+ * (scale answers) or with at least one unweighted option (the points fallback).
+ */
+public final class ScoringPlan {
+
+    private final String[] dimensions;
+    private final Map<String, Integer> dimensionIndex;
+    private final Map<String, Integer> questionIndex;
+    private final int[] optionStart;
+    private final String[] optionIds;
+    private final boolean[] optionWeighted;
+    private final int[] weights;
+    private final int[] questionDimension;
+    private final int[] questionPoints;
+    private final int maxScore;
+
+    private ScoringPlan(String[] dimensions, Map<String, Integer> dimensionIndex, Map<String, Integer> questionIndex,
+                        int[] optionStart, String[] optionIds, boolean[] optionWeighted, int[] weights,
+                        int[] questionDimension, int[] questionPoints, int maxScore) {
+        this.dimensions = dimensions;
+        this.dimensionIndex = dimensionIndex;
+        this.questionIndex = questionIndex;
+        this.optionStart = optionStart;
+        this.optionIds = optionIds;
+        this.optionWeighted = optionWeighted;
+        this.weights = weights;
+        this.questionDimension = questionDimension;
+        this.questionPoints = questionPoints;
+        this.maxScore = maxScore;
+    }
+
+    public static ScoringPlan compile(AssessmentTemplate template) {
+        List<AssessmentTemplate.Question> questions = template.getQuestions() != null
+                ? template.getQuestions()
+                : List.of();
+
+        Map<String, Integer> dimensionIndex = new LinkedHashMap<>();
+        Map<String, Integer> questionIndex = new HashMap<>(questions.size() * 2);
+        int[] optionStart = new int[questions.size() + 1];
+        List<AssessmentTemplate.Option> options = new ArrayList<>();
+        int maxScore = 0;
+
+        for (int q = 0; q < questions.size(); q++) {
+            AssessmentTemplate.Question question = questions.get(q);
+            if (question.getId() != null) {
+                questionIndex.putIfAbsent(question.getId(), q);
+            }
+            maxScore += question.getPoints() != null ? question.getPoints() : 1;
+
+            optionStart[q] = options.size();
+            boolean needsQuestionDimension = question.getOptions() == null || question.getOptions().isEmpty();
+            if (question.getOptions() != null) {
+                for (AssessmentTemplate.Option option : question.getOptions()) {
+                    options.add(option);
+                    if (option.getWeights() != null && !option.getWeights().isEmpty()) {
+                        option.getWeights().keySet().forEach(key -> register(dimensionIndex, key));
+                    } else {
+                        needsQuestionDimension = true;
+                    }
+                }
+            }
+            if (needsQuestionDimension && question.getDimension() != null) {
+                register(dimensionIndex, question.getDimension());
+            }
+        }
+        optionStart[questions.size()] = options.size();
+
+        int dimensionCount = dimensionIndex.size();
+        int[] questionDimension = new int[questions.size()];
+        int[] questionPoints = new int[questions.size()];
+        for (int q = 0; q < questions.size(); q++) {
+            AssessmentTemplate.Question question = questions.get(q);
+            Integer dimension = question.getDimension() != null ? dimensionIndex.get(question.getDimension()) : null;
+            questionDimension[q] = dimension != null ? dimension : -1;
+            questionPoints[q] = question.getPoints() != null ? question.getPoints() : 1;
+        }
+
+        String[] optionIds = new String[options.size()];
+        boolean[] optionWeighted = new boolean[options.size()];
+        int[] weights = new int[options.size() * dimensionCount];
+        for (int o = 0; o < options.size(); o++) {
+            AssessmentTemplate.Option option = options.get(o);
+            optionIds[o] = option.getId();
+            if (option.getWeights() != null && !option.getWeights().isEmpty()) {
+                optionWeighted[o] = true;
+                for (Map.Entry<String, Integer> weight : option.getWeights().entrySet()) {
+                    if (weight.getValue() != null) {
+                        weights[o * dimensionCount + dimensionIndex.get(weight.getKey())] += weight.getValue();
+                    }
+                }
+            }
+        }
+
+        return new ScoringPlan(
+                dimensionIndex.keySet().toArray(new String[0]),
+                Collections.unmodifiableMap(dimensionIndex),
+                Collections.unmodifiableMap(questionIndex),
+                optionStart, optionIds, optionWeighted, weights,
+                questionDimension, questionPoints, maxScore);
+    }
+
+    private static void register(Map<String, Integer> dimensionIndex, String dimension) {
+        dimensionIndex.putIfAbsent(dimension, dimensionIndex.size());
+    }
+
+    public int dimensionCount() { return dimensions.length; }
+
+    public String dimension(int index) { return dimensions[index]; }
+
+    /**
+     * Dense index of a dimension code, or -1 when no question in the template scores it.
+     */
+    public int dimensionIndex(String dimension) {
+        Integer index = dimensionIndex.get(dimension);
+        return index != null ? index : -1;
+    }
+
+    public int questionCount() { return questionDimension.length; }
+
+    /**
+     * Dense index of a question id, or -1 when the template has no such question.
+     */
+    public int questionIndex(String questionId) {
+        if (questionId == null) {
+            return -1;
+        }
+        Integer index = questionIndex.get(questionId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Global index of an option within the given question, or -1 if it is not one of its options.
+     */
+    public int optionIndex(int question, String optionId) {
+        if (question < 0 || optionId == null) {
+            return -1;
+        }
+        for (int o = optionStart[question], end = optionStart[question + 1]; o < end; o++) {
+            if (optionId.equals(optionIds[o])) {
+                return o;
+            }
+        }
+        return -1;
+    }
+
+    public boolean isWeighted(int option) { return optionWeighted[option]; }
+
+    public int weight(int option, int dimension) {
+        return weights[option * dimensions.length + dimension];
+    }
+
+    /**
+     * Dense index of the question's own dimension, or -1 when it has none that can score.
+     */
+    public int questionDimension(int question) { return questionDimension[question]; }
+
+    public int questionPoints(int question) { return questionPoints[question]; }
+
+    /**
+     * Sum of question points (1 where unset), the ceiling for right/wrong tests.
+     */
+    public int maxScore() { return maxScore; }
+
+    public int[] newTotals() {
+        return new int[dimensions.length];
+    }
+
+    /**
+     * Adds the selected option's weight row to {@code totals}. When the option carries no
+     * weights and {@code pointsFallback} is set, the question's points go to its dimension instead.
+     *
+     * @return false when the question or option is not part of this template
+     */
+    public boolean addSelection(String questionId, String optionId, int[] totals, boolean pointsFallback) {
+        int question = questionIndex(questionId);
+        int option = optionIndex(question, optionId);
+        if (option < 0) {
+            return false;
+        }
+        if (optionWeighted[option]) {
+            int row = option * dimensions.length;
+            for (int d = 0; d < dimensions.length; d++) {
+                totals[d] += weights[row + d];
+            }
+        } else if (pointsFallback && questionDimension[question] >= 0) {
+            totals[questionDimension[question]] += questionPoints[question];
+        }
+        return true;
+    }
+
+    /**
+     * Adds a scale answer (e.g. a 1–5 rating) to the question's own dimension.
+     *
+     * @return false when the question is unknown or has no scoring dimension
+     */
+    public boolean addValue(String questionId, int value, int[] totals) {
+        int question = questionIndex(questionId);
+        if (question < 0 || questionDimension[question] < 0) {
+            return false;
+        }
+        totals[questionDimension[question]] += value;
+        return true;
+    }
+}
@@ -0,0 +1,38 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+
+import java.util.Map;
+
+/**
+ * Scoring and interpretation rules for one kind of assessment.
+ *
+ * Implementations are Spring beans collected by {@link ScoringStrategyRegistry};
+ * each template is bound to its strategy once, when it is compiled into the
+ * template cache, so completion never re-dispatches on the test type string.
+ */
+public interface ScoringStrategy {
+
+    /**
+     * The template test type this strategy handles, e.g. {@code MBTI}.
+     */
+    String testType();
+
+    /**
+     * Key under which the scores are nested in TestResult.rawScores.
+     */
+    String scoreGroup();
+
+    ScoreVector score(CompiledTemplate template, ResponseSheet responses);
+
+    default String personalityType(ScoreVector scores) {
+        return "UNKNOWN";
+    }
+
+    /**
+     * Interpretation persisted as TestResult.calculatedResults.
+     */
+    default Map<String, Object> describe(ScoreVector scores, CompiledTemplate template) {
+        return Map.of();
+    }
+}
@@ -0,0 +1,65 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps template test types to their {@link ScoringStrategy}.
+ *
+ * Resolution order: exact test type, then the aptitude strategy for templates that
+ * look like right/wrong tests, then a strategy that scores nothing.
+ */
+@Component
+@Slf4j
+public class ScoringStrategyRegistry {
+
+    private static final ScoringStrategy UNSCORED = new ScoringStrategy() {
+        @Override
+        public String testType() { return null; }
+
+        @Override
+        public String scoreGroup() { return "scores"; }
+
+        @Override
+        public ScoreVector score(CompiledTemplate template, ResponseSheet responses) {
+            return ScoreVector.empty();
+        }
+    };
+
+    private final Map<String, ScoringStrategy> byTestType = new HashMap<>();
+
+    public ScoringStrategyRegistry(List<ScoringStrategy> strategies) {
+        for (ScoringStrategy strategy : strategies) {
+            ScoringStrategy previous = byTestType.putIfAbsent(strategy.testType(), strategy);
+            if (previous != null) {
+                throw new IllegalStateException("Duplicate scoring strategy for test type " + strategy.testType()
+                        + ": " + previous.getClass().getSimpleName() + ", " + strategy.getClass().getSimpleName());
+            }
+        }
+        log.info("Registered scoring strategies for {}", byTestType.keySet());
+    }
+
+    /**
+     * Registry with the built-in strategies only, for use outside the Spring context.
+     */
+    public static ScoringStrategyRegistry defaults() {
+        return new ScoringStrategyRegistry(List.of(
+                new MbtiScoringStrategy(),
+                new BigFiveScoringStrategy(),
+                new CareerScoringStrategy(),
+                new AptitudeScoringStrategy()));
+    }
+
+    public ScoringStrategy resolve(String testType, boolean aptitude) {
+        ScoringStrategy strategy = testType != null ? byTestType.get(testType) : null;
+        if (strategy == null && aptitude) {
+            strategy = byTestType.get(AptitudeScoringStrategy.TEST_TYPE);
+        }
+        return strategy != null ? strategy : UNSCORED;
+    }
+}
@@ -0,0 +1,36 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+
+/**
+ * Sums option weights (and scale values) into the template's dimensions via its
+ * {@link ScoringPlan}, always reporting the strategy's seed dimensions.
+ */
+public abstract class WeightedScoringStrategy implements ScoringStrategy {
+
+    private final String[] seeds;
+    private final boolean pointsFallback;
+
+    /**
+     * @param pointsFallback credit question points to the question's dimension when the
+     *                       selected option carries no weights
+     */
+    protected WeightedScoringStrategy(boolean pointsFallback, String... seeds) {
+        this.seeds = seeds;
+        this.pointsFallback = pointsFallback;
+    }
+
+    @Override
+    public ScoreVector score(CompiledTemplate template, ResponseSheet responses) {
+        ScoringPlan plan = template.getScoringPlan();
+        int[] totals = plan.newTotals();
+        responses.forEach((questionId, optionId, value) -> {
+            if (optionId != null) {
+                plan.addSelection(questionId, optionId, totals, pointsFallback);
+            } else if (value != null) {
+                plan.addValue(questionId, value, totals);
+            }
+        });
+        return ScoreVector.of(seeds, plan, totals);
+    }
+}
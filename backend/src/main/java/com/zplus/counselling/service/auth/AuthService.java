@@ -5,7 +5,11 @@ import com.zplus.counselling.dto.request.RegisterRequest;
 import com.zplus.counselling.dto.response.AuthResponse;
 import com.zplus.counselling.dto.response.UserProfileResponse;
 import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.exception.BadRequestException;
+import com.zplus.counselling.security.JwtClaims;
 import com.zplus.counselling.security.JwtTokenProvider;
+import com.zplus.counselling.security.UserPrincipal;
+import com.zplus.counselling.security.revocation.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -35,6 +39,7 @@ public class AuthService {
     private final UserService userService;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationService revocationService;
 
     @Transactional
     public AuthResponse login(LoginRequest loginRequest) {
@@ -180,15 +185,19 @@ public class AuthService {
 
     @Transactional
     public AuthResponse refreshToken(String refreshToken) {
-        if (!tokenProvider.validateToken(refreshToken)) {
-            throw new RuntimeException("Invalid refresh token");
+        JwtClaims claims = tokenProvider.parse(refreshToken)
+            .filter(parsed -> !revocationService.isRevoked(parsed))
+            .orElseThrow(() -> new BadRequestException("Invalid refresh token"));
+
+        // Rotation: each refresh token is single-use; a second use means it was replayed
+        if (!revocationService.revoke(claims)) {
+            throw new BadRequestException("Invalid refresh token");
         }
 
-        String email = tokenProvider.getUsernameFromToken(refreshToken);
-        User user = userService.findByEmail(email);
+        User user = userService.findByEmail(claims.subject());
 
         Authentication authentication = new UsernamePasswordAuthenticationToken(
-            user.getEmail(), null, user.getAuthorities()
+            UserPrincipal.create(user), null, user.getAuthorities()
         );
 
         String newAccessToken = tokenProvider.generateToken(authentication);
@@ -202,13 +211,15 @@ public class AuthService {
             .build();
     }
 
+    /**
+     * Signs the user out everywhere: every access and refresh token issued so far is revoked.
+     */
     @Transactional
     public void logout(UUID userId) {
-        // In a stateless JWT system, logout is typically handled client-side
-        // But we can add server-side token blacklisting if needed
         User user = userService.findById(userId);
         user.setLastLogoutAt(LocalDateTime.now());
         userService.save(user);
+        revocationService.revokeAll(userId);
     }
 
     @Transactional
@@ -222,6 +233,7 @@ public class AuthService {
         user.setPasswordHash(passwordEncoder.encode(newPassword));
         user.setPasswordChangedAt(LocalDateTime.now());
         userService.save(user);
+        revocationService.revokeAll(userId);
     }
 
     @Transactional
@@ -260,6 +272,7 @@ public class AuthService {
         user.setPasswordResetTokenExpiresAt(null);
         user.setPasswordChangedAt(LocalDateTime.now());
         userService.save(user);
+        revocationService.revokeAll(user.getId());
     }
     /**
      * Maps a User entity to the safe public-facing UserProfileResponse DTO.
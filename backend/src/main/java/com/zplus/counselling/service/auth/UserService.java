@@ -5,8 +5,10 @@ import com.zplus.counselling.dto.response.UserProfileResponse;
 import com.zplus.counselling.entity.postgres.User;
 import com.zplus.counselling.repository.postgres.UserRepository;
 import com.zplus.counselling.security.UserPrincipal;
+import com.zplus.counselling.security.UserPrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -16,9 +18,10 @@ import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
-public class UserService implements UserDetailsService {
+public class UserService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
 
     @Override
     @Transactional
@@ -29,6 +32,18 @@ public class UserService implements UserDetailsService {
         return UserPrincipal.create(user);
     }
 
+    /**
+     * Called by {@code DaoAuthenticationProvider} after a successful login whose stored hash
+     * was produced with a different BCrypt cost; the password itself is unchanged.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = findByEmail(userDetails.getUsername());
+        user.setPasswordHash(newPassword);
+        return UserPrincipal.create(save(user));
+    }
+
     @Transactional
     public UserDetails loadUserById(UUID id) {
         User user = userRepository.findById(id)
@@ -60,9 +75,15 @@ public class UserService implements UserDetailsService {
         return userRepository.existsByEmailIgnoreCase(email);
     }
 
+    /**
+     * Every role, profile, password and logout change goes through here, so this is
+     * where cached principals are evicted.
+     */
     @Transactional
     public User save(User user) {
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        principalCache.evict(saved.getId());
+        return saved;
     }
 
     @Transactional
@@ -71,7 +92,7 @@ public class UserService implements UserDetailsService {
         user.setFullName(fullName);
         user.setPhone(phone);
         user.setLocation(location);
-        return userRepository.save(user);
+        return save(user);
     }
 
     public UserProfileResponse getUserProfile(UUID userId) {
@@ -91,7 +112,7 @@ public class UserService implements UserDetailsService {
         if (request.getLocation() != null) {
             user.setLocation(request.getLocation());
         }
-        User updatedUser = userRepository.save(user);
+        User updatedUser = save(user);
         return convertToUserProfileResponse(updatedUser);
     }
 
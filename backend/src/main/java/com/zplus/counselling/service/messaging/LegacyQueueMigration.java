@@ -0,0 +1,90 @@
+package com.zplus.counselling.service.messaging;
+
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.support.RabbitExceptionTranslator;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Retires queues declared by earlier releases. The broker refuses to redeclare an existing queue
+ * with different arguments (PRECONDITION_FAILED), so a queue whose arguments change is declared
+ * under a new name and the old one is removed here on startup.
+ *
+ * Each legacy queue is unbound first so nothing new is routed to it, then its remaining messages
+ * are moved to the replacement queue (publish and ack in one channel transaction) and it is
+ * deleted once empty. A node of the previous release still consuming it keeps the queue alive;
+ * the delete then fails and is retried on the next start. A legacy queue without a replacement
+ * is deleted with whatever it still holds.
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class LegacyQueueMigration implements ApplicationRunner {
+
+    private final AmqpAdmin amqpAdmin;
+    private final ConnectionFactory connectionFactory;
+    private final List<LegacyQueue> queues;
+
+    public record LegacyQueue(String name, String exchange, String routingKey, String replacement) {
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        for (LegacyQueue queue : queues) {
+            try {
+                retire(queue);
+            } catch (AmqpException e) {
+                log.warn("Could not retire legacy queue {}; retrying on the next start", queue.name(), e);
+            }
+        }
+    }
+
+    void retire(LegacyQueue queue) {
+        if (amqpAdmin.getQueueInfo(queue.name()) == null) {
+            return;
+        }
+        amqpAdmin.removeBinding(new Binding(queue.name(), Binding.DestinationType.QUEUE,
+                queue.exchange(), queue.routingKey(), null));
+
+        if (queue.replacement() == null) {
+            amqpAdmin.deleteQueue(queue.name(), true, false);
+            log.info("Deleted legacy queue {}", queue.name());
+            return;
+        }
+        if (amqpAdmin.getQueueInfo(queue.replacement()) == null) {
+            log.warn("Replacement queue {} for {} is not declared yet; leaving it in place", queue.replacement(), queue.name());
+            return;
+        }
+        int moved = moveMessages(queue.name(), queue.replacement());
+        amqpAdmin.deleteQueue(queue.name(), true, true);
+        log.info("Retired legacy queue {}; moved {} messages to {}", queue.name(), moved, queue.replacement());
+    }
+
+    private int moveMessages(String from, String to) {
+        try (Connection connection = connectionFactory.createConnection();
+             Channel channel = connection.createChannel(true)) {
+            int moved = 0;
+            GetResponse response;
+            while ((response = channel.basicGet(from, false)) != null) {
+                channel.basicPublish("", to, response.getProps(), response.getBody());
+                channel.basicAck(response.getEnvelope().getDeliveryTag(), false);
+                channel.txCommit();
+                moved++;
+            }
+            return moved;
+        } catch (IOException | TimeoutException e) {
+            throw RabbitExceptionTranslator.convertRabbitAccessException(e);
+        }
+    }
+}
@@ -0,0 +1,358 @@
+package com.zplus.counselling.service.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.MessagePropertiesBuilder;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-process stand-in for RabbitMQ, selected with {@code app.messaging.transport=local}.
+ *
+ * Routes over the same {@link Exchange}, {@link Queue} and {@link Binding} beans that are
+ * declared for the broker (direct, topic and fanout exchanges, the default exchange, and
+ * {@code x-dead-letter-*} queue arguments), and carries the same JSON bodies produced by the
+ * shared message converter. Each queue is a bounded buffer drained by a fixed number of
+ * worker threads; publishing to a full queue waits up to {@code publish-timeout} and then
+ * fails with an {@link AmqpException}, as a broker under flow control would.
+ *
+ * Nothing is durable: messages still queued at shutdown are lost, and queues with no
+ * {@link QueueConsumer} in this process discard what is routed to them. Intended for tests
+ * and single-node deployments, not as a replacement for the broker across several nodes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.messaging", name = "transport", havingValue = "local")
+@Slf4j
+public class LocalMessageBroker implements MessagePublisher, SmartLifecycle {
+
+    private static final String DEAD_LETTER_EXCHANGE_ARG = "x-dead-letter-exchange";
+    private static final String DEAD_LETTER_ROUTING_KEY_ARG = "x-dead-letter-routing-key";
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final long MAX_BACKOFF_MS = 5000;
+
+    private final Map<String, String> exchangeTypes = new HashMap<>();
+    private final Map<String, List<Binding>> bindingsByExchange = new HashMap<>();
+    private final Map<String, LocalQueue> queues = new LinkedHashMap<>();
+    private final ObjectProvider<QueueConsumer<?>> consumers;
+    private final MessageConverter messageConverter;
+    private final int concurrency;
+    private final int maxAttempts;
+    private final Duration publishTimeout;
+    private final Duration initialBackoff;
+    private volatile boolean running;
+
+    public LocalMessageBroker(List<Exchange> exchanges,
+                              List<Queue> queues,
+                              List<Binding> bindings,
+                              ObjectProvider<QueueConsumer<?>> consumers,
+                              MessageConverter messageConverter,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.messaging.local.queue-capacity:1000}") int queueCapacity,
+                              @Value("${app.messaging.local.concurrency:${spring.rabbitmq.listener.simple.concurrency:2}}") int concurrency,
+                              @Value("${app.messaging.local.max-attempts:${spring.rabbitmq.listener.simple.retry.max-attempts:3}}") int maxAttempts,
+                              @Value("${app.messaging.local.publish-timeout:1s}") Duration publishTimeout,
+                              @Value("${app.messaging.local.retry-backoff:500ms}") Duration initialBackoff) {
+        this.messageConverter = messageConverter;
+        this.concurrency = concurrency;
+        this.maxAttempts = maxAttempts;
+        this.publishTimeout = publishTimeout;
+        this.initialBackoff = initialBackoff;
+
+        for (Exchange exchange : exchanges) {
+            exchangeTypes.put(exchange.getName(), exchange.getType());
+        }
+        for (Binding binding : bindings) {
+            bindingsByExchange.computeIfAbsent(binding.getExchange(), name -> new ArrayList<>()).add(binding);
+        }
+        for (Queue queue : queues) {
+            this.queues.put(queue.getName(), new LocalQueue(queue, queueCapacity, meterRegistry));
+        }
+        this.consumers = consumers;
+    }
+
+    @Override
+    public void publish(String exchange, String routingKey, Object payload) {
+        Message message = messageConverter.toMessage(payload, new MessageProperties());
+        route(exchange, routingKey != null ? routingKey : "", message);
+    }
+
+    private void route(String exchange, String routingKey, Message message) {
+        List<LocalQueue> targets = resolve(exchange, routingKey);
+        if (targets.isEmpty()) {
+            log.debug("Dropping unroutable message to exchange '{}' with key '{}'", exchange, routingKey);
+            return;
+        }
+        for (LocalQueue queue : targets) {
+            // Each queue gets its own properties; delivery annotates them with the consumer's payload type
+            queue.offer(routingKey, new Message(message.getBody(),
+                    MessagePropertiesBuilder.fromClonedProperties(message.getMessageProperties()).build()));
+        }
+    }
+
+    List<String> routeOf(String exchange, String routingKey) {
+        return resolve(exchange, routingKey).stream().map(queue -> queue.name).toList();
+    }
+
+    private List<LocalQueue> resolve(String exchange, String routingKey) {
+        if (exchange == null || exchange.isEmpty()) {
+            // Default exchange: the routing key names the queue
+            LocalQueue queue = queues.get(routingKey);
+            return queue != null ? List.of(queue) : List.of();
+        }
+        String type = exchangeTypes.get(exchange);
+        if (type == null) {
+            throw new AmqpException("No exchange '" + exchange + "' is declared");
+        }
+
+        List<LocalQueue> targets = new ArrayList<>();
+        for (Binding binding : bindingsByExchange.getOrDefault(exchange, List.of())) {
+            if (!binding.isDestinationQueue() || !matches(type, binding.getRoutingKey(), routingKey)) {
+                continue;
+            }
+            LocalQueue queue = queues.get(binding.getDestination());
+            if (queue != null && !targets.contains(queue)) {
+                targets.add(queue);
+            }
+        }
+        return targets;
+    }
+
+    static boolean matches(String exchangeType, String bindingKey, String routingKey) {
+        switch (exchangeType) {
+            case ExchangeTypes.FANOUT:
+                return true;
+            case ExchangeTypes.TOPIC:
+                return topicMatches(bindingKey.split("\\.", -1), 0, routingKey.split("\\.", -1), 0);
+            default:
+                return bindingKey.equals(routingKey);
+        }
+    }
+
+    /**
+     * AMQP topic matching: {@code *} is exactly one word, {@code #} is zero or more.
+     */
+    private static boolean topicMatches(String[] pattern, int p, String[] words, int w) {
+        if (p == pattern.length) {
+            return w == words.length;
+        }
+        if ("#".equals(pattern[p])) {
+            for (int next = w; next <= words.length; next++) {
+                if (topicMatches(pattern, p + 1, words, next)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return w < words.length
+                && ("*".equals(pattern[p]) || pattern[p].equals(words[w]))
+                && topicMatches(pattern, p + 1, words, w + 1);
+    }
+
+    @Override
+    public void start() {
+        // Consumers are attached here rather than in the constructor because they usually publish through this broker
+        consumers.orderedStream().forEach(consumer -> {
+            LocalQueue queue = queues.get(consumer.queue());
+            if (queue == null) {
+                throw new IllegalStateException("No queue '" + consumer.queue() + "' is declared for "
+                        + consumer.getClass().getSimpleName());
+            }
+            if (queue.consumer != null && queue.consumer != consumer) {
+                throw new IllegalStateException("Queue '" + consumer.queue() + "' already has a consumer");
+            }
+            queue.consumer = consumer;
+        });
+
+        running = true;
+        for (LocalQueue queue : queues.values()) {
+            if (queue.consumer == null) {
+                continue;
+            }
+            for (int i = 1; i <= concurrency; i++) {
+                Thread worker = new Thread(() -> work(queue), "local-mq-" + queue.name + "-" + i);
+                worker.setDaemon(true);
+                queue.workers.add(worker);
+                worker.start();
+            }
+        }
+        log.info("Local message broker started with {} queues", queues.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        for (LocalQueue queue : queues.values()) {
+            for (Thread worker : queue.workers) {
+                try {
+                    worker.join(POLL_INTERVAL_MS * 5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            queue.workers.clear();
+            if (!queue.buffer.isEmpty()) {
+                log.warn("Local queue '{}' stopped with {} undelivered messages", queue.name, queue.buffer.size());
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work(LocalQueue queue) {
+        while (running) {
+            Envelope envelope;
+            try {
+                envelope = queue.buffer.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (envelope != null) {
+                queue.latency.record(System.nanoTime() - envelope.enqueuedAt(), TimeUnit.NANOSECONDS);
+                deliver(queue, envelope);
+            }
+        }
+    }
+
+    private void deliver(LocalQueue queue, Envelope envelope) {
+        long backoff = initialBackoff.toMillis();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                queue.processing.record(() -> queue.consumer.deliver(envelope.message(), messageConverter));
+                queue.consumed.increment();
+                return;
+            } catch (RuntimeException e) {
+                if (attempt >= maxAttempts) {
+                    deadLetter(queue, envelope, e);
+                    return;
+                }
+                log.debug("Delivery {} of {} from '{}' failed: {}", attempt, maxAttempts, queue.name, e.getMessage());
+            }
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    private void deadLetter(LocalQueue queue, Envelope envelope, RuntimeException cause) {
+        if (queue.deadLetterExchange == null) {
+            log.error("Discarding message from '{}' after {} attempts", queue.name, maxAttempts, cause);
+            queue.rejected.increment();
+            return;
+        }
+        log.warn("Dead-lettering message from '{}' after {} attempts: {}", queue.name, maxAttempts, cause.getMessage());
+        String routingKey = queue.deadLetterRoutingKey != null ? queue.deadLetterRoutingKey : envelope.routingKey();
+        try {
+            route(queue.deadLetterExchange, routingKey, envelope.message());
+            queue.deadLettered.increment();
+        } catch (AmqpException e) {
+            log.error("Could not dead-letter message from '{}'", queue.name, e);
+            queue.rejected.increment();
+        }
+    }
+
+    private record Envelope(String routingKey, Message message, long enqueuedAt) {
+    }
+
+    private final class LocalQueue {
+
+        private final String name;
+        private final BlockingQueue<Envelope> buffer;
+        private final String deadLetterExchange;
+        private final String deadLetterRoutingKey;
+        private final List<Thread> workers = new ArrayList<>();
+        private volatile QueueConsumer<?> consumer;
+
+        private final Counter published;
+        private final Counter consumed;
+        private final Counter deadLettered;
+        private final Counter rejected;
+        private final Counter dropped;
+        private final Timer latency;
+        private final Timer processing;
+
+        private LocalQueue(Queue queue, int capacity, MeterRegistry meterRegistry) {
+            this.name = queue.getName();
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+            Object dlx = queue.getArguments().get(DEAD_LETTER_EXCHANGE_ARG);
+            Object dlk = queue.getArguments().get(DEAD_LETTER_ROUTING_KEY_ARG);
+            this.deadLetterExchange = dlx != null ? dlx.toString() : null;
+            this.deadLetterRoutingKey = dlk != null ? dlk.toString() : null;
+
+            this.published = outcome(meterRegistry, "published");
+            this.consumed = outcome(meterRegistry, "consumed");
+            this.deadLettered = outcome(meterRegistry, "dead_lettered");
+            this.rejected = outcome(meterRegistry, "rejected");
+            this.dropped = outcome(meterRegistry, "dropped");
+            this.latency = Timer.builder("messaging.local.queue.latency")
+                    .description("Time a message waited in a local queue before delivery")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+            this.processing = Timer.builder("messaging.local.process")
+                    .description("Time a consumer spent on one delivery attempt")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+            Gauge.builder("messaging.local.queue.depth", buffer, BlockingQueue::size)
+                    .description("Messages waiting in a local queue")
+                    .tag("queue", name)
+                    .register(meterRegistry);
+        }
+
+        private Counter outcome(MeterRegistry meterRegistry, String outcome) {
+            return Counter.builder("messaging.local.messages")
+                    .tag("queue", name)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+
+        private void offer(String routingKey, Message message) {
+            if (consumer == null) {
+                dropped.increment();
+                log.debug("No local consumer for '{}', discarding message", name);
+                return;
+            }
+            try {
+                if (!buffer.offer(new Envelope(routingKey, message, System.nanoTime()),
+                        publishTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new AmqpException("Local queue '" + name + "' is full");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AmqpException("Interrupted while publishing to '" + name + "'", e);
+            }
+            published.increment();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.zplus.counselling.service.messaging;
+
+/**
+ * Sends a payload to an exchange of the topology declared in
+ * {@link com.zplus.counselling.config.RabbitMQConfig}, whichever transport carries it.
+ *
+ * Implementations throw {@link org.springframework.amqp.AmqpException} when the message
+ * cannot be accepted (broker unreachable, local queue full).
+ */
+public interface MessagePublisher {
+
+    void publish(String exchange, String routingKey, Object payload);
+}
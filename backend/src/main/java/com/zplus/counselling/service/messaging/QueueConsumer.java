@@ -0,0 +1,31 @@
+package com.zplus.counselling.service.messaging;
+
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.support.converter.MessageConverter;
+
+/**
+ * Handles the messages of one queue. Beans of this type are attached to the RabbitMQ
+ * listener container factory or to the {@link LocalMessageBroker}, depending on
+ * {@code app.messaging.transport}.
+ *
+ * Throwing from {@link #consume} triggers the transport's retries and, once those are
+ * exhausted, dead-lettering when the queue has a dead-letter exchange.
+ */
+public interface QueueConsumer<T> {
+
+    String queue();
+
+    /** Type the JSON body is converted to before {@link #consume} is called. */
+    Class<T> payloadType();
+
+    void consume(T payload);
+
+    /**
+     * Converts a raw message with the shared JSON converter and hands it to {@link #consume};
+     * both transports go through here so payload handling is identical.
+     */
+    default void deliver(Message message, MessageConverter converter) {
+        message.getMessageProperties().setInferredArgumentType(payloadType());
+        consume(payloadType().cast(converter.fromMessage(message)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.zplus.counselling.service.messaging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+/**
+ * {@link MessagePublisher} backed by the RabbitMQ broker.
+ */
+@RequiredArgsConstructor
+public class RabbitMessagePublisher implements MessagePublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+
+    @Override
+    public void publish(String exchange, String routingKey, Object payload) {
+        rabbitTemplate.convertAndSend(exchange, routingKey, payload);
+    }
+}
@@ -0,0 +1,100 @@
+-- Baseline: the schema Hibernate's ddl-auto=update produced from the entities before Flyway
+-- took over. Databases created that way are baselined at this version and start from V2, so
+-- anything added to the entities since then belongs in a later migration, not here.
+
+CREATE TABLE users (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    firebase_uid VARCHAR(255) UNIQUE,
+    provider VARCHAR(255),
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password_hash VARCHAR(255),
+    full_name VARCHAR(255) NOT NULL,
+    phone VARCHAR(255),
+    date_of_birth DATE,
+    gender VARCHAR(255),
+    location VARCHAR(255),
+    profile_picture_url VARCHAR(255),
+    subscription_type VARCHAR(255),
+    is_email_verified BOOLEAN,
+    is_phone_verified BOOLEAN,
+    is_active BOOLEAN,
+    last_login_at TIMESTAMP(6),
+    last_logout_at TIMESTAMP(6),
+    password_changed_at TIMESTAMP(6),
+    password_reset_token VARCHAR(255),
+    password_reset_token_expires_at TIMESTAMP(6),
+    role VARCHAR(255)
+);
+
+CREATE TABLE assessment_sessions (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    user_id UUID NOT NULL REFERENCES users(id),
+    template_id VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    current_question_index INTEGER,
+    started_at TIMESTAMP(6) NOT NULL,
+    completed_at TIMESTAMP(6),
+    time_spent_seconds BIGINT
+);
+
+CREATE TABLE user_answers (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    session_id UUID NOT NULL REFERENCES assessment_sessions(id),
+    question_id VARCHAR(255) NOT NULL,
+    question_number INTEGER NOT NULL,
+    selected_option_id VARCHAR(255),
+    selected_option_text TEXT,
+    score_value DOUBLE PRECISION,
+    time_spent_seconds BIGINT,
+    is_correct BOOLEAN
+);
+
+CREATE TABLE test_results (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6) NOT NULL,
+    user_id UUID NOT NULL REFERENCES users(id),
+    test_type VARCHAR(50) NOT NULL,
+    test_version VARCHAR(10) NOT NULL,
+    raw_answers TEXT,
+    raw_scores TEXT,
+    calculated_results TEXT,
+    personality_type VARCHAR(10),
+    primary_traits TEXT,
+    strengths TEXT,
+    weaknesses TEXT,
+    career_suggestions TEXT,
+    completion_percentage INTEGER,
+    duration_minutes INTEGER,
+    is_completed BOOLEAN NOT NULL,
+    pdf_report_url VARCHAR(500)
+);
+
+CREATE TABLE counseling_sessions (
+    id UUID PRIMARY KEY,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    user_id UUID NOT NULL REFERENCES users(id),
+    counselor_id UUID REFERENCES users(id),
+    session_type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    scheduled_at TIMESTAMP(6) NOT NULL,
+    started_at TIMESTAMP(6),
+    ended_at TIMESTAMP(6),
+    duration_minutes INTEGER,
+    meeting_link VARCHAR(255),
+    session_notes TEXT,
+    client_feedback TEXT,
+    counselor_feedback TEXT,
+    session_rating INTEGER,
+    fee_amount NUMERIC(10, 2),
+    payment_status VARCHAR(255),
+    cancelled_reason VARCHAR(255),
+    rescheduled_from_session_id VARCHAR(255)
+);
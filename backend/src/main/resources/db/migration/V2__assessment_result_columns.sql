@@ -0,0 +1,13 @@
+-- Columns added to the entities after the baseline. IF NOT EXISTS because databases
+-- that ran ddl-auto=update on a later build may already have some of them.
+
+-- Content hash of the template version a session started on
+ALTER TABLE assessment_sessions ADD COLUMN IF NOT EXISTS template_version VARCHAR(64);
+
+-- Asynchronous scoring state and the result it produced
+ALTER TABLE assessment_sessions ADD COLUMN IF NOT EXISTS result_status VARCHAR(255);
+ALTER TABLE assessment_sessions ADD COLUMN IF NOT EXISTS result_id UUID;
+
+-- Result as served, written when the session is scored, and the scoring version behind it
+ALTER TABLE test_results ADD COLUMN IF NOT EXISTS result_snapshot TEXT;
+ALTER TABLE test_results ADD COLUMN IF NOT EXISTS scoring_version INTEGER;
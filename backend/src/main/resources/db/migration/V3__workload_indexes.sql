@@ -0,0 +1,52 @@
+-- Composite and partial indexes for the repository queries on the hot paths.
+-- CONCURRENTLY keeps the tables writable while existing databases build them, so Flyway
+-- runs this script outside a transaction; IF NOT EXISTS makes a rerun after a failure safe
+-- (drop any index left INVALID first).
+
+-- Answers of a session in question order; question_id is included for index-only
+-- duplicate checks (findQuestionIdsBySessionId)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_user_answers_session_number
+    ON user_answers (session_id, question_number) INCLUDE (question_id);
+
+-- Grouped per-user attempts query behind the assessment listing; also serves the
+-- (user_id, status, template_id) lookups
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assessment_sessions_user_template
+    ON assessment_sessions (user_id, template_id, status, started_at);
+
+-- Keyset pagination of a user's history on (started_at, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assessment_sessions_user_started
+    ON assessment_sessions (user_id, started_at DESC, id DESC);
+
+-- Sweep of sessions left in progress (findExpiredSessions)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assessment_sessions_in_progress_started
+    ON assessment_sessions (started_at) WHERE status = 'IN_PROGRESS';
+
+-- Retry of results still pending scoring, oldest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_assessment_sessions_result_completed
+    ON assessment_sessions (result_status, completed_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_test_results_user_type_completed
+    ON test_results (user_id, test_type, is_completed);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_test_results_user_created
+    ON test_results (user_id, created_at DESC);
+
+-- Completed-test counts per type
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_test_results_type_completed
+    ON test_results (test_type) WHERE is_completed;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_counseling_sessions_counselor_scheduled
+    ON counseling_sessions (counselor_id, scheduled_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_counseling_sessions_user_scheduled
+    ON counseling_sessions (user_id, scheduled_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_counseling_sessions_status_scheduled
+    ON counseling_sessions (status, scheduled_at);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_counseling_sessions_scheduled
+    ON counseling_sessions (scheduled_at);
+
+-- Case-insensitive e-mail lookups compare upper(email)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_upper
+    ON users (upper(email));
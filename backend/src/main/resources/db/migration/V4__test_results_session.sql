@@ -0,0 +1,16 @@
+-- One TestResult per assessment session. Duplicate deliveries of a completion message
+-- are serialized on the session row; this index rejects any insert that still slips past.
+
+ALTER TABLE test_results ADD COLUMN IF NOT EXISTS session_id UUID;
+
+-- Link results written before the column existed through assessment_sessions.result_id
+UPDATE test_results t
+SET session_id = s.id
+FROM assessment_sessions s
+WHERE s.result_id = t.id
+  AND t.session_id IS NULL;
+
+-- Not CONCURRENTLY: this script runs in one transaction with the statements above.
+-- Rows without a session (NULL) do not conflict with each other.
+CREATE UNIQUE INDEX IF NOT EXISTS uq_test_results_session
+    ON test_results (session_id);
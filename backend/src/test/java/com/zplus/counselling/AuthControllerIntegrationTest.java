@@ -93,6 +93,33 @@ public class AuthControllerIntegrationTest {
                 .andExpect(jsonPath("$.tokenType").value("Bearer"));
     }
 
+    @Test
+    void testRefreshTokenIsSingleUse() throws Exception {
+        RegisterRequest registerRequest = new RegisterRequest();
+        registerRequest.setEmail("refresh@example.com");
+        registerRequest.setPassword("password123");
+        registerRequest.setFullName("Refresh User");
+
+        String registered = mockMvc.perform(post("/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(registerRequest)))
+                .andReturn().getResponse().getContentAsString();
+        String refreshBody = objectMapper.writeValueAsString(
+                java.util.Map.of("refreshToken", objectMapper.readTree(registered).get("refreshToken").asText()));
+
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.refreshToken").value(notNullValue()));
+
+        // The rotated-out token must not be accepted again
+        mockMvc.perform(post("/auth/refresh")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(refreshBody))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testInvalidLogin() throws Exception {
         LoginRequest loginRequest = new LoginRequest();
@@ -0,0 +1,30 @@
+package com.zplus.counselling.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MongoConfigTest {
+
+    @Test
+    void testIndexFailureFailsStartup() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getConverter())
+                .thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, new MongoMappingContext()));
+        when(mongoTemplate.indexOps(any(Class.class)))
+                .thenThrow(new DataAccessResourceFailureException("Timed out waiting for a server"));
+
+        assertThatThrownBy(() -> new MongoConfig(mongoTemplate).createIndexes())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not create MongoDB indexes")
+                .hasCauseInstanceOf(DataAccessResourceFailureException.class);
+    }
+}
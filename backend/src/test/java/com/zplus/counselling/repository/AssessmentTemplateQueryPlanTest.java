@@ -0,0 +1,156 @@
+package com.zplus.counselling.repository;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.zplus.counselling.config.MongoConfig;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.repository.support.MongoRepositoryFactory;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every AssessmentTemplateRepository query against a real Mongo with the indexes MongoConfig
+ * creates, and fails if the winning plan of any command it sends contains a COLLSCAN.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class AssessmentTemplateQueryPlanTest {
+
+    private static final Set<String> QUERY_COMMANDS = Set.of("find", "count", "aggregate", "distinct");
+
+    @Container
+    private static final MongoDBContainer mongo = new MongoDBContainer("mongo:6.0");
+
+    private static final List<BsonDocument> issued = new ArrayList<>();
+    private static MongoClient client;
+    private static MongoTemplate mongoTemplate;
+    private static AssessmentTemplateRepository repository;
+
+    @BeforeAll
+    static void setUp() {
+        CommandListener recorder = new CommandListener() {
+            @Override
+            public void commandStarted(CommandStartedEvent event) {
+                if (QUERY_COMMANDS.contains(event.getCommandName())) {
+                    issued.add(event.getCommand().clone());
+                }
+            }
+        };
+        client = MongoClients.create(MongoClientSettings.builder()
+                .applyConnectionString(new ConnectionString(mongo.getReplicaSetUrl("query_plans")))
+                .addCommandListener(recorder)
+                .build());
+        mongoTemplate = new MongoTemplate(client, "query_plans");
+        MongoConfig.ensureIndexes(mongoTemplate, AssessmentTemplate.class);
+        repository = new MongoRepositoryFactory(mongoTemplate).getRepository(AssessmentTemplateRepository.class);
+
+        List<AssessmentTemplate> templates = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            AssessmentTemplate template = new AssessmentTemplate();
+            template.setTestType("type-" + (i % 10));
+            template.setVersion("v" + (i / 10));
+            template.setTitle("Template " + i);
+            template.setCategory(i % 2 == 0 ? "Psychometric" : "Aptitude");
+            template.setIsActive(i < 10);
+            template.setTotalQuestions(0);
+            template.setQuestions(List.of());
+            template.setCreatedAt(LocalDateTime.now().minusDays(i));
+            templates.add(template);
+        }
+        repository.saveAll(templates);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        if (client != null) {
+            client.close();
+        }
+    }
+
+    @Test
+    void everyRepositoryQueryUsesAnIndex() {
+        List<String> ids = repository.findAll().stream().limit(3).map(AssessmentTemplate::getId).toList();
+        Map<String, Consumer<AssessmentTemplateRepository>> queries = new LinkedHashMap<>();
+        queries.put("findByTestTypeAndIsActiveTrue", repo -> repo.findByTestTypeAndIsActiveTrue("type-3"));
+        queries.put("findByIsActiveTrueOrderByCreatedAtDesc", AssessmentTemplateRepository::findByIsActiveTrueOrderByCreatedAtDesc);
+        queries.put("findByCategoryAndIsActiveTrueOrderByCreatedAtDesc",
+                repo -> repo.findByCategoryAndIsActiveTrueOrderByCreatedAtDesc("Aptitude"));
+        queries.put("findByTestTypeAndVersionAndIsActiveTrue",
+                repo -> repo.findByTestTypeAndVersionAndIsActiveTrue("type-3", "v0"));
+        queries.put("existsByTestTypeAndIsActiveTrue", repo -> repo.existsByTestTypeAndIsActiveTrue("type-3"));
+        queries.put("findSummariesByIsActiveTrueOrderByCreatedAtDesc",
+                AssessmentTemplateRepository::findSummariesByIsActiveTrueOrderByCreatedAtDesc);
+        queries.put("findSummariesByOrderByCreatedAtDesc", AssessmentTemplateRepository::findSummariesByOrderByCreatedAtDesc);
+        queries.put("findSummariesByIdIn", repo -> repo.findSummariesByIdIn(ids));
+
+        // A query method added to the repository must be added here too
+        Set<String> declared = new TreeSet<>();
+        for (Method method : AssessmentTemplateRepository.class.getDeclaredMethods()) {
+            declared.add(method.getName());
+        }
+        assertThat(queries.keySet()).containsExactlyInAnyOrderElementsOf(declared);
+
+        queries.forEach((name, query) -> {
+            issued.clear();
+            query.accept(repository);
+            assertThat(issued).as("commands sent by %s", name).isNotEmpty();
+            for (BsonDocument command : issued) {
+                Document plan = explain(command);
+                assertThat(collectionScans(plan.toBsonDocument()))
+                        .as("%s ran %s", name, command.toJson())
+                        .isZero();
+            }
+        });
+    }
+
+    private static Document explain(BsonDocument command) {
+        BsonDocument inner = command.clone();
+        // Session and routing fields the driver adds are not accepted inside an explain
+        inner.keySet().removeIf(key -> key.startsWith("$") || key.equals("lsid") || key.equals("txnNumber"));
+        return mongoTemplate.getDb().runCommand(new Document("explain", inner).append("verbosity", "queryPlanner"));
+    }
+
+    /**
+     * COLLSCAN stages under any winningPlan; the layout differs between find, count and aggregate.
+     */
+    private static int collectionScans(BsonValue value) {
+        return collectionScans(value, false);
+    }
+
+    private static int collectionScans(BsonValue value, boolean inWinningPlan) {
+        int scans = 0;
+        if (value.isDocument()) {
+            for (Map.Entry<String, BsonValue> entry : value.asDocument().entrySet()) {
+                if (inWinningPlan && entry.getKey().equals("stage") && entry.getValue().equals(new BsonString("COLLSCAN"))) {
+                    scans++;
+                }
+                scans += collectionScans(entry.getValue(), inWinningPlan || entry.getKey().equals("winningPlan"));
+            }
+        } else if (value.isArray()) {
+            for (BsonValue element : value.asArray()) {
+                scans += collectionScans(element, inWinningPlan);
+            }
+        }
+        return scans;
+    }
+}
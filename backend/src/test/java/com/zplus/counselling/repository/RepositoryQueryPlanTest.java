@@ -0,0 +1,272 @@
+package com.zplus.counselling.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.entity.postgres.CounselingSession;
+import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import com.zplus.counselling.repository.postgres.CounselingSessionRepository;
+import com.zplus.counselling.repository.postgres.TestResultRepository;
+import com.zplus.counselling.repository.postgres.UserAnswerRepository;
+import com.zplus.counselling.repository.postgres.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every Postgres repository query method against the Flyway schema and checks the generic
+ * plan of each statement it issues with EXPLAIN (GENERIC_PLAN), which needs Postgres 16. Sequential
+ * scans are disabled for the explain, so one still showing up on a large table means no index can
+ * serve the query. Also fails if Hibernate's validation of the migrated schema fails.
+ */
+@DataJpaTest(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.database-platform=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect",
+        "spring.jpa.properties.hibernate.default_schema=public",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.zplus.counselling.repository.RepositoryQueryPlanTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Testcontainers(disabledWithoutDocker = true)
+public class RepositoryQueryPlanTest {
+
+    private static final Set<String> LARGE_TABLES = Set.of(
+            "users", "assessment_sessions", "user_answers", "test_results", "counseling_sessions");
+
+    @Container
+    // Simple query mode sends the explained statement as text: with the extended protocol the driver
+    // binds no values for its $n placeholders and Postgres rejects it
+    private static final PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withUrlParam("preferQueryMode", "simple");
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driver-class-name", postgres::getDriverClassName);
+    }
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AssessmentSessionRepository sessionRepository;
+    @Autowired
+    private UserAnswerRepository answerRepository;
+    @Autowired
+    private TestResultRepository testResultRepository;
+    @Autowired
+    private CounselingSessionRepository counselingSessionRepository;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void everyRepositoryQueryCanUseAnIndex() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        User user = new User();
+        user.setEmail("plans@example.com");
+        user.setFullName("Query Plans");
+        user.setCreatedAt(now);
+        user = userRepository.saveAndFlush(user);
+        UUID userId = user.getId();
+
+        AssessmentSession session = new AssessmentSession();
+        session.setUser(user);
+        session.setTemplateId("template-1");
+        session.setCreatedAt(now);
+        session = sessionRepository.saveAndFlush(session);
+        UUID sessionId = session.getId();
+
+        User u = user;
+        AssessmentSession s = session;
+        List<CounselingSession.SessionStatus> open = List.of(
+                CounselingSession.SessionStatus.SCHEDULED, CounselingSession.SessionStatus.CONFIRMED);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("UserRepository.findByEmail", () -> userRepository.findByEmail("plans@example.com"));
+        queries.put("UserRepository.findByEmailIgnoreCase", () -> userRepository.findByEmailIgnoreCase("Plans@Example.com"));
+        queries.put("UserRepository.findByFirebaseUid", () -> userRepository.findByFirebaseUid("uid"));
+        queries.put("UserRepository.existsByEmail", () -> userRepository.existsByEmail("plans@example.com"));
+        queries.put("UserRepository.existsByEmailIgnoreCase", () -> userRepository.existsByEmailIgnoreCase("Plans@Example.com"));
+        queries.put("UserRepository.findByEmailAndIsActiveTrue", () -> userRepository.findByEmailAndIsActiveTrue("plans@example.com"));
+
+        queries.put("AssessmentSessionRepository.findByUserAndStatusAndTemplateId", () -> sessionRepository
+                .findByUserAndStatusAndTemplateId(u, AssessmentSession.SessionStatus.IN_PROGRESS, "template-1"));
+        queries.put("AssessmentSessionRepository.findByUserAndStatus", () -> sessionRepository
+                .findByUserAndStatus(u, AssessmentSession.SessionStatus.IN_PROGRESS));
+        queries.put("AssessmentSessionRepository.findByIdForUpdate", () -> sessionRepository.findByIdForUpdate(sessionId));
+        queries.put("AssessmentSessionRepository.findByUserOrderByStartedAtDesc", () -> sessionRepository
+                .findByUserOrderByStartedAtDesc(u));
+        queries.put("AssessmentSessionRepository.findByUserIdAndStatus", () -> sessionRepository
+                .findByUserIdAndStatus(userId, AssessmentSession.SessionStatus.COMPLETED));
+        queries.put("AssessmentSessionRepository.findExpiredSessions", () -> sessionRepository
+                .findExpiredSessions(now.minusHours(24)));
+        queries.put("AssessmentSessionRepository.findTop100ByResultStatusAndCompletedAtBeforeOrderByCompletedAt",
+                () -> sessionRepository.findTop100ByResultStatusAndCompletedAtBeforeOrderByCompletedAt(
+                        AssessmentSession.ResultStatus.PENDING, now));
+        queries.put("AssessmentSessionRepository.countByUserAndStatus", () -> sessionRepository
+                .countByUserAndStatus(u, AssessmentSession.SessionStatus.COMPLETED));
+        queries.put("AssessmentSessionRepository.existsByUserAndTemplateIdAndStatus", () -> sessionRepository
+                .existsByUserAndTemplateIdAndStatus(u, "template-1", AssessmentSession.SessionStatus.IN_PROGRESS));
+        queries.put("AssessmentSessionRepository.advance", () -> sessionRepository.advance(sessionId, 1));
+        queries.put("AssessmentSessionRepository.findAttemptsByUserId", () -> sessionRepository.findAttemptsByUserId(userId));
+        queries.put("AssessmentSessionRepository.findHistory", () -> sessionRepository
+                .findHistory(userId, PageRequest.ofSize(20)));
+        queries.put("AssessmentSessionRepository.findHistoryAfter", () -> sessionRepository
+                .findHistoryAfter(userId, now, sessionId, PageRequest.ofSize(20)));
+
+        queries.put("UserAnswerRepository.findBySessionOrderByQuestionNumber", () -> answerRepository
+                .findBySessionOrderByQuestionNumber(s));
+        queries.put("UserAnswerRepository.findBySessionAndQuestionId", () -> answerRepository
+                .findBySessionAndQuestionId(s, "q1"));
+        queries.put("UserAnswerRepository.findBySessionAndQuestionNumber", () -> answerRepository
+                .findBySessionAndQuestionNumber(s, 1));
+        queries.put("UserAnswerRepository.findBySessionIdOrderByQuestionNumber", () -> answerRepository
+                .findBySessionIdOrderByQuestionNumber(sessionId));
+        queries.put("UserAnswerRepository.findQuestionIdsBySession", () -> answerRepository.findQuestionIdsBySession(s));
+        queries.put("UserAnswerRepository.findQuestionIdsBySessionId", () -> answerRepository
+                .findQuestionIdsBySessionId(sessionId));
+        queries.put("UserAnswerRepository.existsBySessionIdAndQuestionId", () -> answerRepository
+                .existsBySessionIdAndQuestionId(sessionId, "q1"));
+        queries.put("UserAnswerRepository.countBySession", () -> answerRepository.countBySession(s));
+        queries.put("UserAnswerRepository.getAverageScoreBySession", () -> answerRepository.getAverageScoreBySession(s));
+        queries.put("UserAnswerRepository.getTotalScoreBySession", () -> answerRepository.getTotalScoreBySession(s));
+        queries.put("UserAnswerRepository.deleteBySession", () -> answerRepository.deleteBySession(s));
+
+        queries.put("TestResultRepository.findByUserIdOrderByCreatedAtDesc", () -> testResultRepository
+                .findByUserIdOrderByCreatedAtDesc(userId));
+        queries.put("TestResultRepository.findByUserId", () -> testResultRepository.findByUserId(userId));
+        queries.put("TestResultRepository.findByUserIdAndTestType", () -> testResultRepository
+                .findByUserIdAndTestType(userId, "MBTI"));
+        queries.put("TestResultRepository.findByUserIdAndTestTypeOrderByCreatedAtDesc", () -> testResultRepository
+                .findByUserIdAndTestTypeOrderByCreatedAtDesc(userId, "MBTI"));
+        queries.put("TestResultRepository.findByUserIdAndTestTypeAndIsCompletedTrue", () -> testResultRepository
+                .findByUserIdAndTestTypeAndIsCompletedTrue(userId, "MBTI"));
+        queries.put("TestResultRepository.findCompletedTestsByUserId", () -> testResultRepository
+                .findCompletedTestsByUserId(userId));
+        queries.put("TestResultRepository.countCompletedTestsByType", () -> testResultRepository
+                .countCompletedTestsByType("MBTI"));
+        queries.put("TestResultRepository.existsByUserIdAndTestTypeAndIsCompletedTrue", () -> testResultRepository
+                .existsByUserIdAndTestTypeAndIsCompletedTrue(userId, "MBTI"));
+        queries.put("TestResultRepository.findBySessionId", () -> testResultRepository.findBySessionId(sessionId));
+
+        queries.put("CounselingSessionRepository.findByUserIdOrderByScheduledAtDesc", () -> counselingSessionRepository
+                .findByUserIdOrderByScheduledAtDesc(userId, PageRequest.ofSize(20)));
+        queries.put("CounselingSessionRepository.findByCounselorIdOrderByScheduledAtDesc", () -> counselingSessionRepository
+                .findByCounselorIdOrderByScheduledAtDesc(userId, PageRequest.ofSize(20)));
+        queries.put("CounselingSessionRepository.findByStatusOrderByScheduledAtAsc", () -> counselingSessionRepository
+                .findByStatusOrderByScheduledAtAsc(CounselingSession.SessionStatus.SCHEDULED));
+        queries.put("CounselingSessionRepository.findUpcomingSessionsForUser", () -> counselingSessionRepository
+                .findUpcomingSessionsForUser(userId, now, open));
+        queries.put("CounselingSessionRepository.findUpcomingSessionsForCounselor", () -> counselingSessionRepository
+                .findUpcomingSessionsForCounselor(userId, now, open));
+        queries.put("CounselingSessionRepository.findSessionsInDateRange", () -> counselingSessionRepository
+                .findSessionsInDateRange(now, now.plusDays(7)));
+        queries.put("CounselingSessionRepository.countSessionsByUserAndStatus", () -> counselingSessionRepository
+                .countSessionsByUserAndStatus(userId, CounselingSession.SessionStatus.COMPLETED));
+        queries.put("CounselingSessionRepository.findSessionsNeedingFollowup",
+                counselingSessionRepository::findSessionsNeedingFollowup);
+        queries.put("CounselingSessionRepository.findConflictingSessions", () -> counselingSessionRepository
+                .findConflictingSessions(userId, now, now.plusHours(1)));
+
+        // A query method added to a repository must be added here too
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : List.of(UserRepository.class, AssessmentSessionRepository.class,
+                UserAnswerRepository.class, TestResultRepository.class, CounselingSessionRepository.class)) {
+            for (Method method : repository.getDeclaredMethods()) {
+                declared.add(repository.getSimpleName() + "." + method.getName());
+            }
+        }
+        assertThat(queries.keySet()).containsExactlyInAnyOrderElementsOf(declared);
+
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            RecordingInspector.statements.clear();
+            query.getValue().run();
+            List<String> statements = RecordingInspector.statements.stream()
+                    .filter(sql -> !sql.trim().toLowerCase(Locale.ROOT).startsWith("insert"))
+                    .toList();
+            assertThat(statements).as("statements issued by %s", query.getKey()).isNotEmpty();
+            for (String sql : statements) {
+                assertThat(sequentialScans(explain(sql)))
+                        .as("%s ran %s", query.getKey(), sql)
+                        .isEmpty();
+            }
+        }
+    }
+
+    private JsonNode explain(String sql) throws Exception {
+        // JDBC placeholders become $n so Postgres can plan the statement without values
+        StringBuilder numbered = new StringBuilder(sql.length() + 16);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off");
+            try (ResultSet plan = statement.executeQuery("EXPLAIN (GENERIC_PLAN, FORMAT JSON) " + numbered)) {
+                plan.next();
+                return objectMapper.readTree(plan.getString(1));
+            } finally {
+                statement.execute("RESET enable_seqscan");
+            }
+        }
+    }
+
+    private static List<String> sequentialScans(JsonNode node) {
+        List<String> scans = new ArrayList<>();
+        if (node.isObject()) {
+            if ("Seq Scan".equals(node.path("Node Type").asText())
+                    && LARGE_TABLES.contains(node.path("Relation Name").asText())) {
+                scans.add(node.path("Relation Name").asText());
+            }
+            node.fields().forEachRemaining(field -> scans.addAll(sequentialScans(field.getValue())));
+        } else if (node.isArray()) {
+            node.forEach(element -> scans.addAll(sequentialScans(element)));
+        }
+        return scans;
+    }
+
+    /**
+     * Records every SQL statement Hibernate prepares, native queries included.
+     */
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.zplus.counselling.security;
+
+import com.zplus.counselling.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder(int strength) {
+        return new BoundedPasswordEncoder(strength, 1, 4, Duration.ofSeconds(2), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    void testHashesOnPoolAndRecordsTimings() {
+        try (BoundedPasswordEncoder encoder = encoder(4)) {
+            String hash = encoder.encode("password123");
+
+            assertThat(hash).startsWith("$2a$04$");
+            assertThat(encoder.matches("password123", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count()).isEqualTo(2);
+            assertThat(meterRegistry.get("security.password.hash.queue").timer().count()).isEqualTo(3);
+        }
+    }
+
+    @Test
+    void testRequestsRehashWhenCostChangesInEitherDirection() {
+        try (BoundedPasswordEncoder encoder = encoder(5)) {
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("pw"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("pw"))).isTrue();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(5).encode("pw"))).isFalse();
+            assertThat(encoder.upgradeEncoding("not-a-bcrypt-hash")).isFalse();
+        }
+    }
+
+    @Test
+    void testRejectsWhenPoolCannotAcceptWork() {
+        BoundedPasswordEncoder encoder = encoder(4);
+        encoder.close();
+
+        assertThatThrownBy(() -> encoder.encode("password123"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(ex -> assertThat(((ServiceOverloadedException) ex).getRetryAfter()).isEqualTo(Duration.ofSeconds(5)));
+        assertThat(meterRegistry.get("security.password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,120 @@
+package com.zplus.counselling.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JwtTokenProviderTest {
+
+    private static final String SECRET =
+            "dGVzdFNlY3JldEtleUZvclRlc3RpbmdQdXJwb3Nlc09ubHlUaGlzSXNBVmVyeUxvbmdTZWNyZXRLZXk=";
+    private static final String OTHER_SECRET =
+            "b3RoZXJTZWNyZXRLZXlGb3JUZXN0aW5nUHVycG9zZXNPbmx5VGhpc0lzQVZlcnlMb25nU2VjcmV0S2V5";
+
+    private final UUID userId = UUID.randomUUID();
+    private final Authentication authentication = authentication(userId);
+
+    private static JwtTokenProvider provider(String secret, long expirationMs, boolean cached) {
+        return new JwtTokenProvider(secret, expirationMs, 86_400_000, cached, 100, new SimpleMeterRegistry());
+    }
+
+    private static Authentication authentication(UUID userId) {
+        List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority("ROLE_ADMIN"));
+        UserPrincipal principal = new UserPrincipal(userId, "user@example.com", null, "User", authorities);
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
+
+    @Test
+    void testParseReturnsTheClaimsOfAValidToken() {
+        JwtTokenProvider provider = provider(SECRET, 3_600_000, false);
+        Instant before = Instant.now();
+
+        JwtClaims claims = provider.parse(provider.generateToken(authentication)).orElseThrow();
+
+        assertThat(claims.subject()).isEqualTo("user@example.com");
+        assertThat(claims.userId()).isEqualTo(userId.toString());
+        assertThat(claims.role()).isEqualTo("ROLE_ADMIN");
+        assertThat(claims.tokenId()).isNotBlank();
+        // Millisecond issue time from iatMs, not iat's whole seconds
+        assertThat(claims.issuedAt()).isBetween(before.truncatedTo(ChronoUnit.MILLIS), Instant.now());
+        assertThat(claims.expiresAt()).isAfter(Instant.now().plus(Duration.ofMinutes(59)));
+    }
+
+    @Test
+    void testParseRejectsExpiredMalformedAndForeignTokens() {
+        JwtTokenProvider provider = provider(SECRET, 3_600_000, false);
+        String token = provider.generateToken(authentication);
+
+        assertThat(provider.parse(provider(SECRET, -1_000, false).generateToken(authentication))).isEmpty();
+        assertThat(provider.parse(provider(OTHER_SECRET, 3_600_000, false).generateToken(authentication))).isEmpty();
+        assertThat(provider.parse(withPayloadOf(token, provider(SECRET, 3_600_000, false)
+                .generateToken(authentication(UUID.randomUUID()))))).isEmpty();
+        assertThat(provider.parse("not.a.token")).isEmpty();
+        assertThat(provider.parse("")).isEmpty();
+        assertThat(provider.parse(null)).isEmpty();
+    }
+
+    @Test
+    void testCachedParseVerifiesEachDistinctTokenOnce() {
+        JwtTokenProvider provider = provider(SECRET, 3_600_000, true);
+        String token = provider.generateToken(authentication);
+
+        JwtClaims first = provider.parse(token).orElseThrow();
+        assertThat(provider.parse(token)).containsSame(first);
+
+        // A forged token never matches a cached entry, whatever it claims
+        assertThat(provider.parse(provider(OTHER_SECRET, 3_600_000, true).generateToken(authentication))).isEmpty();
+        assertThat(provider.parse(provider(SECRET, -1_000, true).generateToken(authentication))).isEmpty();
+    }
+
+    @Test
+    void testCacheEntryExpiresWithItsToken() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        Cache<String, JwtClaims> cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(Runnable::run)
+                .expireAfter(new ExpireWithToken<>(JwtClaims::expiresAt))
+                .build();
+        Instant now = Instant.now();
+
+        cache.put("valid", claims(now.plusSeconds(60)));
+        cache.put("expired", claims(now.minusSeconds(1)));
+        cache.put("no-exp", claims(null));
+
+        assertThat(cache.getIfPresent("valid")).isNotNull();
+        assertThat(cache.getIfPresent("expired")).isNull();
+        assertThat(cache.getIfPresent("no-exp")).isNull();
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(58));
+        // Reads do not extend the entry past exp
+        assertThat(cache.getIfPresent("valid")).isNotNull();
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(3));
+        assertThat(cache.getIfPresent("valid")).isNull();
+    }
+
+    private static JwtClaims claims(Instant expiresAt) {
+        return new JwtClaims("user@example.com", UUID.randomUUID().toString(), "ROLE_USER", "jti", Instant.now(), expiresAt);
+    }
+
+    /** The header and signature of {@code token} around the payload of {@code other}. */
+    private static String withPayloadOf(String token, String other) {
+        String[] parts = token.split("\\.");
+        return parts[0] + "." + other.split("\\.")[1] + "." + parts[2];
+    }
+}
@@ -0,0 +1,96 @@
+package com.zplus.counselling.security;
+
+import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.service.auth.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UserPrincipalCacheTest {
+
+    private final UserPrincipalCache cache = new UserPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+    private final UUID userId = UUID.randomUUID();
+    private final AtomicInteger loads = new AtomicInteger();
+    private String role = "ROLE_USER";
+
+    private final Function<UUID, UserPrincipal> loader = id -> {
+        loads.incrementAndGet();
+        return new UserPrincipal(id, "user@example.com", "$2a$12$hash", "User", List.of(new SimpleGrantedAuthority(role)));
+    };
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void testPrincipalIsLoadedOnceAndCachedWithoutItsPasswordHash() {
+        UserPrincipal first = cache.get(userId, loader);
+        UserPrincipal second = cache.get(userId, loader);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getPassword()).isNull();
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void testSavingTheUserEvictsTheCachedPrincipal() {
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        UserService userService = new UserService(userRepository, cache);
+        User user = new User();
+        user.setId(userId);
+
+        cache.get(userId, loader);
+        role = "ROLE_ADMIN";
+        userService.save(user);
+
+        assertThat(cache.get(userId, loader).getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void testEvictionIsRepeatedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        cache.get(userId, loader);
+
+        cache.evict(userId);
+        // A request racing the uncommitted update re-caches the old row
+        cache.get(userId, loader);
+        role = "ROLE_ADMIN";
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get(userId, loader).getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void testEvictAllDropsEveryPrincipal() {
+        UUID otherId = UUID.randomUUID();
+        cache.get(userId, loader);
+        cache.get(otherId, loader);
+
+        cache.evictAll();
+        cache.get(userId, loader);
+        cache.get(otherId, loader);
+
+        assertThat(loads).hasValue(4);
+    }
+}
@@ -0,0 +1,130 @@
+package com.zplus.counselling.security.firebase;
+
+import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.security.UserPrincipal;
+import com.zplus.counselling.security.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class FirebaseUserResolverTest {
+
+    private final FirebaseTokenVerifier verifier = mock(FirebaseTokenVerifier.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final AtomicReference<User> stored = new AtomicReference<>();
+    private FirebaseUserResolver resolver;
+
+    private final FirebaseIdentity identity = new FirebaseIdentity(
+            "firebase-uid", "user@example.com", "User", null, true, Instant.now().plusSeconds(3600));
+
+    @BeforeEach
+    void setUp() {
+        resolver = new FirebaseUserResolver(verifier, userRepository,
+                new UserPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1)),
+                new SimpleMeterRegistry(), 100, 100, Duration.ofMinutes(10));
+        when(userRepository.findByFirebaseUid("firebase-uid")).thenAnswer(invocation -> Optional.ofNullable(stored.get()));
+        when(userRepository.findByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findById(any())).thenAnswer(invocation -> Optional.ofNullable(stored.get())
+                .filter(user -> user.getId().equals(invocation.getArgument(0))));
+    }
+
+    private static User withId(User user) {
+        user.setId(UUID.randomUUID());
+        user.setRole("USER");
+        return user;
+    }
+
+    @Test
+    void testConcurrentFirstRequestsProvisionOneUser() throws Exception {
+        when(userRepository.save(any())).thenAnswer(invocation -> {
+            // Slow enough that every caller arrives while the first is still provisioning
+            Thread.sleep(200);
+            User user = withId(invocation.getArgument(0));
+            stored.set(user);
+            return user;
+        });
+
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<UserPrincipal>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return resolver.resolve(identity);
+                }));
+            }
+            start.countDown();
+            for (Future<UserPrincipal> result : results) {
+                assertThat(result.get().getId()).isEqualTo(stored.get().getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(userRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testUniqueViolationFromAnotherNodeFallsBackToTheStoredUser() {
+        User provisionedElsewhere = withId(new User());
+        provisionedElsewhere.setFirebaseUid("firebase-uid");
+        when(userRepository.save(any())).thenAnswer(invocation -> {
+            stored.set(provisionedElsewhere);
+            throw new DataIntegrityViolationException("duplicate key value violates unique constraint");
+        });
+
+        UserPrincipal principal = resolver.resolve(identity);
+
+        assertThat(principal.getId()).isEqualTo(provisionedElsewhere.getId());
+        verify(userRepository, times(2)).findByFirebaseUid("firebase-uid");
+    }
+
+    @Test
+    void testUniqueViolationWithoutAStoredUserIsRethrown() {
+        when(userRepository.save(any())).thenThrow(new DataIntegrityViolationException("users_email_key"));
+
+        assertThatThrownBy(() -> resolver.resolve(identity)).isInstanceOf(DataIntegrityViolationException.class);
+
+        // Nothing was cached for the uid, so the next request tries again
+        User user = withId(new User());
+        stored.set(user);
+        assertThat(resolver.resolve(identity).getId()).isEqualTo(user.getId());
+    }
+
+    @Test
+    void testVerifiedTokenIsReusedUntilItExpires() {
+        FirebaseIdentity expired = new FirebaseIdentity("uid", "user@example.com", null, null, true, Instant.now().minusSeconds(1));
+        when(verifier.verify("live-token")).thenReturn(identity);
+        when(verifier.verify("expired-token")).thenReturn(expired);
+
+        assertThat(resolver.verify("live-token")).isSameAs(identity);
+        assertThat(resolver.verify("live-token")).isSameAs(identity);
+        resolver.verify("expired-token");
+        resolver.verify("expired-token");
+
+        verify(verifier, times(1)).verify("live-token");
+        verify(verifier, times(2)).verify("expired-token");
+    }
+}
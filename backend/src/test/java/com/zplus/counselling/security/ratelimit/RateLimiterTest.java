@@ -0,0 +1,39 @@
+package com.zplus.counselling.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RateLimiterTest {
+
+    @Test
+    void testKeysPastMaxKeysShareOneBucket() {
+        RateLimitProperties.Route login = new RateLimitProperties.Route();
+        login.setName("login");
+        login.setPattern("/auth/login");
+        login.setKey(RateLimitProperties.KeyType.IP);
+        login.setLimit(2);
+        login.setPeriod(Duration.ofHours(1));
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxKeys(2);
+        properties.setRoutes(List.of(login));
+        RateLimiter limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        RateLimiter.Route route = limiter.routes().get(0);
+
+        assertThat(limiter.tryAcquire(route, "10.0.0.1")).isZero();
+        assertThat(limiter.tryAcquire(route, "10.0.0.2")).isZero();
+
+        // Rotating addresses past the bound draws from one shared bucket instead of getting through
+        assertThat(limiter.tryAcquire(route, "10.0.0.3")).isZero();
+        assertThat(limiter.tryAcquire(route, "10.0.0.4")).isZero();
+        assertThat(limiter.tryAcquire(route, "10.0.0.5")).isPositive();
+        assertThat(route.buckets).containsOnlyKeys("10.0.0.1", "10.0.0.2");
+
+        // Clients that already have a bucket keep their own allowance
+        assertThat(limiter.tryAcquire(route, "10.0.0.1")).isZero();
+    }
+}
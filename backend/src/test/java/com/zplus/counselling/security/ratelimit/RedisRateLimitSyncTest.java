@@ -0,0 +1,118 @@
+package com.zplus.counselling.security.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes sharing a real Redis, each with its own {@link RateLimiter}.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class RedisRateLimitSyncTest {
+
+    private static final String CLIENT = "10.0.0.1";
+
+    @Container
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate redis;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis = new StringRedisTemplate(connectionFactory);
+        redis.afterPropertiesSet();
+        redis.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+    }
+
+    @Test
+    void testNodesAreChargedForEachOthersAdmissions() {
+        Node a = new Node();
+        Node b = new Node();
+
+        a.admit(5);
+        a.sync.sync();
+        b.admit(3);
+        b.sync.sync();
+        a.admit(1);
+        a.sync.sync();
+
+        // 6 admitted here plus 3 charged from node b leaves one of the 10
+        assertThat(a.admit(2)).isEqualTo(1);
+    }
+
+    @Test
+    void testBucketRecreatedAfterSweepIsNotChargedForItsOwnHistory() {
+        Node a = new Node();
+        a.admit(5);
+        a.sync.sync();
+
+        // As if sweep() dropped the bucket once it had refilled
+        a.route.buckets.clear();
+        a.admit(1);
+        a.sync.sync();
+
+        assertThat(a.admit(10)).isEqualTo(9);
+    }
+
+    private class Node {
+
+        final RateLimiter limiter;
+        final RateLimiter.Route route;
+        final RedisRateLimitSync sync;
+
+        Node() {
+            RateLimitProperties.Route login = new RateLimitProperties.Route();
+            login.setName("login");
+            login.setPattern("/auth/login");
+            login.setKey(RateLimitProperties.KeyType.IP);
+            login.setLimit(10);
+            login.setPeriod(Duration.ofHours(1));
+            RateLimitProperties properties = new RateLimitProperties();
+            properties.setRoutes(List.of(login));
+            limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+            route = limiter.routes().get(0);
+            sync = new RedisRateLimitSync(redis, limiter, "test:ratelimit");
+        }
+
+        /**
+         * @return how many of the attempts were admitted
+         */
+        int admit(int attempts) {
+            int admitted = 0;
+            for (int i = 0; i < attempts; i++) {
+                if (limiter.tryAcquire(route, CLIENT) == 0) {
+                    admitted++;
+                }
+            }
+            return admitted;
+        }
+    }
+}
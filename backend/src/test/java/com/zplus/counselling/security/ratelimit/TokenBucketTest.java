@@ -0,0 +1,42 @@
+package com.zplus.counselling.security.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TokenBucketTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void testAdmitsBurstThenRefillsAtRate() {
+        // 1 request per second, bursts of 3
+        TokenBucket bucket = new TokenBucket(SECOND, 3, 0);
+
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+        assertThat(bucket.tryAcquire(SECOND)).isEqualTo(SECOND);
+        assertThat(bucket.isIdle(SECOND)).isFalse();
+        assertThat(bucket.isIdle(4 * SECOND)).isFalse(); // admissions not yet synced
+
+        assertThat(bucket.drainUnsynced()).isEqualTo(4);
+        assertThat(bucket.isIdle(4 * SECOND)).isTrue();
+    }
+
+    @Test
+    void testRemoteConsumptionIsCappedAtOneBurst() {
+        TokenBucket bucket = new TokenBucket(SECOND, 3, 0);
+
+        bucket.consume(1_000, 0);
+
+        // Fully drained, but a caller never waits longer than a refill of one permit past the burst
+        assertThat(bucket.tryAcquire(0)).isEqualTo(SECOND);
+        assertThat(bucket.tryAcquire(SECOND)).isZero();
+    }
+}
@@ -0,0 +1,119 @@
+package com.zplus.counselling.security.revocation;
+
+import com.zplus.counselling.security.JwtClaims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TokenRevocationServiceTest {
+
+    private static final long DAY_MS = Duration.ofDays(1).toMillis();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TokenRevocationService service(RevocationStore store) {
+        TokenRevocationService service = new TokenRevocationService(store, meterRegistry, 1_000, 0.01, DAY_MS);
+        service.start();
+        return service;
+    }
+
+    private static JwtClaims token(UUID userId, String tokenId, Instant issuedAt, Instant expiresAt) {
+        return new JwtClaims("user@example.com", userId.toString(), "ROLE_USER", tokenId, issuedAt, expiresAt);
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("security.revocation.checks").tag("result", result).counter().count();
+    }
+
+    @Test
+    void testRevokedTokenIdIsConfirmedByTheStore() {
+        TokenRevocationService service = service(new LocalRevocationStore());
+        Instant now = Instant.now();
+        JwtClaims refresh = token(UUID.randomUUID(), "jti-1", now, now.plusSeconds(60));
+        JwtClaims other = token(UUID.randomUUID(), "jti-2", now, now.plusSeconds(60));
+
+        assertThat(service.isRevoked(refresh)).isFalse();
+        assertThat(service.revoke(refresh)).isTrue();
+        assertThat(service.isRevoked(refresh)).isTrue();
+        assertThat(service.isRevoked(other)).isFalse();
+        // A replayed refresh token is reported as already revoked
+        assertThat(service.revoke(refresh)).isFalse();
+        assertThat(checks("token-revoked")).isEqualTo(1);
+    }
+
+    @Test
+    void testBloomFilterHitIsCheckedAgainstTheStore() {
+        RevocationStore store = mock(RevocationStore.class);
+        TokenRevocationService service = service(store);
+        Instant now = Instant.now();
+        JwtClaims token = token(UUID.randomUUID(), "jti-1", now, now.plusSeconds(60));
+
+        // Not in the filter: the store is never asked
+        assertThat(service.isRevoked(token)).isFalse();
+        verify(store, never()).isTokenRevoked(anyString());
+
+        // In the filter but not in the store, e.g. expired and not yet dropped by a rebuild
+        service.onTokenRevoked("jti-1");
+        when(store.isTokenRevoked("jti-1")).thenReturn(false);
+        assertThat(service.isRevoked(token)).isFalse();
+        assertThat(checks("false-positive")).isEqualTo(1);
+
+        // A filter hit that cannot be confirmed is rejected
+        when(store.isTokenRevoked("jti-1")).thenThrow(new IllegalStateException("store unavailable"));
+        assertThat(service.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void testUserCutOffRevokesTokensIssuedUpToIt() {
+        TokenRevocationService service = service(new LocalRevocationStore());
+        UUID userId = UUID.randomUUID();
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        Instant cutoff = Instant.parse("2026-01-01T10:00:00.400Z");
+        service.onUserRevoked(userId, cutoff);
+
+        assertThat(service.isRevoked(token(userId, null, cutoff.minusSeconds(1), expiresAt))).isTrue();
+        assertThat(service.isRevoked(token(userId, null, cutoff, expiresAt))).isTrue();
+        assertThat(service.isRevoked(token(userId, null, null, expiresAt))).isTrue();
+        // Issued later in the same second, e.g. a login right after logging out
+        assertThat(service.isRevoked(token(userId, null, cutoff.plusMillis(1), expiresAt))).isFalse();
+        assertThat(service.isRevoked(token(UUID.randomUUID(), null, cutoff, expiresAt))).isFalse();
+
+        // An older cut-off arriving late does not move it back
+        service.onUserRevoked(userId, cutoff.minusSeconds(10));
+        assertThat(service.isRevoked(token(userId, null, cutoff.minusSeconds(1), expiresAt))).isTrue();
+    }
+
+    @Test
+    void testRevokeAllDoesNotCatchTheNextLogin() {
+        TokenRevocationService service = service(new LocalRevocationStore());
+        UUID userId = UUID.randomUUID();
+        Instant before = Instant.now();
+
+        service.revokeAll(userId);
+        Instant after = Instant.now().plusMillis(1);
+
+        assertThat(service.isRevoked(token(userId, null, before.minusMillis(1), after.plusSeconds(60)))).isTrue();
+        assertThat(service.isRevoked(token(userId, null, after, after.plusSeconds(60)))).isFalse();
+    }
+
+    @Test
+    void testRevokeIgnoresTokensThatCannotBeUsedAgain() {
+        RevocationStore store = mock(RevocationStore.class);
+        TokenRevocationService service = service(store);
+        Instant now = Instant.now();
+
+        assertThat(service.revoke(token(UUID.randomUUID(), "jti-1", now.minusSeconds(120), now.minusSeconds(60)))).isTrue();
+        assertThat(service.revoke(token(UUID.randomUUID(), null, now, now.plusSeconds(60)))).isTrue();
+
+        verify(store, never()).revokeToken(anyString(), any());
+    }
+}
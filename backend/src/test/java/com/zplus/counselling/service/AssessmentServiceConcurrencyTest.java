@@ -0,0 +1,126 @@
+package com.zplus.counselling.service;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.entity.postgres.TestResult;
+import com.zplus.counselling.entity.postgres.User;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import com.zplus.counselling.repository.postgres.TestResultRepository;
+import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.service.assessment.AssessmentTemplateCache;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.completion.FinalizedResult;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Duplicate deliveries of one completion message, scored at the same time against the test
+ * database. Scoring is slowed down so every delivery overlaps the first one.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class AssessmentServiceConcurrencyTest {
+
+    private static final int DELIVERIES = 4;
+
+    @Autowired
+    private AssessmentService assessmentService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private AssessmentSessionRepository sessionRepository;
+    @Autowired
+    private TestResultRepository testResultRepository;
+
+    @MockBean
+    private AssessmentTemplateCache templateCache;
+
+    private AssessmentSession session;
+
+    @BeforeEach
+    void setUp() {
+        AssessmentTemplate template = new AssessmentTemplate();
+        template.setId("mbti-template");
+        template.setTestType("MBTI");
+        template.setQuestions(List.of());
+        CompiledTemplate compiled = CompiledTemplate.compile(template, ScoringStrategyRegistry.defaults());
+        when(templateCache.findForSession(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Optional.of(compiled);
+        });
+
+        User user = new User();
+        user.setEmail("concurrent@example.com");
+        user.setFullName("Concurrent Scoring");
+        user.setCreatedAt(LocalDateTime.now());
+        user = userRepository.save(user);
+
+        session = new AssessmentSession();
+        session.setUser(user);
+        session.setTemplateId("mbti-template");
+        session.setStatus(AssessmentSession.SessionStatus.COMPLETED);
+        session.setCompletedAt(LocalDateTime.now());
+        session.setResultStatus(AssessmentSession.ResultStatus.PENDING);
+        session.setCreatedAt(LocalDateTime.now());
+        session = sessionRepository.save(session);
+    }
+
+    @AfterEach
+    void tearDown() {
+        testResultRepository.deleteAll();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void testConcurrentDeliveriesStoreOneResult() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(DELIVERIES);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Optional<FinalizedResult>>> deliveries = new ArrayList<>();
+        try {
+            for (int i = 0; i < DELIVERIES; i++) {
+                deliveries.add(executor.submit(() -> {
+                    start.await();
+                    return assessmentService.finalizeResult(session.getId());
+                }));
+            }
+            start.countDown();
+
+            List<FinalizedResult> finalized = new ArrayList<>();
+            for (Future<Optional<FinalizedResult>> delivery : deliveries) {
+                delivery.get().ifPresent(finalized::add);
+            }
+
+            List<TestResult> stored = testResultRepository.findAll();
+            assertThat(finalized).hasSize(1);
+            assertThat(stored).singleElement().satisfies(result -> {
+                assertThat(result.getId()).isEqualTo(finalized.get(0).resultId());
+                assertThat(result.getSessionId()).isEqualTo(session.getId());
+            });
+            assertThat(sessionRepository.findById(session.getId())).get()
+                    .extracting(AssessmentSession::getResultStatus, AssessmentSession::getResultId)
+                    .containsExactly(AssessmentSession.ResultStatus.READY, stored.get(0).getId());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -1,26 +1,57 @@
 package com.zplus.counselling.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.zplus.counselling.dto.AssessmentResultDto;
+import com.zplus.counselling.dto.AssessmentSessionDto;
+import com.zplus.counselling.dto.AvailableAssessmentDto;
+import com.zplus.counselling.dto.RenderedQuestion;
+import com.zplus.counselling.dto.SubmitAnswerRequest;
+import com.zplus.counselling.dto.SubmitAnswerResponse;
+import com.zplus.counselling.dto.SubmitAnswersRequest;
+import com.zplus.counselling.dto.common.CursorPageResponse;
 import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
 import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.entity.postgres.TestResult;
+import com.zplus.counselling.exception.BadRequestException;
 import com.zplus.counselling.entity.postgres.User;
 import com.zplus.counselling.entity.postgres.UserAnswer;
 import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateSummary;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateVersionRepository;
 import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
 import com.zplus.counselling.repository.postgres.TestResultRepository;
 import com.zplus.counselling.repository.postgres.UserAnswerRepository;
 import com.zplus.counselling.repository.postgres.UserRepository;
+import com.zplus.counselling.service.assessment.AssessmentCatalog;
+import com.zplus.counselling.service.assessment.AssessmentResultCache;
+import com.zplus.counselling.service.assessment.AssessmentResponseCache;
+import com.zplus.counselling.service.assessment.AssessmentTemplateCache;
+import com.zplus.counselling.service.assessment.AssessmentTemplateVersions;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import com.zplus.counselling.service.assessment.UserAttemptsCache;
+import com.zplus.counselling.service.assessment.buffer.AnswerWriteBehindBuffer;
+import com.zplus.counselling.service.assessment.completion.AssessmentCompletedEvent;
+import com.zplus.counselling.service.assessment.completion.FinalizedResult;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,12 +64,16 @@ public class AssessmentServiceTest {
     @Mock
     private AssessmentTemplateRepository templateRepository;
     @Mock
+    private AssessmentTemplateVersionRepository versionRepository;
+    @Mock
     private UserRepository userRepository;
     @Mock
     private TestResultRepository testResultRepository;
 
-    @InjectMocks
     private AssessmentService assessmentService;
+    private AssessmentCatalog catalog;
+    private UserAttemptsCache userAttemptsCache;
+    private final List<Object> publishedEvents = new ArrayList<>();
 
     private User mockUser;
     private AssessmentSession mockSession;
@@ -47,6 +82,15 @@ public class AssessmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        AssessmentTemplateCache templateCache = new AssessmentTemplateCache(templateRepository, versionRepository,
+                ScoringStrategyRegistry.defaults(), new SimpleMeterRegistry(), 16, Duration.ofMinutes(1));
+        catalog = new AssessmentCatalog(templateRepository, new SimpleMeterRegistry(), Duration.ofMinutes(1));
+        userAttemptsCache = new UserAttemptsCache(sessionRepository, new SimpleMeterRegistry(), 16, Duration.ofMinutes(1));
+        assessmentService = new AssessmentService(sessionRepository, answerRepository, templateRepository,
+                userRepository, testResultRepository, templateCache, catalog, userAttemptsCache,
+                new AssessmentResultCache(testResultRepository, new SimpleMeterRegistry(), 16, Duration.ofMinutes(1)),
+                new ScoringService(), Optional.empty(), publishedEvents::add);
+
         UUID userId = UUID.randomUUID();
         mockUser = new User();
         mockUser.setId(userId);
@@ -122,6 +166,85 @@ public class AssessmentServiceTest {
         verify(testResultRepository, times(1)).save(any());
     }
 
+    @Test
+    void testResultIsServedFromSnapshotWithoutRescoring() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(mockSession));
+        when(templateRepository.findById(mockSession.getTemplateId())).thenReturn(Optional.of(personalityTemplate));
+        UserAnswer answer = new UserAnswer();
+        answer.setQuestionId("q1");
+        answer.setSelectedOptionId("o1");
+        when(answerRepository.findBySessionOrderByQuestionNumber(any())).thenReturn(List.of(answer));
+        AssessmentResultDto completed = assessmentService.completeAssessment(sessionId.toString());
+
+        // When
+        AssessmentResultDto read = assessmentService.getAssessmentResult(sessionId.toString(), mockUser.getId());
+
+        // Then
+        assertThat(read).isEqualTo(completed);
+        assertThat(read.getResultStatus()).isEqualTo("READY");
+        verify(answerRepository, times(1)).findBySessionOrderByQuestionNumber(any());
+        verify(sessionRepository, times(1)).findById(sessionId);
+        assertThatThrownBy(() -> assessmentService.getAssessmentResult(sessionId.toString(), UUID.randomUUID()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testResultReadNeverScoresPendingOrFailedSessions() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        mockSession.setStatus(AssessmentSession.SessionStatus.COMPLETED);
+        mockSession.setResultStatus(AssessmentSession.ResultStatus.PENDING);
+        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(mockSession));
+
+        // When
+        AssessmentResultDto pending = assessmentService.getAssessmentResult(sessionId.toString(), mockUser.getId());
+        mockSession.setResultStatus(AssessmentSession.ResultStatus.FAILED);
+        AssessmentResultDto failed = assessmentService.getAssessmentResult(sessionId.toString(), mockUser.getId());
+
+        // Then
+        assertThat(pending.getResultStatus()).isEqualTo("PENDING");
+        assertThat(pending.getScores()).isNull();
+        assertThat(failed.getResultStatus()).isEqualTo("FAILED");
+        verifyNoInteractions(answerRepository, templateRepository);
+    }
+
+    @Test
+    void testOutdatedSnapshotIsRescoredOnceAndRewritten() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        UUID resultId = UUID.randomUUID();
+        mockSession.setStatus(AssessmentSession.SessionStatus.COMPLETED);
+        mockSession.setResultStatus(AssessmentSession.ResultStatus.READY);
+        mockSession.setResultId(resultId);
+        TestResult outdated = new TestResult();
+        outdated.setId(resultId);
+        outdated.setUser(mockUser);
+        outdated.setResultSnapshot(AssessmentResultDto.builder().resultId(sessionId.toString()).build());
+        outdated.setScoringVersion(ScoringService.SCORING_VERSION - 1);
+        when(testResultRepository.findBySessionId(sessionId)).thenReturn(Optional.of(outdated));
+        when(testResultRepository.findById(resultId)).thenReturn(Optional.of(outdated));
+        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(mockSession));
+        when(templateRepository.findById(mockSession.getTemplateId())).thenReturn(Optional.of(personalityTemplate));
+        UserAnswer answer = new UserAnswer();
+        answer.setQuestionId("q1");
+        answer.setSelectedOptionId("o1");
+        when(answerRepository.findBySessionOrderByQuestionNumber(any())).thenReturn(List.of(answer));
+
+        // When
+        AssessmentResultDto first = assessmentService.getAssessmentResult(sessionId.toString(), mockUser.getId());
+        AssessmentResultDto second = assessmentService.getAssessmentResult(sessionId.toString(), mockUser.getId());
+
+        // Then
+        assertThat(first.getScores()).containsEntry("E", 1);
+        assertThat(second).isSameAs(first);
+        assertThat(outdated.getScoringVersion()).isEqualTo(ScoringService.SCORING_VERSION);
+        assertThat(outdated.getResultSnapshot()).isSameAs(first);
+        verify(testResultRepository, times(1)).save(outdated);
+        verify(answerRepository, times(1)).findBySessionOrderByQuestionNumber(any());
+    }
+
     @Test
     void testCompleteAptitudeAssessment() {
         // Given
@@ -146,4 +269,396 @@ public class AssessmentServiceTest {
         assertThat(result.getPersonalityType()).isEqualTo("N/A");
         verify(testResultRepository, times(1)).save(any());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSubmitAnswersSkipsDuplicatesAndAdvancesOnce() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(answerRepository.findQuestionIdsBySessionId(sessionId)).thenReturn(List.of());
+        when(sessionRepository.advance(sessionId, 1)).thenReturn(Optional.of(progress(1, "apt-123")));
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+
+        SubmitAnswersRequest request = new SubmitAnswersRequest(sessionId.toString(), List.of(
+                new SubmitAnswersRequest.Answer("aq1", "ao1", 4.0),
+                new SubmitAnswersRequest.Answer("aq1", "ao1", 4.0)), null);
+
+        // When
+        SubmitAnswerResponse response = assessmentService.submitAnswers(request);
+
+        // Then
+        assertThat(response.getAcceptedAnswers()).isEqualTo(1);
+        assertThat(response.getCompletionPercentage()).isEqualTo(100.0);
+        verify(answerRepository, times(1)).saveAll(argThat(answers -> ((Collection<?>) answers).size() == 1));
+        verify(answerRepository, never()).save(any());
+        verify(sessionRepository, times(1)).advance(sessionId, 1);
+        verify(sessionRepository, never()).save(any());
+    }
+
+    @Test
+    void testSubmitAnswerToFinishedSessionIsRejectedWithoutLoadingIt() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(sessionRepository.advance(sessionId, 1)).thenReturn(Optional.empty());
+        when(sessionRepository.existsById(sessionId)).thenReturn(true);
+
+        // When / Then
+        assertThatThrownBy(() -> assessmentService.submitAnswer(
+                new SubmitAnswerRequest(sessionId.toString(), "aq1", "ao1", 3.0, null)))
+                .isInstanceOf(BadRequestException.class);
+        verify(sessionRepository, never()).findById(any());
+        verify(answerRepository, never()).save(any());
+    }
+
+    @Test
+    void testNewAnswerIsStoredWithTheReservedNumber() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(sessionRepository.advance(sessionId, 1)).thenReturn(Optional.of(progress(1, "apt-123")));
+        when(answerRepository.existsBySessionIdAndQuestionId(sessionId, "aq1")).thenReturn(false);
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+
+        // When
+        SubmitAnswerResponse response = assessmentService.submitAnswer(
+                new SubmitAnswerRequest(sessionId.toString(), "aq1", "ao1", 3.0, null));
+
+        // Then
+        assertThat(response.getCompletionPercentage()).isEqualTo(100.0);
+        verify(answerRepository).save(argThat(answer -> answer.getQuestionNumber() == 1 && "aq1".equals(answer.getQuestionId())));
+        verify(sessionRepository, never()).advance(sessionId, -1);
+    }
+
+    @Test
+    void testRepeatedAnswerIsNotStoredAndGivesItsNumberBack() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(sessionRepository.advance(sessionId, 1)).thenReturn(Optional.of(progress(1, "apt-123")));
+        when(sessionRepository.advance(sessionId, -1)).thenReturn(Optional.of(progress(0, "apt-123")));
+        when(answerRepository.existsBySessionIdAndQuestionId(sessionId, "aq1")).thenReturn(true);
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+
+        // When
+        SubmitAnswerResponse response = assessmentService.submitAnswer(
+                new SubmitAnswerRequest(sessionId.toString(), "aq1", "ao1", 3.0, null));
+
+        // Then
+        assertThat(response.getCurrentQuestion()).isEqualTo(1);
+        assertThat(response.getCompletionPercentage()).isZero();
+        verify(answerRepository, never()).save(any());
+    }
+
+    @Test
+    void testAnswerToQuestionOutsideTheTemplateIsRejected() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        when(sessionRepository.advance(sessionId, 1)).thenReturn(Optional.of(progress(1, "apt-123")));
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+
+        // When / Then
+        assertThatThrownBy(() -> assessmentService.submitAnswer(
+                new SubmitAnswerRequest(sessionId.toString(), "q-unknown", "ao1", 3.0, null)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("q-unknown");
+        verify(answerRepository, never()).save(any());
+    }
+
+    @Test
+    void testBufferedAnswerToQuestionOutsideTheTemplateIsRejected() {
+        // Given
+        AnswerWriteBehindBuffer buffer = mock(AnswerWriteBehindBuffer.class);
+        AssessmentService bufferedService = new AssessmentService(sessionRepository, answerRepository, templateRepository,
+                userRepository, testResultRepository, new AssessmentTemplateCache(templateRepository, versionRepository,
+                        ScoringStrategyRegistry.defaults(), new SimpleMeterRegistry(), 16, Duration.ofMinutes(1)),
+                catalog, userAttemptsCache,
+                new AssessmentResultCache(testResultRepository, new SimpleMeterRegistry(), 16, Duration.ofMinutes(1)),
+                new ScoringService(), Optional.of(buffer), publishedEvents::add);
+        mockSession.setTemplateId("apt-123");
+        when(sessionRepository.findById(mockSession.getId())).thenReturn(Optional.of(mockSession));
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+
+        // When / Then
+        assertThatThrownBy(() -> bufferedService.submitAnswer(
+                new SubmitAnswerRequest(mockSession.getId().toString(), "q-unknown", "ao1", 3.0, null)))
+                .isInstanceOf(BadRequestException.class);
+        verifyNoInteractions(buffer);
+    }
+
+    @Test
+    void testAsyncCompletionDefersScoringToConsumer() {
+        // Given
+        ReflectionTestUtils.setField(assessmentService, "asyncCompletion", true);
+        UUID sessionId = mockSession.getId();
+        mockSession.setTemplateId("apt-123");
+        when(sessionRepository.findById(sessionId)).thenReturn(Optional.of(mockSession));
+
+        // When
+        AssessmentResultDto pending = assessmentService.completeAssessment(sessionId.toString());
+
+        // Then
+        assertThat(pending.getResultStatus()).isEqualTo("PENDING");
+        assertThat(pending.getScores()).isNull();
+        assertThat(mockSession.getStatus()).isEqualTo(AssessmentSession.SessionStatus.COMPLETED);
+        assertThat(publishedEvents).containsExactly(new AssessmentCompletedEvent(sessionId, "apt-123"));
+        verify(testResultRepository, never()).save(any());
+
+        // When the consumer runs, possibly twice
+        when(sessionRepository.findByIdForUpdate(sessionId)).thenReturn(Optional.of(mockSession));
+        when(templateRepository.findById("apt-123")).thenReturn(Optional.of(aptitudeTemplate));
+        UserAnswer answer = new UserAnswer();
+        answer.setQuestionId("aq1");
+        answer.setSelectedOptionId("ao1");
+        when(answerRepository.findBySessionOrderByQuestionNumber(any())).thenReturn(List.of(answer));
+
+        Optional<FinalizedResult> first = assessmentService.finalizeResult(sessionId);
+        Optional<FinalizedResult> redelivered = assessmentService.finalizeResult(sessionId);
+
+        // Then
+        assertThat(first).isPresent();
+        assertThat(first.get().personalityType()).isEqualTo("N/A");
+        assertThat(redelivered).isEmpty();
+        assertThat(mockSession.getResultStatus()).isEqualTo(AssessmentSession.ResultStatus.READY);
+        verify(testResultRepository, times(1)).save(any());
+    }
+
+    @Test
+    void testPublicListingReadsSummariesFromCatalogSnapshot() {
+        // Given
+        AssessmentTemplateSummary summary = AssessmentTemplateSummary.of(personalityTemplate);
+        when(templateRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc()).thenReturn(List.of(summary));
+
+        // When
+        List<AvailableAssessmentDto> first = assessmentService.getPublicAssessments();
+        List<AvailableAssessmentDto> second = assessmentService.getPublicAssessments();
+
+        // Then
+        assertThat(first).extracting(AvailableAssessmentDto::getTestType).containsExactly("MBTI");
+        assertThat(second).isEqualTo(first);
+        verify(templateRepository, times(1)).findSummariesByIsActiveTrueOrderByCreatedAtDesc();
+        verify(templateRepository, never()).findAll();
+    }
+
+    @Test
+    void testPublicCatalogJsonIsReusedAndEtagFollowsUpdatedAt() {
+        // Given
+        personalityTemplate.setUpdatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        when(templateRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc())
+                .thenAnswer(invocation -> List.of(AssessmentTemplateSummary.of(personalityTemplate)));
+        AssessmentResponseCache responseCache = new AssessmentResponseCache(assessmentService, catalog,
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 16, Duration.ofMinutes(1));
+
+        // When
+        AssessmentResponseCache.CachedJson first = responseCache.publicCatalog();
+        AssessmentResponseCache.CachedJson cached = responseCache.publicCatalog();
+        catalog.invalidate();
+        AssessmentResponseCache.CachedJson reloaded = responseCache.publicCatalog();
+        personalityTemplate.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+        catalog.invalidate();
+        AssessmentResponseCache.CachedJson changed = responseCache.publicCatalog();
+
+        // Then
+        assertThat(cached.body()).isSameAs(first.body());
+        assertThat(reloaded.etag()).isEqualTo(first.etag());
+        assertThat(reloaded.body()).isEqualTo(first.body());
+        assertThat(changed.etag()).isNotEqualTo(first.etag());
+    }
+
+    @Test
+    void testRenderedQuestionMatchesClientViewOfQuestion() throws Exception {
+        // Given
+        CompiledTemplate compiled = CompiledTemplate.compile(personalityTemplate, ScoringStrategyRegistry.defaults());
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        // When
+        String json = objectMapper.writeValueAsString(SubmitAnswerResponse.builder()
+                .nextQuestion(compiled.getRenderedQuestion(0))
+                .build());
+
+        // Then
+        assertThat(objectMapper.readTree(json).get("nextQuestion"))
+                .isEqualTo(objectMapper.valueToTree(CompiledTemplate.toQuestionDto(personalityTemplate.getQuestions().get(0))));
+        assertThat(json).doesNotContain("weights");
+        assertThat(compiled.getRenderedQuestion(1)).isNull();
+    }
+
+    @Test
+    void testSubmitAnswersReturnsUpcomingQuestionsWithinLookahead() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        List<AssessmentTemplate.Question> questions = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            AssessmentTemplate.Question question = new AssessmentTemplate.Question();
+            question.setId("q" + i);
+            question.setText("Question " + i);
+            questions.add(question);
+        }
+        personalityTemplate.setQuestions(questions);
+        personalityTemplate.setTotalQuestions(4);
+        personalityTemplate.setPrefetchQuestions(1);
+        when(answerRepository.findQuestionIdsBySessionId(sessionId)).thenReturn(List.of());
+        when(sessionRepository.advance(sessionId, 1))
+                .thenReturn(Optional.of(progress(1, "mbti-123")), Optional.of(progress(2, "mbti-123")));
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(templateRepository.findById("mbti-123")).thenReturn(Optional.of(personalityTemplate));
+
+        // When
+        SubmitAnswerResponse requested = assessmentService.submitAnswers(new SubmitAnswersRequest(sessionId.toString(),
+                List.of(new SubmitAnswersRequest.Answer("q1", "o1", 2.0)), 5));
+        SubmitAnswerResponse configured = assessmentService.submitAnswers(new SubmitAnswersRequest(sessionId.toString(),
+                List.of(new SubmitAnswersRequest.Answer("q2", "o1", 2.0)), null));
+
+        // Then
+        assertThat(requested.getNextQuestion().getId()).isEqualTo("q2");
+        assertThat(requested.getUpcomingQuestions()).extracting(RenderedQuestion::getId).containsExactly("q3", "q4");
+        assertThat(configured.getNextQuestion().getId()).isEqualTo("q3");
+        assertThat(configured.getUpcomingQuestions()).extracting(RenderedQuestion::getId).containsExactly("q4");
+    }
+
+    @Test
+    void testAvailableAssessmentsUseCachedAttemptsUntilEvicted() {
+        // Given
+        UUID userId = mockUser.getId();
+        LocalDateTime lastStarted = LocalDateTime.of(2024, 3, 1, 9, 0);
+        when(templateRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc()).thenReturn(List.of(
+                AssessmentTemplateSummary.of(personalityTemplate), AssessmentTemplateSummary.of(aptitudeTemplate)));
+        when(sessionRepository.findAttemptsByUserId(userId)).thenReturn(List.of(attempts("mbti-123", 1, lastStarted)));
+
+        // When
+        List<AvailableAssessmentDto> first = assessmentService.getAvailableAssessments(userId);
+        List<AvailableAssessmentDto> cached = assessmentService.getAvailableAssessments(userId);
+        userAttemptsCache.evict(userId);
+        assessmentService.getAvailableAssessments(userId);
+
+        // Then
+        assertThat(first).extracting(AvailableAssessmentDto::getIsCompleted).containsExactly(true, false);
+        assertThat(first.get(0).getLastAttemptDate()).isEqualTo(lastStarted);
+        assertThat(first.get(1).getLastAttemptDate()).isNull();
+        assertThat(cached).isEqualTo(first);
+        verify(sessionRepository, times(2)).findAttemptsByUserId(userId);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    void testHistoryPageSeeksPastCursorAndResolvesTemplatesOnce() {
+        // Given
+        UUID userId = mockUser.getId();
+        List<AssessmentSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            AssessmentSession session = new AssessmentSession();
+            session.setId(UUID.randomUUID());
+            session.setTemplateId(i == 0 ? "mbti-123" : "retired-1");
+            session.setStatus(AssessmentSession.SessionStatus.COMPLETED);
+            session.setStartedAt(LocalDateTime.of(2024, 3, 3 - i, 9, 0));
+            sessions.add(session);
+        }
+        AssessmentTemplate retired = new AssessmentTemplate();
+        retired.setId("retired-1");
+        retired.setTitle("Retired");
+        when(templateRepository.findSummariesByIsActiveTrueOrderByCreatedAtDesc())
+                .thenReturn(List.of(AssessmentTemplateSummary.of(personalityTemplate)));
+        when(templateRepository.findSummariesByIdIn(Set.of("retired-1")))
+                .thenReturn(List.of(AssessmentTemplateSummary.of(retired)));
+        when(sessionRepository.findHistory(eq(userId), any())).thenReturn(sessions);
+        when(sessionRepository.findHistoryAfter(eq(userId), eq(sessions.get(1).getStartedAt()),
+                eq(sessions.get(1).getId()), any())).thenReturn(List.of(sessions.get(2)));
+
+        // When
+        CursorPageResponse<AssessmentSessionDto> first = assessmentService.getUserAssessmentHistoryPage(userId, null, 2);
+        CursorPageResponse<AssessmentSessionDto> second =
+                assessmentService.getUserAssessmentHistoryPage(userId, first.getNextCursor(), 2);
+
+        // Then
+        assertThat(first.getContent()).extracting(AssessmentSessionDto::getTemplateTitle).containsExactly(null, "Retired");
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(second.getContent()).extracting(AssessmentSessionDto::getId)
+                .containsExactly(sessions.get(2).getId().toString());
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getNextCursor()).isNull();
+        verify(templateRepository, times(2)).findSummariesByIdIn(any());
+        verify(templateRepository, never()).findById(any());
+    }
+
+    @Test
+    void testSessionStaysOnItsTemplateVersionAfterAnEdit() {
+        // Given
+        UUID sessionId = mockSession.getId();
+        AssessmentTemplateVersions templateVersions = new AssessmentTemplateVersions(versionRepository);
+        when(versionRepository.insert(any(AssessmentTemplateVersion.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        personalityTemplate.setTotalQuestions(1);
+        AssessmentTemplateVersion started = templateVersions.publish(personalityTemplate);
+
+        AssessmentTemplate.Question q2 = new AssessmentTemplate.Question();
+        q2.setId("q2");
+        q2.setText("Question 2");
+        AssessmentTemplate edited = new AssessmentTemplate();
+        edited.setId("mbti-123");
+        edited.setTestType("MBTI");
+        edited.setCategory("Psychometric");
+        edited.setQuestions(List.of(personalityTemplate.getQuestions().get(0), q2));
+        edited.setTotalQuestions(2);
+        templateVersions.publish(edited);
+
+        when(answerRepository.findQuestionIdsBySessionId(sessionId)).thenReturn(List.of());
+        when(sessionRepository.advance(sessionId, 1))
+                .thenReturn(Optional.of(progress(1, "mbti-123", started.getId())));
+        when(sessionRepository.getReferenceById(sessionId)).thenReturn(mockSession);
+        when(versionRepository.findById(started.getId())).thenReturn(Optional.of(started));
+
+        // When
+        SubmitAnswerResponse response = assessmentService.submitAnswers(new SubmitAnswersRequest(sessionId.toString(),
+                List.of(new SubmitAnswersRequest.Answer("q1", "o1", 2.0)), null));
+
+        // Then
+        assertThat(edited.getContentHash()).isNotEqualTo(started.getId());
+        personalityTemplate.setUpdatedAt(LocalDateTime.now());
+        assertThat(AssessmentTemplateVersions.contentHash(personalityTemplate)).isEqualTo(started.getId());
+        assertThat(response.getTotalQuestions()).isEqualTo(1);
+        assertThat(response.getCompletionPercentage()).isEqualTo(100.0);
+        verify(versionRepository, times(2)).insert(any(AssessmentTemplateVersion.class));
+        verify(templateRepository, never()).findById(any());
+    }
+
+    private static AssessmentSessionRepository.TemplateAttempts attempts(String templateId, int completed,
+                                                                         LocalDateTime lastStartedAt) {
+        return new AssessmentSessionRepository.TemplateAttempts() {
+            @Override
+            public String getTemplateId() {
+                return templateId;
+            }
+
+            @Override
+            public Integer getCompleted() {
+                return completed;
+            }
+
+            @Override
+            public LocalDateTime getLastStartedAt() {
+                return lastStartedAt;
+            }
+        };
+    }
+
+    private static AssessmentSessionRepository.SessionProgress progress(int currentQuestionIndex, String templateId) {
+        return progress(currentQuestionIndex, templateId, null);
+    }
+
+    private static AssessmentSessionRepository.SessionProgress progress(int currentQuestionIndex, String templateId,
+                                                                        String templateVersion) {
+        return new AssessmentSessionRepository.SessionProgress() {
+            @Override
+            public Integer getCurrentQuestionIndex() {
+                return currentQuestionIndex;
+            }
+
+            @Override
+            public String getTemplateId() {
+                return templateId;
+            }
+
+            @Override
+            public String getTemplateVersion() {
+                return templateVersion;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.zplus.counselling.service.assessment;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.mongodb.AssessmentTemplateVersion;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateRepository;
+import com.zplus.counselling.repository.mongodb.AssessmentTemplateVersionRepository;
+import com.zplus.counselling.service.assessment.scoring.ScoringStrategyRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class AssessmentTemplateCacheTest {
+
+    private final AssessmentTemplateRepository templateRepository = mock(AssessmentTemplateRepository.class);
+    private final AssessmentTemplateVersionRepository versionRepository = mock(AssessmentTemplateVersionRepository.class);
+    private final AssessmentTemplateCache cache = new AssessmentTemplateCache(templateRepository, versionRepository,
+            ScoringStrategyRegistry.defaults(), new SimpleMeterRegistry(), 16, Duration.ofMinutes(1));
+
+    @Test
+    void testPinnedVersionsAreCachedUntilEvictAll() {
+        AssessmentTemplate content = new AssessmentTemplate();
+        content.setId("mbti-template");
+        content.setTestType("MBTI");
+        content.setQuestions(List.of());
+        when(versionRepository.findById("hash-1"))
+                .thenReturn(Optional.of(new AssessmentTemplateVersion("hash-1", "mbti-template", content, LocalDateTime.now())));
+
+        CompiledTemplate first = cache.findForSession("mbti-template", "hash-1").orElseThrow();
+        assertThat(cache.findForSession("mbti-template", "hash-1")).containsSame(first);
+
+        cache.evictAll();
+        assertThat(cache.findForSession("mbti-template", "hash-1").orElseThrow()).isNotSameAs(first);
+        verify(versionRepository, times(2)).findById("hash-1");
+    }
+}
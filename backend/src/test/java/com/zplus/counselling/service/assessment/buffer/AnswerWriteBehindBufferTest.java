@@ -0,0 +1,256 @@
+package com.zplus.counselling.service.assessment.buffer;
+
+import com.zplus.counselling.entity.postgres.AssessmentSession;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.exception.BadRequestException;
+import com.zplus.counselling.repository.postgres.AssessmentSessionRepository;
+import com.zplus.counselling.repository.postgres.UserAnswerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the append and release scripts against a real Redis; Postgres is replaced by mocks that
+ * record the answers written.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+public class AnswerWriteBehindBufferTest {
+
+    @Container
+    private static final GenericContainer<?> redisContainer = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+
+    private final AssessmentSessionRepository sessionRepository = mock(AssessmentSessionRepository.class);
+    private final UserAnswerRepository answerRepository = mock(UserAnswerRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<UserAnswer> stored = new CopyOnWriteArrayList<>();
+
+    private StringRedisTemplate redis;
+    private AssessmentSession session;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(redisContainer.getHost(), redisContainer.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redis = new StringRedisTemplate(connectionFactory);
+        redis.afterPropertiesSet();
+        redis.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+
+        session = new AssessmentSession();
+        session.setId(UUID.randomUUID());
+        session.setCurrentQuestionIndex(2);
+
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(sessionRepository.findById(session.getId())).thenReturn(Optional.of(session));
+        when(answerRepository.findQuestionIdsBySession(any()))
+                .thenAnswer(invocation -> stored.stream().map(UserAnswer::getQuestionId).toList());
+        when(answerRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            stored.addAll(invocation.getArgument(0));
+            return invocation.getArgument(0);
+        });
+    }
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private AnswerWriteBehindBuffer buffer(Duration lockTimeout, Duration lockWait, Duration failureAlertAfter) {
+        return new AnswerWriteBehindBuffer(redis, sessionRepository, answerRepository, transactionManager, meterRegistry,
+                "test:wb", Duration.ofHours(24), lockTimeout, lockWait, failureAlertAfter);
+    }
+
+    private AnswerWriteBehindBuffer buffer() {
+        return buffer(Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ofMinutes(15));
+    }
+
+    @Test
+    void testAppendNumbersAnswersFromTheSessionIndexAndIgnoresRepeats() {
+        AnswerWriteBehindBuffer buffer = buffer();
+
+        assertThat(buffer.append(session, "q1", "a", 5)).isEqualTo(new AnswerWriteBehindBuffer.Appended(true, 3));
+        assertThat(buffer.append(session, "q1", "b", 5)).isEqualTo(new AnswerWriteBehindBuffer.Appended(false, 3));
+        assertThat(buffer.append(session, "q2", "b", 5)).isEqualTo(new AnswerWriteBehindBuffer.Appended(true, 4));
+
+        assertThat(buffer.currentQuestionIndex(session.getId())).isEqualTo(4);
+        assertThat(buffer.pendingSessions()).isEqualTo(1);
+        // Answers stay until flushed; only the counter and seen set expire
+        assertThat(redis.getExpire("test:wb:{" + session.getId() + "}:answers")).isEqualTo(-1);
+        assertThat(redis.getExpire("test:wb:{" + session.getId() + "}:seq")).isPositive();
+    }
+
+    @Test
+    void testFlushWritesEachAnswerOnce() {
+        AnswerWriteBehindBuffer buffer = buffer();
+        buffer.append(session, "q1", "a", 5);
+        buffer.append(session, "q2", "b", 7);
+
+        assertThat(buffer.flushPending(10)).isEqualTo(2);
+        assertThat(buffer.flushPending(10)).isZero();
+
+        assertThat(stored).extracting(UserAnswer::getQuestionId, UserAnswer::getQuestionNumber, UserAnswer::getSelectedOptionId)
+                .containsExactly(tuple("q1", 3, "a"), tuple("q2", 4, "b"));
+        assertThat(session.getCurrentQuestionIndex()).isEqualTo(4);
+        assertThat(buffer.pendingSessions()).isZero();
+        // Still deduplicated after the flush
+        assertThat(buffer.append(session, "q1", "c", 5).accepted()).isFalse();
+    }
+
+    @Test
+    void testDrainPersistsAndClearsTheBufferOnCommit() {
+        AnswerWriteBehindBuffer buffer = buffer();
+        buffer.append(session, "q1", "a", 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.drain(session);
+
+        assertThat(stored).extracting(UserAnswer::getQuestionId).containsExactly("q1");
+        assertThatThrownBy(() -> buffer.append(session, "q2", "a", 5)).isInstanceOf(BadRequestException.class);
+
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        assertThat(buffer.currentQuestionIndex(session.getId())).isEqualTo(-1);
+        assertThat(buffer.pendingSessions()).isZero();
+        assertThatThrownBy(() -> buffer.append(session, "q2", "a", 5)).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void testRolledBackDrainReopensTheSession() {
+        AnswerWriteBehindBuffer buffer = buffer();
+        buffer.append(session, "q1", "a", 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        buffer.drain(session);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(buffer.append(session, "q2", "a", 5).accepted()).isTrue();
+        assertThat(buffer.currentQuestionIndex(session.getId())).isEqualTo(4);
+    }
+
+    @Test
+    void testLockHeldByAStuckDrainExpiresAfterLockTimeout() throws InterruptedException {
+        AnswerWriteBehindBuffer buffer = buffer(Duration.ofMillis(500), Duration.ofMillis(100), Duration.ofMinutes(15));
+        buffer.append(session, "q1", "a", 5);
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Transaction never completes, e.g. the node died mid-commit
+        buffer.drain(session);
+        TransactionSynchronizationManager.clearSynchronization();
+        stored.clear();
+
+        assertThat(buffer.flushPending(10)).isZero();
+        assertThatThrownBy(() -> buffer.drain(session))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("still being flushed");
+
+        Thread.sleep(700);
+        assertThat(buffer.flushPending(10)).isEqualTo(1);
+        assertThat(stored).extracting(UserAnswer::getQuestionId).containsExactly("q1");
+    }
+
+    @Test
+    void testAppendRacingCompletionIsEitherDrainedOrRejected() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < 20; round++) {
+                AssessmentSession raced = new AssessmentSession();
+                raced.setId(UUID.randomUUID());
+                raced.setCurrentQuestionIndex(0);
+                stored.clear();
+                AnswerWriteBehindBuffer buffer = buffer();
+                CountDownLatch started = new CountDownLatch(1);
+
+                Future<Set<String>> appender = executor.submit(() -> {
+                    Set<String> accepted = new HashSet<>();
+                    for (int i = 0; i < 200; i++) {
+                        try {
+                            if (buffer.append(raced, "q" + i, "a", 1).accepted()) {
+                                accepted.add("q" + i);
+                            }
+                        } catch (BadRequestException e) {
+                            break;
+                        }
+                        started.countDown();
+                    }
+                    return accepted;
+                });
+
+                started.await();
+                TransactionSynchronizationManager.initSynchronization();
+                buffer.drain(raced);
+                complete(TransactionSynchronization.STATUS_COMMITTED);
+                TransactionSynchronizationManager.clearSynchronization();
+
+                Set<String> accepted = appender.get();
+                assertThat(stored).extracting(UserAnswer::getQuestionId).containsExactlyInAnyOrderElementsOf(accepted);
+                assertThat(buffer.flushPending(10)).isZero();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailingFlushIsCountedUntilItSucceeds() {
+        AnswerWriteBehindBuffer buffer = buffer(Duration.ofSeconds(30), Duration.ofSeconds(5), Duration.ZERO);
+        buffer.append(session, "q1", "a", 5);
+        when(sessionRepository.findById(session.getId())).thenThrow(new IllegalStateException("database unavailable"));
+
+        assertThat(buffer.flushPending(10)).isZero();
+        assertThat(meterRegistry.get("assessment.answers.buffer.flush.failing").gauge().value()).isEqualTo(1.0);
+        assertThat(buffer.pendingSessions()).isEqualTo(1);
+
+        doReturn(Optional.of(session)).when(sessionRepository).findById(session.getId());
+        assertThat(buffer.flushPending(10)).isEqualTo(1);
+        assertThat(meterRegistry.get("assessment.answers.buffer.flush.failing").gauge().value()).isZero();
+        assertThat(meterRegistry.get("assessment.answers.buffer.flush.failing.age").gauge().value()).isZero();
+    }
+
+    private static void complete(int status) {
+        TransactionSynchronizationManager.getSynchronizations().forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
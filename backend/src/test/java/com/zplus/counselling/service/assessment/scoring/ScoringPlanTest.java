@@ -0,0 +1,213 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Scores fixed answer sets through the compiled {@link ScoringPlan} and through the
+ * stream-based scan AssessmentService used before it, which is kept here as the reference.
+ */
+public class ScoringPlanTest {
+
+    private final ScoringService scoringService = new ScoringService();
+    private final ScoringStrategyRegistry strategies = ScoringStrategyRegistry.defaults();
+
+    @Test
+    void testMbtiScoresAndTypeMatchTheStreamScan() {
+        AssessmentTemplate template = template("MBTI", "Psychometric", List.of(
+                question("q1", null, null, option("a", Map.of("E", 2)), option("b", Map.of("I", 2))),
+                question("q2", null, null, option("a", Map.of("S", 1, "T", 1)), option("b", Map.of("N", 2))),
+                question("q3", null, null, option("a", Map.of("F", 1)), option("b", Map.of("T", 3, "J", 1))),
+                question("q4", "J", 2, option("a", null), option("b", Map.of())),
+                question("q5", null, null, option("a", Map.of("P", 1)), option("b", Map.of("J", 1))),
+                question("q6", null, null, option("a", Map.of("E", 1)), option("b", Map.of("I", 1))),
+                question("q7", "P", null, option("a", Map.of()))));
+        List<UserAnswer> answers = List.of(
+                answer("q1", "a"),
+                answer("q2", "b"),
+                answer("q3", "b"),
+                answer("q4", "a"),
+                answer("q5", "a"),
+                answer("q6", "b"),
+                answer("q7", "a"),
+                answer("q8", "a"),     // not in the template
+                answer("q2", "x"),     // no such option
+                answer("q6", null));   // skipped
+
+        assertSameAsStreamScan(template, answers);
+    }
+
+    @Test
+    void testMbtiTiesFallBackToTheSecondLetter() {
+        AssessmentTemplate template = template("MBTI", "Psychometric", List.of(
+                question("q1", null, null, option("a", Map.of("E", 1, "S", 1)), option("b", Map.of("I", 1, "N", 1))),
+                question("q2", null, null, option("a", Map.of("I", 1, "N", 1)), option("b", Map.of("E", 1)))));
+
+        assertSameAsStreamScan(template, List.of(answer("q1", "a"), answer("q2", "a")));
+        assertSameAsStreamScan(template, List.of());
+    }
+
+    @Test
+    void testAptitudeScoreMatchesTheStreamScan() {
+        AssessmentTemplate byCategory = template("GENERAL_APTITUDE", "Aptitude", List.of(
+                question("q1", null, 5, option("a", Map.of("Aptitude_Score", 1)), option("b", Map.of("Aptitude_Score", 0))),
+                question("q2", null, 3, option("a", Map.of()), option("b", Map.of("Aptitude_Score", 2))),
+                question("q3", null, null, option("a", Map.of("Aptitude_Score", 1)), option("b", null)),
+                question("q4", null, 2, option("a", Map.of("Aptitude_Score", 1)))));
+        List<UserAnswer> answers = List.of(
+                answer("q1", "a"),
+                answer("q2", "b"),
+                answer("q3", "b"),
+                answer("q4", null),
+                answer("q9", "a"));
+        assertSameAsStreamScan(byCategory, answers);
+        // calculateMaxScore summed points, one for questions without any
+        assertThat(CompiledTemplate.compile(byCategory, strategies).getScoringPlan().maxScore()).isEqualTo(11);
+
+        // Detected from the first option's weights when the category does not say so
+        AssessmentTemplate byWeights = template("LOGICAL", null, byCategory.getQuestions());
+        assertSameAsStreamScan(byWeights, answers);
+    }
+
+    private void assertSameAsStreamScan(AssessmentTemplate template, List<UserAnswer> answers) {
+        CompiledTemplate compiled = CompiledTemplate.compile(template, strategies);
+        ScoreVector scores = scoringService.calculateScores(answers, compiled);
+
+        Map<String, Integer> expected = streamScanScores(answers, template);
+        assertThat(scores.toMap()).isEqualTo(expected);
+        assertThat(scoringService.determinePersonalityType(scores, compiled))
+                .isEqualTo(streamScanType(expected, template.getTestType()));
+    }
+
+    // The scoring AssessmentService ran before ScoringPlan, unchanged apart from formatting
+
+    private static Map<String, Integer> streamScanScores(List<UserAnswer> answers, AssessmentTemplate template) {
+        Map<String, Integer> scores = new HashMap<>();
+
+        if ("MBTI".equals(template.getTestType())) {
+            for (String dimension : List.of("E", "I", "S", "N", "T", "F", "J", "P")) {
+                scores.put(dimension, 0);
+            }
+            if (template.getQuestions() == null) return scores;
+
+            Map<String, AssessmentTemplate.Question> questionMap = template.getQuestions().stream()
+                    .collect(Collectors.toMap(AssessmentTemplate.Question::getId, q -> q));
+
+            for (UserAnswer answer : answers) {
+                if (answer.getSelectedOptionId() == null) continue;
+                AssessmentTemplate.Question question = questionMap.get(answer.getQuestionId());
+                if (question == null || question.getOptions() == null) continue;
+
+                AssessmentTemplate.Option selectedOption = question.getOptions().stream()
+                        .filter(opt -> answer.getSelectedOptionId().equals(opt.getId()))
+                        .findFirst()
+                        .orElse(null);
+
+                if (selectedOption != null) {
+                    if (selectedOption.getWeights() != null && !selectedOption.getWeights().isEmpty()) {
+                        selectedOption.getWeights().forEach((dimension, weight) ->
+                                scores.put(dimension, scores.getOrDefault(dimension, 0) + weight));
+                    } else if (question.getDimension() != null) {
+                        String dim = question.getDimension();
+                        Integer points = question.getPoints() != null ? question.getPoints() : 1;
+                        scores.put(dim, scores.getOrDefault(dim, 0) + points);
+                    }
+                }
+            }
+        } else {
+            boolean isAptitude = false;
+            if (template.getCategory() != null && template.getCategory().equalsIgnoreCase("Aptitude")) {
+                isAptitude = true;
+            } else if (template.getQuestions() != null && !template.getQuestions().isEmpty()) {
+                var firstQ = template.getQuestions().get(0);
+                if (firstQ.getOptions() != null && !firstQ.getOptions().isEmpty()) {
+                    var firstOpt = firstQ.getOptions().get(0);
+                    if (firstOpt.getWeights() != null && firstOpt.getWeights().containsKey("Aptitude_Score")) {
+                        isAptitude = true;
+                    }
+                }
+            }
+
+            if (isAptitude) {
+                int totalAptitudeScore = 0;
+                Map<String, AssessmentTemplate.Question> questionMap = template.getQuestions().stream()
+                        .collect(Collectors.toMap(AssessmentTemplate.Question::getId, q -> q));
+
+                for (UserAnswer answer : answers) {
+                    if (answer.getSelectedOptionId() == null) continue;
+                    AssessmentTemplate.Question question = questionMap.get(answer.getQuestionId());
+                    if (question == null || question.getOptions() == null) continue;
+
+                    AssessmentTemplate.Option selectedOption = question.getOptions().stream()
+                            .filter(opt -> answer.getSelectedOptionId().equals(opt.getId()))
+                            .findFirst()
+                            .orElse(null);
+
+                    if (selectedOption != null && selectedOption.getWeights() != null) {
+                        totalAptitudeScore += selectedOption.getWeights().getOrDefault("Aptitude_Score", 0);
+                    }
+                }
+                scores.put("Aptitude_Score", totalAptitudeScore);
+            }
+        }
+
+        return scores;
+    }
+
+    private static String streamScanType(Map<String, Integer> scores, String testType) {
+        if (scores.containsKey("Aptitude_Score")) {
+            return "N/A";
+        }
+        if ("MBTI".equals(testType)) {
+            return (scores.getOrDefault("E", 0) > scores.getOrDefault("I", 0) ? "E" : "I")
+                    + (scores.getOrDefault("S", 0) > scores.getOrDefault("N", 0) ? "S" : "N")
+                    + (scores.getOrDefault("T", 0) > scores.getOrDefault("F", 0) ? "T" : "F")
+                    + (scores.getOrDefault("J", 0) > scores.getOrDefault("P", 0) ? "J" : "P");
+        }
+        return "UNKNOWN";
+    }
+
+    private static AssessmentTemplate template(String testType, String category, List<AssessmentTemplate.Question> questions) {
+        AssessmentTemplate template = new AssessmentTemplate();
+        template.setId(testType.toLowerCase() + "-template");
+        template.setTestType(testType);
+        template.setCategory(category);
+        template.setQuestions(questions);
+        template.setTotalQuestions(questions.size());
+        return template;
+    }
+
+    private static AssessmentTemplate.Question question(String id, String dimension, Integer points,
+                                                        AssessmentTemplate.Option... options) {
+        AssessmentTemplate.Question question = new AssessmentTemplate.Question();
+        question.setId(id);
+        question.setText("Question " + id);
+        question.setDimension(dimension);
+        question.setPoints(points);
+        question.setOptions(List.of(options));
+        return question;
+    }
+
+    private static AssessmentTemplate.Option option(String id, Map<String, Integer> weights) {
+        AssessmentTemplate.Option option = new AssessmentTemplate.Option();
+        option.setId(id);
+        option.setText("Option " + id);
+        option.setWeights(weights);
+        return option;
+    }
+
+    private static UserAnswer answer(String questionId, String optionId) {
+        UserAnswer answer = new UserAnswer();
+        answer.setQuestionId(questionId);
+        answer.setSelectedOptionId(optionId);
+        return answer;
+    }
+}
@@ -0,0 +1,130 @@
+package com.zplus.counselling.service.assessment.scoring;
+
+import com.zplus.counselling.entity.mongodb.AssessmentTemplate;
+import com.zplus.counselling.entity.postgres.UserAnswer;
+import com.zplus.counselling.service.assessment.CompiledTemplate;
+import com.zplus.counselling.service.assessment.ScoringService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class ScoringStrategyRegistryTest {
+
+    private final ScoringService scoringService = new ScoringService();
+    private final ScoringStrategyRegistry strategies = ScoringStrategyRegistry.defaults();
+
+    @Test
+    void testCareerTemplatesScoreTheirInterestDimensions() {
+        // Returned an empty map before the registry
+        CompiledTemplate compiled = CompiledTemplate.compile(template("CAREER", "Career", List.of(
+                question("q1", null, null, option("a", Map.of("TECHNOLOGY", 2, "ANALYTICAL", 1)), option("b", Map.of("SOCIAL", 2))),
+                question("q2", null, null, option("a", Map.of("HEALTHCARE", 1)), option("b", Map.of("CREATIVE", 3))),
+                question("q3", "SOCIAL", 2, option("a", null)))), strategies);
+
+        ScoreVector scores = scoringService.calculateScores(
+                List.of(answer("q1", "a"), answer("q2", "b"), answer("q3", "a")), compiled);
+
+        assertThat(compiled.getScoringStrategy()).isInstanceOf(CareerScoringStrategy.class);
+        // No points fallback: q3's unweighted option credits nothing
+        assertThat(scores.toMap()).containsOnly(
+                entry("TECHNOLOGY", 2), entry("HEALTHCARE", 0), entry("BUSINESS", 0),
+                entry("CREATIVE", 3), entry("SOCIAL", 0), entry("ANALYTICAL", 1));
+        assertThat(scoringService.generateResults(scores, compiled))
+                .extractingByKey("topInterests").asList().startsWith("CREATIVE", "TECHNOLOGY");
+    }
+
+    @Test
+    void testBigFiveTemplatesScoreTheirTraits() {
+        // Returned an empty map before the registry
+        CompiledTemplate compiled = CompiledTemplate.compile(template("BIG_FIVE", "Personality", List.of(
+                question("q1", null, null, option("a", Map.of("OPENNESS", 2)), option("b", Map.of("AGREEABLENESS", 1))),
+                question("q2", "NEUROTICISM", 3, option("a", Map.of()), option("b", Map.of("EXTRAVERSION", 1))))), strategies);
+
+        ScoreVector scores = scoringService.calculateScores(List.of(answer("q1", "a"), answer("q2", "a")), compiled);
+
+        assertThat(compiled.getScoringStrategy()).isInstanceOf(BigFiveScoringStrategy.class);
+        // Points fallback: q2's unweighted option credits its dimension
+        assertThat(scores.toMap()).containsOnly(
+                entry("OPENNESS", 2), entry("CONSCIENTIOUSNESS", 0), entry("EXTRAVERSION", 0),
+                entry("AGREEABLENESS", 0), entry("NEUROTICISM", 3));
+    }
+
+    @Test
+    void testTypeMatchedStrategyWinsOverTheAptitudeFlag() {
+        CompiledTemplate compiled = CompiledTemplate.compile(template("MBTI", "Aptitude", List.of(
+                question("q1", null, null, option("a", Map.of("Aptitude_Score", 1, "E", 2)), option("b", Map.of("I", 2))))),
+                strategies);
+
+        ScoreVector scores = scoringService.calculateScores(List.of(answer("q1", "a")), compiled);
+
+        assertThat(compiled.isAptitude()).isTrue();
+        assertThat(compiled.getScoringStrategy()).isInstanceOf(MbtiScoringStrategy.class);
+        assertThat(scores.get("E")).isEqualTo(2);
+        assertThat(scoringService.determinePersonalityType(scores, compiled)).isEqualTo("ENFP");
+    }
+
+    @Test
+    void testUnknownTypesFallBackOnTheAptitudeFlag() {
+        List<AssessmentTemplate.Question> questions = List.of(
+                question("q1", null, null, option("a", Map.of("Aptitude_Score", 1)), option("b", Map.of("Aptitude_Score", 0))));
+        CompiledTemplate aptitude = CompiledTemplate.compile(template("LOGICAL", null, questions), strategies);
+        CompiledTemplate unscored = CompiledTemplate.compile(template("LOGICAL", null, List.of(
+                question("q1", null, null, option("a", Map.of("LOGIC", 1))))), strategies);
+
+        assertThat(aptitude.getScoringStrategy()).isInstanceOf(AptitudeScoringStrategy.class);
+        assertThat(scoringService.calculateScores(List.of(answer("q1", "a")), aptitude).toMap())
+                .containsOnly(entry("Aptitude_Score", 1));
+
+        ScoreVector none = scoringService.calculateScores(List.of(answer("q1", "a")), unscored);
+        assertThat(none.toMap()).isEmpty();
+        assertThat(scoringService.determinePersonalityType(none, unscored)).isEqualTo("UNKNOWN");
+    }
+
+    @Test
+    void testDuplicateTestTypesAreRejected() {
+        assertThatThrownBy(() -> new ScoringStrategyRegistry(List.of(new MbtiScoringStrategy(), new MbtiScoringStrategy())))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("MBTI");
+    }
+
+    private static AssessmentTemplate template(String testType, String category, List<AssessmentTemplate.Question> questions) {
+        AssessmentTemplate template = new AssessmentTemplate();
+        template.setId(testType.toLowerCase() + "-template");
+        template.setTestType(testType);
+        template.setCategory(category);
+        template.setQuestions(questions);
+        template.setTotalQuestions(questions.size());
+        return template;
+    }
+
+    private static AssessmentTemplate.Question question(String id, String dimension, Integer points,
+                                                        AssessmentTemplate.Option... options) {
+        AssessmentTemplate.Question question = new AssessmentTemplate.Question();
+        question.setId(id);
+        question.setText("Question " + id);
+        question.setDimension(dimension);
+        question.setPoints(points);
+        question.setOptions(List.of(options));
+        return question;
+    }
+
+    private static AssessmentTemplate.Option option(String id, Map<String, Integer> weights) {
+        AssessmentTemplate.Option option = new AssessmentTemplate.Option();
+        option.setId(id);
+        option.setText("Option " + id);
+        option.setWeights(weights);
+        return option;
+    }
+
+    private static UserAnswer answer(String questionId, String optionId) {
+        UserAnswer answer = new UserAnswer();
+        answer.setQuestionId(questionId);
+        answer.setSelectedOptionId(optionId);
+        return answer;
+    }
+}
@@ -0,0 +1,111 @@
+package com.zplus.counselling.service.messaging;
+
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class LegacyQueueMigrationTest {
+
+    private static final LegacyQueueMigration.LegacyQueue COMPLETION = new LegacyQueueMigration.LegacyQueue(
+            "test.completion.queue", "test.exchange", "test.completed", "test.completion.queue.v2");
+    private static final LegacyQueueMigration.LegacyQueue REPORTS = new LegacyQueueMigration.LegacyQueue(
+            "report.generation.queue", "notification.exchange", "report.generate", null);
+
+    private final AmqpAdmin amqpAdmin = mock(AmqpAdmin.class);
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final Channel channel = mock(Channel.class);
+
+    @BeforeEach
+    void setUp() {
+        Connection connection = mock(Connection.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(true)).thenReturn(channel);
+    }
+
+    @Test
+    void testMovesRemainingMessagesBeforeDeletingTheLegacyQueue() throws Exception {
+        declared("test.completion.queue", "test.completion.queue.v2");
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder().contentType("application/json").build();
+        when(channel.basicGet("test.completion.queue", false)).thenReturn(
+                new GetResponse(new Envelope(1, false, "test.exchange", "test.completed"), properties, "{\"a\":1}".getBytes(), 1),
+                new GetResponse(new Envelope(2, false, "test.exchange", "test.completed"), properties, "{\"a\":2}".getBytes(), 0),
+                null);
+
+        migration(COMPLETION).run(null);
+
+        InOrder order = inOrder(amqpAdmin, channel);
+        order.verify(amqpAdmin).removeBinding(argThat(binding -> binding.getDestination().equals("test.completion.queue")
+                && binding.getExchange().equals("test.exchange")
+                && binding.getRoutingKey().equals("test.completed")
+                && binding.getDestinationType() == Binding.DestinationType.QUEUE));
+        order.verify(channel).basicPublish("", "test.completion.queue.v2", properties, "{\"a\":1}".getBytes());
+        order.verify(channel).basicAck(1, false);
+        order.verify(channel).txCommit();
+        order.verify(channel).basicPublish("", "test.completion.queue.v2", properties, "{\"a\":2}".getBytes());
+        order.verify(channel).basicAck(2, false);
+        order.verify(channel).txCommit();
+        order.verify(amqpAdmin).deleteQueue("test.completion.queue", true, true);
+    }
+
+    @Test
+    void testQueueWithoutReplacementIsDeletedWithItsMessages() {
+        declared("report.generation.queue");
+
+        migration(REPORTS).run(null);
+
+        verify(amqpAdmin).deleteQueue("report.generation.queue", true, false);
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void testAbsentLegacyQueueIsLeftAlone() {
+        declared("test.completion.queue.v2");
+
+        migration(COMPLETION, REPORTS).run(null);
+
+        verify(amqpAdmin, never()).removeBinding(any());
+        verify(amqpAdmin, never()).deleteQueue(anyString(), anyBoolean(), anyBoolean());
+        verifyNoInteractions(connectionFactory);
+    }
+
+    @Test
+    void testFailureToRetireOneQueueDoesNotStopTheOthers() throws Exception {
+        declared("test.completion.queue", "test.completion.queue.v2", "report.generation.queue");
+        doThrow(new AmqpIOException(new IOException("PRECONDITION_FAILED - queue in use")))
+                .when(amqpAdmin).deleteQueue("test.completion.queue", true, true);
+
+        migration(COMPLETION, REPORTS).run(null);
+
+        verify(amqpAdmin).deleteQueue("report.generation.queue", true, false);
+    }
+
+    private void declared(String... queues) {
+        for (String queue : queues) {
+            when(amqpAdmin.getQueueInfo(eq(queue))).thenReturn(new QueueInformation(queue, 0, 0));
+        }
+    }
+
+    private LegacyQueueMigration migration(LegacyQueueMigration.LegacyQueue... queues) {
+        return new LegacyQueueMigration(amqpAdmin, connectionFactory, List.of(queues));
+    }
+}
@@ -0,0 +1,121 @@
+package com.zplus.counselling.service.messaging;
+
+import com.zplus.counselling.config.RabbitMQConfig;
+import com.zplus.counselling.service.assessment.completion.AssessmentCompletedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.ExchangeTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.ResolvableType;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LocalMessageBrokerTest {
+
+    private final RabbitMQConfig topology = new RabbitMQConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LocalMessageBroker broker;
+
+    @AfterEach
+    void tearDown() {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    void testTopicMatching() {
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.TOPIC, "test.completed", "test.completed")).isTrue();
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.TOPIC, "test.*", "test.completed")).isTrue();
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.TOPIC, "#.completed", "a.b.completed")).isTrue();
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.TOPIC, "test.#", "test")).isTrue();
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.TOPIC, "*.completed", "a.b.completed")).isFalse();
+        assertThat(LocalMessageBroker.matches(ExchangeTypes.DIRECT, "email.send", "email.sent")).isFalse();
+    }
+
+    @Test
+    void testRoutesOverDeclaredTopology() {
+        broker = newBroker(Map.of());
+
+        assertThat(broker.routeOf(RabbitMQConfig.TEST_EXCHANGE, RabbitMQConfig.TEST_COMPLETED_ROUTING_KEY))
+                .containsExactly(RabbitMQConfig.TEST_COMPLETION_QUEUE);
+        assertThat(broker.routeOf(RabbitMQConfig.NOTIFICATION_EXCHANGE, RabbitMQConfig.EMAIL_SEND_ROUTING_KEY))
+                .containsExactly(RabbitMQConfig.EMAIL_NOTIFICATION_QUEUE);
+        assertThat(broker.routeOf(RabbitMQConfig.TEST_EXCHANGE, "test.started")).isEmpty();
+    }
+
+    @Test
+    void testDeliversJsonPayloadAndDeadLettersFailures() throws InterruptedException {
+        BlockingQueue<AssessmentCompletedEvent> deadLettered = new LinkedBlockingQueue<>();
+        QueueConsumer<AssessmentCompletedEvent> failing = consumer(RabbitMQConfig.TEST_COMPLETION_QUEUE, event -> {
+            throw new IllegalStateException("scoring failed");
+        });
+        QueueConsumer<AssessmentCompletedEvent> deadLetters = consumer(RabbitMQConfig.TEST_COMPLETION_DLQ, deadLettered::add);
+        broker = newBroker(Map.of("failing", failing, "deadLetters", deadLetters));
+        broker.start();
+
+        AssessmentCompletedEvent event = new AssessmentCompletedEvent(UUID.randomUUID(), "template-123");
+        broker.publish(RabbitMQConfig.TEST_EXCHANGE, RabbitMQConfig.TEST_COMPLETED_ROUTING_KEY, event);
+
+        assertThat(deadLettered.poll(5, TimeUnit.SECONDS)).isEqualTo(event);
+        // Counted by the failing queue's worker after routing, so it can trail the DLQ delivery
+        assertThat(awaitCount(RabbitMQConfig.TEST_COMPLETION_QUEUE, "dead_lettered", 1.0, Duration.ofSeconds(5))).isEqualTo(1.0);
+    }
+
+    private double awaitCount(String queue, String outcome, double expected, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        double count;
+        while ((count = meterRegistry.get("messaging.local.messages")
+                .tags("queue", queue, "outcome", outcome)
+                .counter().count()) < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return count;
+    }
+
+    private LocalMessageBroker newBroker(Map<String, QueueConsumer<?>> consumers) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory(new HashMap<String, Object>(consumers));
+        ObjectProvider<QueueConsumer<?>> provider = beanFactory.getBeanProvider(ResolvableType.forClass(QueueConsumer.class));
+
+        return new LocalMessageBroker(
+                List.of(topology.testExchange(), topology.notificationExchange(), topology.deadLetterExchange()),
+                List.of(topology.testCompletionQueue(), topology.emailNotificationQueue(),
+                        topology.testCompletionDeadLetterQueue(), topology.emailNotificationDeadLetterQueue()),
+                List.of(topology.testCompletionBinding(), topology.emailNotificationBinding(),
+                        topology.testCompletionDeadLetterBinding(), topology.emailNotificationDeadLetterBinding()),
+                provider, topology.messageConverter(), meterRegistry,
+                16, 1, 2, Duration.ofMillis(100), Duration.ofMillis(1));
+    }
+
+    private static QueueConsumer<AssessmentCompletedEvent> consumer(String queue,
+                                                                    Consumer<AssessmentCompletedEvent> handler) {
+        return new QueueConsumer<>() {
+            @Override
+            public String queue() {
+                return queue;
+            }
+
+            @Override
+            public Class<AssessmentCompletedEvent> payloadType() {
+                return AssessmentCompletedEvent.class;
+            }
+
+            @Override
+            public void consume(AssessmentCompletedEvent payload) {
+                handler.accept(payload);
+            }
+        };
+    }
+}
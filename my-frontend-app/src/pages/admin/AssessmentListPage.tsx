@@ -107,7 +107,7 @@ const AssessmentListPage: React.FC = () => {
                       </td>
                       <td className="px-8 py-6">
                         <div className="flex flex-col gap-1">
-                          <span className="text-xs font-bold text-gray-900">{assessment.questions?.length || 0} Questions</span>
+                          <span className="text-xs font-bold text-gray-900">{assessment.totalQuestions ?? assessment.questions?.length ?? 0} Questions</span>
                           <span className="text-[10px] font-black text-gray-400 uppercase tracking-tighter">{assessment.testType || 'Dynamic'}</span>
                         </div>
                       </td>
@@ -71,6 +71,8 @@ export interface StartAssessmentResponse {
     timeLimit: number | null;
     instructions: string[];
     firstQuestion: BackendQuestion | null;
+    /** Questions after firstQuestion when a lookahead was requested or set on the template */
+    upcomingQuestions?: BackendQuestion[] | null;
 }
 
 // --- Mirrors SubmitAnswerResponse.java ---
@@ -79,6 +81,8 @@ export interface SubmitAnswerResponse {
     totalQuestions: number;
     completionPercentage: number;
     nextQuestion: BackendQuestion | null;
+    /** Questions after nextQuestion when a lookahead was requested or set on the template */
+    upcomingQuestions?: BackendQuestion[] | null;
 }
 
 // --- Mirrors AvailableAssessmentDto.java ---